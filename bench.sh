@@ -0,0 +1,34 @@
+#!/bin/bash
+
+PROJECT_DIR="$HOME/IdeaProjects/ResQ360"
+SRC_DIR="$PROJECT_DIR/src"
+OUT_DIR="$PROJECT_DIR/class-bench"
+LIB_PATH="$PROJECT_DIR/lib"
+MAIN_CLASS="tests.BenchmarkGraphes"
+
+# Options de la JVM : tas fixe pour des mesures reproductibles
+JVM_OPTS="-Xms1g -Xmx1g -XX:+UseParallelGC"
+
+# Compilation (répertoire séparé de celui de l'application)
+echo "Compilation des benchmarks..."
+rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR"
+find "$SRC_DIR" -name "*.java" > sources-bench.txt
+
+if ! javac --module-path "$LIB_PATH" \
+           --add-modules javafx.controls,javafx.fxml,javafx.web \
+           -d "$OUT_DIR" @sources-bench.txt; then
+    echo "Erreur de compilation"
+    rm sources-bench.txt
+    exit 1
+fi
+
+rm sources-bench.txt
+
+# Lancement, les arguments sont transmis au benchmark (ex : ./bench.sh --bench=gloutton --gloutton=1000)
+echo "Lancement des benchmarks..."
+cd "$OUT_DIR" && \
+java $JVM_OPTS \
+     --module-path "$LIB_PATH" \
+     --add-modules javafx.controls,javafx.fxml,javafx.web \
+     "$MAIN_CLASS" "$@"
@@ -4,11 +4,11 @@ import model.managers.ManagerContext;
 import core.initializers.SceneInitializer;
 import javafx.application.Application;
 import javafx.stage.Stage;
-import model.managers.*;
 import util.Logger;
 /**
  * Main class that initializes and launches the JavaFX application.
  * It sets up configuration, database, scene stack, and managers.
+ * Managers load in the background while the login screen is shown.
  * 
  * @author resQ360
  */
@@ -18,15 +18,9 @@ public class Main extends Application {
     private GlobalConfigInitializer configManager;
     private DatabaseInitializer databaseManager;
     private SceneInitializer sceneManager;
-    private DPSManager dpsManager;
-    private RescuerManager rescuerManager;
-    private SportManager sportManager;
-    private DayManager dayManager;
-    private SiteManager siteManager;
-    private ManagerContext managerInitializer;
     /**
-     * Entry point when JavaFX starts. Initializes configuration, database,
-     * scenes, and all application managers.
+     * Entry point when JavaFX starts. Initializes configuration and database,
+     * starts loading the managers in the background, then shows the login screen.
      *
      * @param primaryStage the main window stage
      */
@@ -41,17 +35,13 @@ public class Main extends Application {
             databaseManager = new DatabaseInitializer(configManager);
             databaseManager.initialize();
 
+            // Les managers se chargent en parallèle pendant l'affichage de l'écran de connexion
+            ManagerContext.configure(configManager.getManagerConfig());
+            ManagerContext.get().preload();
+
             sceneManager = new SceneInitializer(primaryStage);
             sceneManager.initialize();
 
-            managerInitializer = ManagerContext.get();
-
-            rescuerManager = managerInitializer.getRescuerManager();
-            dpsManager = managerInitializer.getDpsManager();
-            sportManager = managerInitializer.getSportManager();
-            dayManager = managerInitializer.getDayManager();
-            siteManager = managerInitializer.getSiteManager();
-
             Logger.info(Logger.Color.BRIGHT_GREEN + "Application started successfully!");
 
         } catch (Exception e) {
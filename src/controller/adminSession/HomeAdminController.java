@@ -1,9 +1,9 @@
 package controller.adminSession;
 
 import controller.Controller;
+import javafx.application.Platform;
 import javafx.concurrent.Worker;
 import javafx.scene.chart.*;
-import model.graph.algorithme.GraphExaustif;
 import model.persistence.*;
 import model.services.SceneStackService;
 import core.Session;
@@ -11,13 +11,17 @@ import model.managers.ManagerContext;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.image.ImageView;
 import javafx.scene.web.WebView;
 import model.graph.adaptation.BesoinsAdapter;
-import model.graph.algorithme.GraphGloutton;
+import model.graph.adaptation.PonderationAffectation;
 import model.managers.DPSManager;
 import model.managers.RescuerManager;
 import model.services.Assigner;
+import model.services.AssignmentJob;
+import model.services.AssignmentOrchestrator;
+import model.services.TimeSlotAssigner;
 import util.Logger;
 import views.AdminSessionView;
 
@@ -27,12 +31,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CancellationException;
 
 import static model.services.CSVextracactor.extract;
 /**
  * Admin home controller.
  * Displays summary statistics (pie chart, bar chart),
  * and allows executing assignments (greedy/exhaustive) and exporting rescuer data.
+ * Assignments run in the background with their progress shown, and can be cancelled.
  *
  * @author resQ30
  */
@@ -41,13 +47,21 @@ public class HomeAdminController extends Controller {
     private DPSManager dpsManager;
     private RescuerManager rescuerManager;
     /**
-     * Initializes managers and charts.
+     * Initializes managers and charts. If an assignment started from another screen is still
+     * running, the assignment buttons stay disabled until it ends.
      */
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         this.dpsManager = ManagerContext.get().getDpsManager();
         this.rescuerManager = ManagerContext.get().getRescuerManager();
         chartLoader();
+
+        AssignmentJob running = AssignmentJob.running();
+        if (running != null) {
+            setAssignmentRunning(true);
+            assignmentProgressLabel.setText("Une affectation est déjà en cours.");
+            running.getResult().whenComplete((report, error) -> setAssignmentRunning(false));
+        }
     }
     /**
      * Loads charts: map view, pie chart for assignment progress,
@@ -63,10 +77,7 @@ public class HomeAdminController extends Controller {
                 tot+=i;
             }
         }
-        int nbAssign=0;
-        for (Rescuer rescuer: ManagerContext.get().getRescuerManager().getAll()) {
-            nbAssign+=rescuer.getAssignments().size();
-        }
+        int nbAssign=ManagerContext.get().getRescuerManager().getAssignmentCount();
 
         double percentCompleted = 0;
         if (nbAssign != 0) {
@@ -85,13 +96,7 @@ public class HomeAdminController extends Controller {
         Map<Skill, ?> hierarchie = CompetenceDependancies.getHierarchie();
 
         for (Skill skill : hierarchie.keySet()) {
-            map.put(skill.name(), 0);
-        }
-        for (Rescuer rescuer: ManagerContext.get().getRescuerManager().getAll()) {
-            List<String> comp=rescuer.getSkills();
-            for (String skillName : comp) {
-                map.put(skillName, map.get(skillName) + 1);
-            }
+            map.put(skill.name(), ManagerContext.get().getRescuerManager().countWithSkill(skill));
         }
 
 
@@ -131,6 +136,12 @@ public class HomeAdminController extends Controller {
     @FXML
     private Button gluttonousAssignmentButton;
 
+    @FXML
+    private Button cancelAssignmentButton;
+
+    @FXML
+    private Label assignmentProgressLabel;
+
     @FXML
     private Button logOutButton;
 
@@ -149,26 +160,14 @@ public class HomeAdminController extends Controller {
     @FXML
     private NumberAxis yAxis;
     /**
-     * Executes the exhaustive assignment algorithm and applies the result.
+     * Executes the optimal assignment algorithm and applies the result.
+     * DPS are split into independent time slots; each slot gets a maximum matching which,
+     * among all maximum matchings, minimises distance, rescuer load and over-qualification.
      */
     @FXML
     private void exhaustiveAssignment() {
         Logger.info("Affectation exhaustive lancée...");
-        // TODO : Logique pour affectation exhaustive
-        List<Rescuer> rescuers = rescuerManager.getAll();
-        List<DPS> dpsList = dpsManager.getAll();
-
-        BesoinsAdapter.ResultatAdaptation resultat = BesoinsAdapter.buildExtendedMatrix(rescuers, dpsList);
-        int[][] matrice = resultat.matrice();
-
-        GraphExaustif exhaustif = new GraphExaustif(matrice);
-        int[][] solution = exhaustif.assign();
-
-        Assigner assigner = new Assigner(rescuerManager);
-        assigner.applyAssignments(new BesoinsAdapter.ResultatAdaptation(solution, resultat.correspondanceColonnes()));
-
-        Logger.info("Exhaustive assignment");
-        Logger.debug("Liste des sauveteurs : " + rescuerManager.getAll());
+        runTimeSlotAssignment(TimeSlotAssigner.Mode.MIN_COST);
     }
     /**
      * Executes the greedy assignment algorithm and applies the result.
@@ -176,21 +175,90 @@ public class HomeAdminController extends Controller {
     @FXML
     private void gluttonousAssignment() {
         Logger.info("Affectation gloutonne lancée...");
-        // TODO : donner la liste de sauveteurs management et dps management dans sauveteurs et dps et donner le recuerManager a assigner
+        runTimeSlotAssignment(TimeSlotAssigner.Mode.GREEDY);
+    }
+    /**
+     * Asks the running assignment to stop; nothing is applied.
+     */
+    @FXML
+    private void cancelAssignment() {
+        AssignmentJob running = AssignmentJob.running();
+        if (running != null) {
+            running.cancel();
+            cancelAssignmentButton.setDisable(true);
+            assignmentProgressLabel.setText("Annulation en cours...");
+        }
+    }
+    /**
+     * Solves the assignment slot by slot so that no rescuer is booked twice
+     * on overlapping DPS, then applies the merged result.
+     * Independent slots are solved in parallel, in the background: the result is applied
+     * on the JavaFX thread once the run ends, unless it was cancelled.
+     *
+     * @param mode the engine used for each slot
+     */
+    private void runTimeSlotAssignment(TimeSlotAssigner.Mode mode) {
+        if (AssignmentJob.running() != null) {
+            Logger.warn("Une affectation est déjà en cours.");
+            return;
+        }
         List<Rescuer> rescuers = rescuerManager.getAll();
         List<DPS> dpsList = dpsManager.getAll();
 
-        BesoinsAdapter.ResultatAdaptation resultat = BesoinsAdapter.buildExtendedMatrix(rescuers, dpsList);
-        int[][] matrice = resultat.matrice();
-
-        GraphGloutton glouton = new GraphGloutton(matrice);
-        int[][] solution = glouton.assign();
-
-        Assigner assigner = new Assigner(rescuerManager);
-        assigner.applyAssignments(new BesoinsAdapter.ResultatAdaptation(solution, resultat.correspondanceColonnes()));
-
-        Logger.info("Glouton assignment");
-        Logger.debug("Liste des sauveteurs : " + rescuerManager.getAll());
+        ManagerContext context = ManagerContext.get();
+        PonderationAffectation ponderation = new PonderationAffectation(
+                context.getSiteManager()::get, context.getDpsManager()::getDPS);
+        TimeSlotAssigner timeSlotAssigner = new TimeSlotAssigner(
+                context.getDayManager()::getDayById, mode, ponderation);
+        AssignmentOrchestrator orchestrator = new AssignmentOrchestrator(timeSlotAssigner);
+
+        AssignmentJob job = new AssignmentJob(orchestrator, Platform::runLater, this::showProgress);
+        setAssignmentRunning(true);
+        job.start(rescuers, dpsList).whenComplete((report, error) -> {
+            setAssignmentRunning(false);
+            if (error instanceof CancellationException) {
+                Logger.info("Affectation annulée.");
+                assignmentProgressLabel.setText("Affectation annulée.");
+                return;
+            }
+            if (error != null) {
+                Logger.error("L'affectation a échoué : " + error.getMessage());
+                assignmentProgressLabel.setText("L'affectation a échoué.");
+                return;
+            }
+            BesoinsAdapter.ResultatAdaptationCompacte resultat = report.resultat();
+            Assigner assigner = new Assigner(rescuerManager);
+            if (!assigner.applyAssignments(resultat, rescuers)) {
+                Logger.error("Les affectations n'ont pas pu être enregistrées.");
+                assignmentProgressLabel.setText("Les affectations n'ont pas pu être enregistrées.");
+                return;
+            }
+            context.getIncrementalAssignmentService().initialize(rescuers, dpsList, resultat);
+            Logger.info("Affectation " + mode + " terminée.");
+        });
+    }
+    /**
+     * Shows the progress of the running assignment.
+     *
+     * @param progress the progress published by the job
+     */
+    private void showProgress(AssignmentJob.Progress progress) {
+        String texte = String.format("Créneaux : %d/%d, %d affectations",
+                progress.slotsSolved(), progress.slotsTotal(), progress.bestMatchCount());
+        if (progress.nodesExplored() > 0) {
+            texte += String.format(", %,d nœuds explorés", progress.nodesExplored());
+        }
+        assignmentProgressLabel.setText(texte);
+    }
+    /**
+     * Enables the cancel button while an assignment runs, and the assignment buttons otherwise.
+     *
+     * @param running true if an assignment is running
+     */
+    private void setAssignmentRunning(boolean running) {
+        exhaustiveAssignmentButton.setDisable(running);
+        gluttonousAssignmentButton.setDisable(running);
+        cancelAssignmentButton.setDisable(!running);
     }
     /**
      * Exports all rescuer data to a CSV file.
@@ -9,6 +9,7 @@ import model.managers.ManagerContext;
 import model.managers.RescuerManager;
 import model.managers.SiteManager;
 import model.persistence.*;
+import model.services.IncrementalAssignmentService;
 import model.services.SceneStackService;
 import core.DataReceiver;
 import core.Session;
@@ -41,6 +42,7 @@ public class ModifyEventController extends Controller implements DataReceiver<DP
     private DPS dps;
 
     private final ObservableList<Rescuer> assignedRescuers = FXCollections.observableArrayList();
+    private List<Rescuer> allRescuers; // chargés une fois par page, filtrés à chaque changement
 
     @FXML private TextField EpreuveTextField;
     @FXML private CheckBox CEEventCheckBox;
@@ -74,6 +76,7 @@ public class ModifyEventController extends Controller implements DataReceiver<DP
         dpsManager = ManagerContext.get().getDpsManager();
         rescuerManager = ManagerContext.get().getRescuerManager();
         siteManager = ManagerContext.get().getSiteManager();
+        allRescuers = rescuerManager.getAll();
 
         updateComboBoxRescuers();
 
@@ -111,15 +114,20 @@ public class ModifyEventController extends Controller implements DataReceiver<DP
 
     /**
      * Updates the ComboBox with rescuers who are not yet assigned to the event.
+     * The rescuers are read once when the page opens: in lazy mode each read pages
+     * through the whole table, and this runs after every change of the assigned list.
      */
     private void updateComboBoxRescuers() {
         try {
             List<Rescuer> availableRescuers = new ArrayList<>();
-            List<Rescuer> allRescuers = rescuerManager.getAll();
+            Set<Integer> assignedIds = new HashSet<>();
+            for (Rescuer rescuer : assignedRescuers) {
+                assignedIds.add(rescuer.getId());
+            }
 
             if (allRescuers != null) {
                 for (Rescuer rescuer : allRescuers) {
-                    if (rescuer != null && !assignedRescuers.contains(rescuer)) {
+                    if (rescuer != null && !assignedIds.contains(rescuer.getId())) {
                         availableRescuers.add(rescuer);
                     }
                 }
@@ -229,14 +237,7 @@ public class ModifyEventController extends Controller implements DataReceiver<DP
         setNeedCheckboxes(dps.getBesoins());
 
         assignedRescuers.clear();
-        List<Rescuer> allRescuers = rescuerManager.getAll();
-        if (allRescuers != null) {
-            for (Rescuer rescuer : allRescuers) {
-                if (rescuer != null && rescuer.getAssignments().contains(dps.getId())) {
-                    assignedRescuers.add(rescuer);
-                }
-            }
-        }
+        assignedRescuers.addAll(rescuerManager.getAssignedTo(dps.getId()));
     }
     /**
      * Unchecks all skill CheckBoxes.
@@ -523,11 +524,16 @@ public class ModifyEventController extends Controller implements DataReceiver<DP
         }
         dps.setBesoins(besoins);
 
+        // Réparation de l'affectation automatique autour du DPS modifié
+        IncrementalAssignmentService incremental = ManagerContext.get().getIncrementalAssignmentService();
+        incremental.dpsChanged(dps);
+
         // Mise à jour assignments sauveteurs (ajout seulement)
         for (Rescuer rescuer : assignedRescuers) {
             if (!rescuer.getAssignments().contains(dps.getId())) {
                 rescuer.addAssignment(dps.getId());
                 rescuerManager.update(rescuer);
+                incremental.rescuerChanged(rescuer);
             }
         }
 
@@ -109,6 +109,7 @@ public class ModifyRescuerController extends Controller implements DataReceiver<
     @FXML
     void deleteRescuer(ActionEvent event) {
         rescuerManager.remove(rescuer.getId());
+        ManagerContext.get().getIncrementalAssignmentService().rescuerRemoved(rescuer.getId());
         SceneStackService.pop();
     }
     /**
@@ -172,6 +173,7 @@ public class ModifyRescuerController extends Controller implements DataReceiver<
             rescuerManager.update(rescuer);
             Logger.debug("Sauveteur mis à jour : " + rescuer);
         }
+        ManagerContext.get().getIncrementalAssignmentService().rescuerChanged(rescuer);
 
         SceneStackService.pop();
     }
@@ -13,6 +13,7 @@ import javafx.scene.control.SplitPane;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 import model.managers.ManagerContext;
+import model.persistence.DPS;
 import model.services.FXMLViewLoader;
 import model.services.SceneStackService;
 import util.Logger;
@@ -44,10 +45,11 @@ public class HomeRescuerController extends Controller {
             for (int i : Session.getCurrentUser().getAssignments()) {
                 FXMLViewLoader.View<RescuerEventCardController> card = FXMLViewLoader.loadFXML(RescuerSessionView.RESCUER_EVENT_CARD);
 
-                String nomEpreuve = ManagerContext.get().getSportManager().getSport(ManagerContext.get().getDpsManager().getDPS(i).getIdSport()).getName();
-                String day=ManagerContext.get().getDayManager().getDayById(ManagerContext.get().getDpsManager().getDPS(i).getIdJournee()).toString();
+                DPS dps = ManagerContext.get().getDpsManager().getDPS(i);
+                String nomEpreuve = ManagerContext.get().getSportManager().getSport(dps.getIdSport()).getName();
+                String day=ManagerContext.get().getDayManager().getDayById(dps.getIdJournee()).toString();
 
-                card.controller().setData(day, nomEpreuve,ManagerContext.get().getDpsManager().getDPS(i));
+                card.controller().setData(day, nomEpreuve,dps);
 
                 listEvent.getChildren().add(card.view());
             }
@@ -201,6 +201,7 @@ public class InfoPersoSauveteurController extends Controller {
             Session.getCurrentUser().setFName(prenomSauvField.getText());
         }
         ManagerContext.get().getRescuerManager().update(Session.getCurrentUser());
+        ManagerContext.get().getIncrementalAssignmentService().rescuerChanged(Session.getCurrentUser());
         SceneStackService.pop();
     }
     /**
@@ -38,6 +38,7 @@ public class PopupAccountDelete extends Controller {
     void deleteAccountSauv(ActionEvent event) {
         Logger.info("Suppression du compte pour l'utilisateur " + userId);
         ManagerContext.get().getRescuerManager().remove(Session.getCurrentUser().getId());
+        ManagerContext.get().getIncrementalAssignmentService().rescuerRemoved(Session.getCurrentUser().getId());
         Session.logout();
     }
     /**
@@ -1,6 +1,7 @@
 package core.initializers;
 
 import core.records.DatabaseConfig;
+import core.records.ManagerConfig;
 import model.loaders.YamlFileLoader;
 import util.Logger;
 /**
@@ -56,6 +57,22 @@ public class GlobalConfigInitializer {
         String url = "jdbc:mysql://" + host + ":" + port;
         return new DatabaseConfig(url, name, user, password, host, port);
     }
+    /**
+     * Constructs and returns the loading settings of the managers.
+     * Missing keys take the values of {@link ManagerConfig#defaults()}.
+     *
+     * @return a ManagerConfig object with the manager loading parameters
+     */
+    public ManagerConfig getManagerConfig() {
+        ManagerConfig defaults = ManagerConfig.defaults();
+        boolean lazy = configLoader.containsKey("managers.lazy")
+                ? configLoader.getBoolean("managers.lazy") : defaults.lazy();
+        int pageSize = configLoader.containsKey("managers.pageSize")
+                ? configLoader.getInt("managers.pageSize") : defaults.pageSize();
+        int workingSetSize = configLoader.containsKey("managers.workingSetSize")
+                ? configLoader.getInt("managers.workingSetSize") : defaults.workingSetSize();
+        return new ManagerConfig(lazy, pageSize, workingSetSize);
+    }
     /**
      * Logs the basic application info (name and version) to the console.
      */
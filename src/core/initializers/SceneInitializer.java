@@ -1,17 +1,13 @@
 package core.initializers;
 
-import core.FXMLView;
 import javafx.stage.Stage;
-import model.services.FXMLViewLoader;
 import model.services.SceneStackService;
 import util.Logger;
-import views.AdminSessionView;
 import views.GlobalView;
-import views.RescuerSessionView;
 /**
  * Initializes the entire JavaFX scene stack.
- * Loads all FXML views at application startup, 
- * sets the primary stage, and displays the login screen.
+ * Sets the primary stage and displays the login screen. The other FXML views
+ * are loaded by {@link SceneStackService} when they are pushed.
  * 
  * @author resQ360
  */
@@ -26,14 +22,12 @@ public class SceneInitializer {
         this.primaryStage = primaryStage;
     }
     /**
-     * Initializes all scenes for the application.
-     * Loads each FXML view and sets the initial scene.
+     * Initializes the scene stack and shows the login screen.
      */
     public void initialize() {
         Logger.info(Logger.Color.BRIGHT_PURPLE + "Loading scenes...");
         try {
             initializeSceneStack();
-            preloadAllScenes();
             pushPrimaryScene();
         } catch (Exception e) {
             Logger.error("Error while loading scenes", e);
@@ -46,18 +40,6 @@ public class SceneInitializer {
     private void initializeSceneStack() {
         SceneStackService.init(primaryStage);
     }
-    /**
-     * Preloads all scenes from Admin, Rescuer, and Global view enums.
-     * This improves performance by loading them only once.
-     */
-    private void preloadAllScenes() {
-        for (FXMLView view : RescuerSessionView.values())
-            FXMLViewLoader.loadFXML(view);
-        for (FXMLView view : GlobalView.values())
-            FXMLViewLoader.loadFXML(view);
-        for (FXMLView view : AdminSessionView.values())
-            FXMLViewLoader.loadFXML(view);
-    }
     /**
      * Pushes the first screen to show: the login screen.
      */
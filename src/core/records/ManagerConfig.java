@@ -0,0 +1,31 @@
+package core.records;
+/**
+ * Holds the loading settings of the managers.
+ * In eager mode, every manager loads its whole table at creation. In lazy mode, the rescuer
+ * manager loads rescuers on demand, reads the table page by page and keeps at most
+ * {@code workingSetSize} rescuers in memory.
+ *
+ * @param lazy true to load rescuers on demand
+ * @param pageSize the number of rescuers read per query when all of them are needed
+ * @param workingSetSize the maximum number of rescuers kept in memory in lazy mode
+ *
+ * @author resQ360
+ */
+public record ManagerConfig(boolean lazy, int pageSize, int workingSetSize) {
+    /**
+     * @throws IllegalArgumentException if a size is not positive
+     */
+    public ManagerConfig {
+        if (pageSize <= 0 || workingSetSize <= 0) {
+            throw new IllegalArgumentException("Manager sizes must be positive: page=" + pageSize
+                    + ", workingSet=" + workingSetSize);
+        }
+    }
+
+    /**
+     * @return the eager settings used when nothing is configured
+     */
+    public static ManagerConfig defaults() {
+        return new ManagerConfig(false, 500, 2000);
+    }
+}
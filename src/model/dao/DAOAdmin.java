@@ -15,13 +15,14 @@ import java.sql.SQLException;
  */
 public class DAOAdmin {
 
-    private final Connection connection;
+    private final DatabaseConnector database;
 
     /**
-     * Constructs a DAOAdmin with the default database connection.
+     * Constructs a DAOAdmin using the default database connector.
+     * A connection is borrowed from the pool for each operation.
      */
     public DAOAdmin() {
-        this.connection = DatabaseConnector.get().getConnection();
+        this.database = DatabaseConnector.get();
     }
 
     /**
@@ -32,7 +33,8 @@ public class DAOAdmin {
      */
     public Admin getByIdentifier(String identifier) {
         String sql = "SELECT identifiant, motDePasse FROM Admin WHERE identifiant = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, identifier);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -53,7 +55,8 @@ public class DAOAdmin {
      */
     public boolean insert(Admin admin) {
         String sql = "INSERT INTO Admin (identifiant, motDePasse) VALUES (?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, admin.getIdentifier());
             stmt.setString(2, admin.getPassword());
             stmt.executeUpdate();
@@ -72,7 +75,8 @@ public class DAOAdmin {
      */
     public boolean update(Admin admin) {
         String sql = "UPDATE Admin SET motDePasse = ? WHERE identifiant = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, admin.getPassword());
             stmt.setString(2, admin.getIdentifier());
             stmt.executeUpdate();
@@ -91,7 +95,8 @@ public class DAOAdmin {
      */
     public boolean delete(String identifier) {
         String sql = "DELETE FROM Admin WHERE identifiant = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, identifier);
             stmt.executeUpdate();
             return true;
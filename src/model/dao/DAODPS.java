@@ -3,6 +3,7 @@ package model.dao;
 import core.DAO;
 import model.persistence.DPS;
 import model.services.DatabaseConnector;
+import model.services.UnitOfWork;
 
 import java.sql.*;
 import java.util.*;
@@ -12,13 +13,14 @@ import java.util.*;
  */
 public class DAODPS implements DAO<DPS> {
 
-    private final Connection connection;
+    private final DatabaseConnector database;
 
     /**
-     * Constructs a DAODPS instance using the default database connection.
+     * Constructs a DAODPS instance using the default database connector.
+     * A connection is borrowed from the pool for each operation.
      */
     public DAODPS() {
-        this.connection = DatabaseConnector.get().getConnection();
+        this.database = DatabaseConnector.get();
     }
 
     /**
@@ -30,7 +32,8 @@ public class DAODPS implements DAO<DPS> {
     @Override
     public DPS get(int id) {
         String sql = "SELECT * FROM DPS WHERE idDPS = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -71,6 +74,7 @@ public class DAODPS implements DAO<DPS> {
 
     /**
      * Retrieves all DPS entries from the database, including their needs and sport.
+     * Needs and sports are read for every DPS at once: the whole load takes three queries.
      *
      * @return a list of all DPS entries
      */
@@ -78,40 +82,24 @@ public class DAODPS implements DAO<DPS> {
     public List<DPS> getAll() {
         List<DPS> list = new ArrayList<>();
         String sql = "SELECT * FROM DPS";
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            while (rs.next()) {
-                int idDPS = rs.getInt("idDPS");
-                int idJournee = rs.getInt("idJournee");
-                String idSite = rs.getString("idSite");
-                String note=rs.getString("note");
-                DPS dps = new DPS(idDPS, idJournee, idSite);
-                dps.setNote(note);
-
-                // Charger les besoins associés
-                Map<Integer, Integer> besoins = new HashMap<>();
-                String besoinSql = "SELECT idCompetence, nombre FROM Besoin WHERE idDPS = ?";
-                try (PreparedStatement besoinStmt = connection.prepareStatement(besoinSql)) {
-                    besoinStmt.setInt(1, idDPS);
-                    ResultSet besoinRs = besoinStmt.executeQuery();
-                    while (besoinRs.next()) {
-                        int idComp = besoinRs.getInt("idCompetence");
-                        int nombre = besoinRs.getInt("nombre");
-                        besoins.put(idComp, nombre);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            Map<Integer, Map<Integer, Integer>> besoinsParDPS = getAllBesoins(connection);
+            Map<Integer, String> sportParDPS = getAllSports(connection);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int idDPS = rs.getInt("idDPS");
+                    int idJournee = rs.getInt("idJournee");
+                    String idSite = rs.getString("idSite");
+                    String note=rs.getString("note");
+                    DPS dps = new DPS(idDPS, idJournee, idSite);
+                    dps.setNote(note);
+                    dps.setBesoins(besoinsParDPS.getOrDefault(idDPS, new HashMap<>()));
+                    if (sportParDPS.containsKey(idDPS)) {
+                        dps.setIdSport(sportParDPS.get(idDPS));
                     }
+                    list.add(dps);
                 }
-                dps.setBesoins(besoins);
-                // Charger le sport associé
-                String sportSql = "SELECT idSport FROM Concerne WHERE idDPS = ?";
-                try (PreparedStatement sportStmt = connection.prepareStatement(sportSql)) {
-                    sportStmt.setInt(1, idDPS);
-                    ResultSet sportRs = sportStmt.executeQuery();
-                    if (sportRs.next()) {
-                        dps.setIdSport(sportRs.getString("idSport"));
-                    }
-                }
-
-                list.add(dps);
             }
         } catch (SQLException e) {
             System.err.println("Erreur dans getAll() : " + e.getMessage());
@@ -120,7 +108,47 @@ public class DAODPS implements DAO<DPS> {
     }
 
     /**
-     * Inserts a new DPS into the database, including its needs and sport.
+     * Retrieves the needs of every DPS in a single query.
+     *
+     * @param connection the connection to use
+     * @return the number of rescuers needed per skill, grouped by DPS ID
+     * @throws SQLException if a database error occurs
+     */
+    private Map<Integer, Map<Integer, Integer>> getAllBesoins(Connection connection) throws SQLException {
+        Map<Integer, Map<Integer, Integer>> besoins = new HashMap<>();
+        String sql = "SELECT idDPS, idCompetence, nombre FROM Besoin";
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                besoins.computeIfAbsent(rs.getInt("idDPS"), k -> new HashMap<>())
+                        .put(rs.getInt("idCompetence"), rs.getInt("nombre"));
+            }
+        }
+        return besoins;
+    }
+
+    /**
+     * Retrieves the sport of every DPS in a single query.
+     * As in {@link #get(int)}, only the first sport of a DPS is kept.
+     *
+     * @param connection the connection to use
+     * @return the sport ID, by DPS ID
+     * @throws SQLException if a database error occurs
+     */
+    private Map<Integer, String> getAllSports(Connection connection) throws SQLException {
+        Map<Integer, String> sports = new HashMap<>();
+        String sql = "SELECT idDPS, idSport FROM Concerne";
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sports.putIfAbsent(rs.getInt("idDPS"), rs.getString("idSport"));
+            }
+        }
+        return sports;
+    }
+
+    /**
+     * Inserts a new DPS into the database, including its needs and sport, in a single transaction.
      *
      * @param dps the DPS to insert
       @return true if the insertion was successful, false otherwise
@@ -128,35 +156,41 @@ public class DAODPS implements DAO<DPS> {
     @Override
     public boolean insert(DPS dps) {
         String sql = "INSERT INTO DPS (idDPS, idJournee, idSite,note) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, dps.getId());
-            stmt.setInt(2, dps.getIdJournee());
-            stmt.setString(3, dps.getIdSite());
-            stmt.setString(4, dps.getNote());
-            int rows = stmt.executeUpdate();
+        try {
+            return UnitOfWork.run(database::getConnection, () -> {
+                try (Connection connection = database.getConnection();
+                     PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setInt(1, dps.getId());
+                    stmt.setInt(2, dps.getIdJournee());
+                    stmt.setString(3, dps.getIdSite());
+                    stmt.setString(4, dps.getNote());
+                    int rows = stmt.executeUpdate();
 
-            if (rows > 0) {
-                // Insérer les besoins
-                String besoinSql = "INSERT INTO Besoin (idDPS, idCompetence, nombre) VALUES (?, ?, ?)";
-                try (PreparedStatement besoinStmt = connection.prepareStatement(besoinSql)) {
-                    for (Map.Entry<Integer, Integer> entry : dps.getBesoins().entrySet()) {
-                        besoinStmt.setInt(1, dps.getId());
-                        besoinStmt.setInt(2, entry.getKey());
-                        besoinStmt.setInt(3, entry.getValue());
-                        besoinStmt.addBatch();
+                    if (rows > 0) {
+                        // Insérer les besoins
+                        String besoinSql = "INSERT INTO Besoin (idDPS, idCompetence, nombre) VALUES (?, ?, ?)";
+                        try (PreparedStatement besoinStmt = connection.prepareStatement(besoinSql)) {
+                            for (Map.Entry<Integer, Integer> entry : dps.getBesoins().entrySet()) {
+                                besoinStmt.setInt(1, dps.getId());
+                                besoinStmt.setInt(2, entry.getKey());
+                                besoinStmt.setInt(3, entry.getValue());
+                                besoinStmt.addBatch();
+                            }
+                            besoinStmt.executeBatch();
+                        }
+                        // Insérer le sport concerné
+                        String sportSql = "INSERT INTO Concerne (idDPS, idSport) VALUES (?, ?)";
+                        try (PreparedStatement sportStmt = connection.prepareStatement(sportSql)) {
+                            sportStmt.setInt(1, dps.getId());
+                            sportStmt.setString(2, dps.getIdSport());
+                            sportStmt.executeUpdate();
+                        }
+
+                        return true;
                     }
-                    besoinStmt.executeBatch();
-                }
-                // Insérer le sport concerné
-                String sportSql = "INSERT INTO Concerne (idDPS, idSport) VALUES (?, ?)";
-                try (PreparedStatement sportStmt = connection.prepareStatement(sportSql)) {
-                    sportStmt.setInt(1, dps.getId());
-                    sportStmt.setString(2, dps.getIdSport());
-                    sportStmt.executeUpdate();
                 }
-
-                return true;
-            }
+                return false;
+            });
         } catch (SQLException e) {
             System.err.println("Erreur dans insert() : " + e.getMessage());
         }
@@ -164,7 +198,7 @@ public class DAODPS implements DAO<DPS> {
     }
 
     /**
-     * Updates an existing DPS and replaces its needs and sport.
+     * Updates an existing DPS and replaces its needs and sport, in a single transaction.
      *
      * @param dps the DPS to update
      * @return true if the update was successful, false otherwise
@@ -172,48 +206,54 @@ public class DAODPS implements DAO<DPS> {
     @Override
     public boolean update(DPS dps) {
         String sql = "UPDATE DPS SET idJournee = ?, idSite = ?, note = ? WHERE idDPS = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, dps.getIdJournee());
-            stmt.setString(2, dps.getIdSite());
-            stmt.setString(3, dps.getNote());
-            stmt.setInt(4, dps.getId());
-            int rows = stmt.executeUpdate();
+        try {
+            return UnitOfWork.run(database::getConnection, () -> {
+                try (Connection connection = database.getConnection();
+                     PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setInt(1, dps.getIdJournee());
+                    stmt.setString(2, dps.getIdSite());
+                    stmt.setString(3, dps.getNote());
+                    stmt.setInt(4, dps.getId());
+                    int rows = stmt.executeUpdate();
 
-            if (rows > 0) {
-                // Supprimer les anciens besoins
-                String deleteBesoins = "DELETE FROM Besoin WHERE idDPS = ?";
-                try (PreparedStatement deleteStmt = connection.prepareStatement(deleteBesoins)) {
-                    deleteStmt.setInt(1, dps.getId());
-                    deleteStmt.executeUpdate();
-                }
-                // Supprimer l’ancien sport
-                String deleteSportSql = "DELETE FROM Concerne WHERE idDPS = ?";
-                try (PreparedStatement otherStmt = connection.prepareStatement(deleteSportSql)) {
-                    otherStmt.setInt(1, dps.getId());
-                    otherStmt.executeUpdate();
-                }
+                    if (rows > 0) {
+                        // Supprimer les anciens besoins
+                        String deleteBesoins = "DELETE FROM Besoin WHERE idDPS = ?";
+                        try (PreparedStatement deleteStmt = connection.prepareStatement(deleteBesoins)) {
+                            deleteStmt.setInt(1, dps.getId());
+                            deleteStmt.executeUpdate();
+                        }
+                        // Supprimer l’ancien sport
+                        String deleteSportSql = "DELETE FROM Concerne WHERE idDPS = ?";
+                        try (PreparedStatement otherStmt = connection.prepareStatement(deleteSportSql)) {
+                            otherStmt.setInt(1, dps.getId());
+                            otherStmt.executeUpdate();
+                        }
 
-                // Réinsérer les besoins
-                String besoinSql = "INSERT INTO Besoin (idDPS, idCompetence, nombre) VALUES (?, ?, ?)";
-                try (PreparedStatement besoinStmt = connection.prepareStatement(besoinSql)) {
-                    for (Map.Entry<Integer, Integer> entry : dps.getBesoins().entrySet()) {
-                        besoinStmt.setInt(1, dps.getId());
-                        besoinStmt.setInt(2, entry.getKey());
-                        besoinStmt.setInt(3, entry.getValue());
-                        besoinStmt.addBatch();
+                        // Réinsérer les besoins
+                        String besoinSql = "INSERT INTO Besoin (idDPS, idCompetence, nombre) VALUES (?, ?, ?)";
+                        try (PreparedStatement besoinStmt = connection.prepareStatement(besoinSql)) {
+                            for (Map.Entry<Integer, Integer> entry : dps.getBesoins().entrySet()) {
+                                besoinStmt.setInt(1, dps.getId());
+                                besoinStmt.setInt(2, entry.getKey());
+                                besoinStmt.setInt(3, entry.getValue());
+                                besoinStmt.addBatch();
+                            }
+                            besoinStmt.executeBatch();
+                        }
+                        // Réinsérer le sport
+                        String insertSportSql = "INSERT INTO Concerne (idDPS, idSport) VALUES (?, ?)";
+                        try (PreparedStatement otherStmt = connection.prepareStatement(insertSportSql)) {
+                            otherStmt.setInt(1, dps.getId());
+                            otherStmt.setString(2, dps.getIdSport());
+                            otherStmt.executeUpdate();
+                        }
+
+                        return true;
                     }
-                    besoinStmt.executeBatch();
                 }
-                // Réinsérer le sport
-                String insertSportSql = "INSERT INTO Concerne (idDPS, idSport) VALUES (?, ?)";
-                try (PreparedStatement otherStmt = connection.prepareStatement(insertSportSql)) {
-                    otherStmt.setInt(1, dps.getId());
-                    otherStmt.setString(2, dps.getIdSport());
-                    otherStmt.executeUpdate();
-                }
-
-                return true;
-            }
+                return false;
+            });
         } catch (SQLException e) {
             System.err.println("Erreur dans update() : " + e.getMessage());
         }
@@ -221,35 +261,32 @@ public class DAODPS implements DAO<DPS> {
     }
 
     /**
-     * Deletes a DPS and all associated data (needs, sport).
+     * Deletes a DPS and all associated data (needs, sport), in a single transaction.
      *
      * @param id the ID of the DPS to delete
      * @return true if the deletion was successful, false otherwise
      */
     @Override
     public boolean delete(int id) {
-        // Supprimer les besoins d'abord
-        String deleteBesoins = "DELETE FROM Besoin WHERE idDPS = ?";
-        try (PreparedStatement deleteStmt = connection.prepareStatement(deleteBesoins)) {
-            deleteStmt.setInt(1, id);
-            deleteStmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("Erreur lors de la suppression des besoins : " + e.getMessage());
-        }
-        // Supprimer le sport concerné
-        String deleteSportSql = "DELETE FROM Concerne WHERE idDPS = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(deleteSportSql)) {
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
-        }catch (SQLException e) {
-            System.err.println("Erreur lors de la suppression du sport : " + e.getMessage());
-        }
-
-        // Supprimer le DPS
+        String[] links = {"Besoin", "Concerne"};
         String sql = "DELETE FROM DPS WHERE idDPS = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+        try {
+            return UnitOfWork.run(database::getConnection, () -> {
+                try (Connection connection = database.getConnection()) {
+                    // Supprimer les besoins et le sport concerné d'abord
+                    for (String table : links) {
+                        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM " + table + " WHERE idDPS = ?")) {
+                            stmt.setInt(1, id);
+                            stmt.executeUpdate();
+                        }
+                    }
+                    // Supprimer le DPS
+                    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                        stmt.setInt(1, id);
+                        return stmt.executeUpdate() > 0;
+                    }
+                }
+            });
         } catch (SQLException e) {
             System.err.println("Erreur dans delete() : " + e.getMessage());
         }
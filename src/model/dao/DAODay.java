@@ -12,15 +12,14 @@ import java.util.List;
  */
 public class DAODay implements DAO<Day> {
 
-    private DatabaseConnector database;
-    private Connection connection;
+    private final DatabaseConnector database;
 
     /**
      * Constructs a DAODay instance using the default database connector.
+     * A connection is borrowed from the pool for each operation.
      */
     public DAODay() {
         this.database = DatabaseConnector.get();
-        this.connection = database.getConnection();
     }
 
     /**
@@ -32,7 +31,8 @@ public class DAODay implements DAO<Day> {
     @Override
     public Day get(int id) {
         String sql = "SELECT * FROM Journee WHERE idJour = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -59,7 +59,8 @@ public class DAODay implements DAO<Day> {
     public List<Day> getAll() {
         List<Day> list = new ArrayList<>();
         String sql = "SELECT * FROM Journee";
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 int id = rs.getInt("idJour");
@@ -91,7 +92,8 @@ public class DAODay implements DAO<Day> {
     public boolean insert(Day d) {
         String sql = "INSERT INTO Journee (idJour, jour, mois, annee, startHour, startMinute, endHour, endMinute) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, d.getId());
             stmt.setInt(2, d.getDay());
             stmt.setInt(3, d.getMonth());
@@ -118,7 +120,8 @@ public class DAODay implements DAO<Day> {
     public boolean update(Day d) {
         String sql = "UPDATE Journee SET jour = ?, mois = ?, annee = ?, " +
                      "startHour = ?, startMinute = ?, endHour = ?, endMinute = ? WHERE idJour = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, d.getDay());
             stmt.setInt(2, d.getMonth());
             stmt.setInt(3, d.getYear());
@@ -144,7 +147,8 @@ public class DAODay implements DAO<Day> {
     @Override
     public boolean delete(int id) {
         String sql = "DELETE FROM Journee WHERE idJour = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, id);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -4,24 +4,66 @@ import core.DAO;
 import model.persistence.Rescuer;
 import model.persistence.Site;
 import model.services.DatabaseConnector;
+import model.services.UnitOfWork;
 import util.Logger;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 /**
  * DAO class for accessing and managing Rescuer data from the database.
  */
 public class DAORescuer implements DAO<Rescuer>{
 
-    private final Connection connection;
+    /**
+     * Default number of link rows sent to the database in one batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * A row of the EstAffecteA table: a rescuer assigned to a DPS.
+     *
+     * @param idRescuer the rescuer's ID
+     * @param idDPS     the DPS ID
+     */
+    public record AssignmentLink(int idRescuer, int idDPS) {
+        private static void bind(PreparedStatement stmt, AssignmentLink link) throws SQLException {
+            stmt.setInt(1, link.idRescuer());
+            stmt.setInt(2, link.idDPS());
+        }
+    }
+
+    private final DatabaseConnector database;
+    private final int batchSize;
 
     /**
-     * Creates a DAORescuer using the current database connection.
+     * Creates a DAORescuer using the current database connector.
+     * A connection is borrowed from the pool for each operation.
      */
     public DAORescuer() {
-        this.connection = DatabaseConnector.get().getConnection();
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a DAORescuer using the current database connector and the given batch size.
+     *
+     * @param batchSize the maximum number of link rows sent in one batch
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public DAORescuer(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.database = DatabaseConnector.get();
+        this.batchSize = batchSize;
     }
 
     /**
@@ -32,7 +74,8 @@ public class DAORescuer implements DAO<Rescuer>{
      */
     public Rescuer get(int id) {
         String sql = "SELECT * FROM Secouriste WHERE idSecouriste = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, id);
             ResultSet resultSet = stmt.executeQuery();
             if (resultSet.next()) {
@@ -42,8 +85,8 @@ public class DAORescuer implements DAO<Rescuer>{
                 String name = resultSet.getString("nom");
                 String fName = resultSet.getString("prenom");
 
-                List<String> skills = getSkills(id);
-                List<Integer> assignments = getAssignments(id);
+                List<String> skills = getSkills(connection, id);
+                List<Integer> assignments = getAssignments(connection, id);
                 boolean admin = resultSet.getBoolean("admin");
 
                 Rescuer rescuer = new Rescuer(id, identifier, email, skills, password,admin,assignments,name,fName);
@@ -66,7 +109,8 @@ public class DAORescuer implements DAO<Rescuer>{
         Rescuer rescuer = null;
         String sql = "SELECT * FROM Secouriste WHERE identifiant = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, identifier);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -78,8 +122,8 @@ public class DAORescuer implements DAO<Rescuer>{
                     String name = rs.getString("nom");
                     String fName = rs.getString("prenom");
 
-                    List<String> skills = getSkills(id);
-                    List<Integer> assignments = getAssignments(id);
+                    List<String> skills = getSkills(connection, id);
+                    List<Integer> assignments = getAssignments(connection, id);
 
                     rescuer = new Rescuer(id, identifier, email, skills, password, admin,assignments,name,fName);
                 }
@@ -93,13 +137,19 @@ public class DAORescuer implements DAO<Rescuer>{
 
     /**
      * Retrieves all rescuers (excluding admins).
+     * Skills and assignments are loaded for every rescuer at once, so the whole
+     * load takes three queries whatever the number of rescuers.
      *
      * @return a list of all non-admin rescuers
      */
     public List<Rescuer> getAll() {
         List<Rescuer> rescuers = new ArrayList<>();
         String sql = "SELECT * FROM Secouriste";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            Map<Integer, List<String>> skillsById = getSkillsBetween(connection, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            Map<Integer, List<Integer>> assignmentsById = getAssignmentsBetween(connection, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
             ResultSet resultSet = stmt.executeQuery();
             while (resultSet.next()) {
                 int id = resultSet.getInt("idSecouriste");
@@ -110,8 +160,8 @@ public class DAORescuer implements DAO<Rescuer>{
                 String name = resultSet.getString("nom");
                 String fName = resultSet.getString("prenom");
 
-                List<String> skills = getSkills(id);
-                List<Integer> assignments = getAssignments(id);
+                List<String> skills = skillsById.getOrDefault(id, new ArrayList<>());
+                List<Integer> assignments = assignmentsById.getOrDefault(id, new ArrayList<>());
 
                 Rescuer rescuer = new Rescuer(id, identifier, email, skills, password,admin,assignments,name,fName);
 
@@ -124,7 +174,155 @@ public class DAORescuer implements DAO<Rescuer>{
     }
 
     /**
-     * Inserts a new rescuer into the database and links their skills and assignments.
+     * Retrieves one page of rescuers (excluding admins), ordered by ID.
+     * Pages are delimited by the last ID of the previous page rather than by an offset,
+     * so every page costs the same whatever its position.
+     *
+     * @param afterId the last ID of the previous page, or {@link Integer#MIN_VALUE} for the first page
+     * @param limit the maximum number of rescuers to return
+     * @return the rescuers with an ID greater than afterId, at most limit of them
+     */
+    public List<Rescuer> getPage(int afterId, int limit) {
+        List<Rescuer> rescuers = new ArrayList<>();
+        String sql = "SELECT * FROM Secouriste WHERE idSecouriste > ? AND NOT admin ORDER BY idSecouriste LIMIT ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                while (resultSet.next()) {
+                    rescuers.add(toRescuer(resultSet, new ArrayList<>(), new ArrayList<>()));
+                }
+            }
+            if (rescuers.isEmpty()) {
+                return rescuers;
+            }
+            // liens de la page chargés en deux requêtes sur l'intervalle d'IDs de la page
+            int lastId = rescuers.get(rescuers.size() - 1).getId();
+            Map<Integer, List<String>> skillsById = getSkillsBetween(connection, afterId, lastId);
+            Map<Integer, List<Integer>> assignmentsById = getAssignmentsBetween(connection, afterId, lastId);
+            for (Rescuer rescuer : rescuers) {
+                skillsById.getOrDefault(rescuer.getId(), List.of()).forEach(rescuer::addSkill);
+                assignmentsById.getOrDefault(rescuer.getId(), List.of()).forEach(rescuer::addAssignment);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return rescuers;
+    }
+
+    /**
+     * Retrieves the rescuers (excluding admins) assigned to a DPS.
+     *
+     * @param idDPS the DPS ID
+     * @return the rescuers assigned to it
+     */
+    public List<Rescuer> getAssignedTo(int idDPS) {
+        String sql = """
+            SELECT s.* FROM Secouriste s
+            JOIN EstAffecteA e ON s.idSecouriste = e.idSecouriste
+            WHERE e.idDPS = ? AND NOT s.admin
+            ORDER BY s.idSecouriste
+        """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, idDPS);
+            return readRescuers(connection, stmt);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Retrieves the rescuers (excluding admins) holding a skill.
+     *
+     * @param skill the skill name
+     * @return the rescuers holding it
+     */
+    public List<Rescuer> getWithSkill(String skill) {
+        String sql = """
+            SELECT s.* FROM Secouriste s
+            JOIN Possede p ON s.idSecouriste = p.idSecouriste
+            JOIN Competence c ON p.idCompetence = c.idCompetence
+            WHERE c.intitule = ? AND NOT s.admin
+            ORDER BY s.idSecouriste
+        """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, skill);
+            return readRescuers(connection, stmt);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Counts the rescuers (excluding admins) holding a skill.
+     *
+     * @param skill the skill name
+     * @return the number of rescuers holding it
+     */
+    public int countWithSkill(String skill) {
+        String sql = """
+            SELECT COUNT(*) FROM Possede p
+            JOIN Competence c ON p.idCompetence = c.idCompetence
+            JOIN Secouriste s ON p.idSecouriste = s.idSecouriste
+            WHERE c.intitule = ? AND NOT s.admin
+        """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, skill);
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Counts the assignments of all rescuers (excluding admins).
+     *
+     * @return the number of assignment links
+     */
+    public int countAssignments() {
+        String sql = """
+            SELECT COUNT(*) FROM EstAffecteA e
+            JOIN Secouriste s ON e.idSecouriste = s.idSecouriste
+            WHERE NOT s.admin
+        """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet resultSet = stmt.executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the highest rescuer ID in use, admins included.
+     *
+     * @return the highest ID, or 0 if the table is empty
+     */
+    public int getMaxId() {
+        String sql = "SELECT MAX(idSecouriste) FROM Secouriste";
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet resultSet = stmt.executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Inserts a new rescuer into the database and links their skills and assignments, in a single transaction.
      *
      * @param rescuer the rescuer to insert
      * @return true if insertion succeeded, false otherwise
@@ -134,21 +332,26 @@ public class DAORescuer implements DAO<Rescuer>{
             INSERT INTO Secouriste (idSecouriste, identifiant, email, motDePasse, admin, nom, prenom)
             VALUES (?, ?, ?, ?, ?, ?, ?)
         """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, rescuer.getId());
-            stmt.setString(2, rescuer.getIdentifier());
-            stmt.setString(3, rescuer.getEmail());
-            stmt.setString(4, rescuer.getPassword());
-            stmt.setBoolean(5, rescuer.getAdmin());
-            stmt.setString(6, rescuer.getName());
-            stmt.setString(7, rescuer.getFName());
-
-            stmt.executeUpdate();
-
-            insertSkills(rescuer);
-            insertAssignments(rescuer);
-
-            return true;
+        try {
+            return UnitOfWork.run(database::getConnection, () -> {
+                try (Connection connection = database.getConnection();
+                     PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setInt(1, rescuer.getId());
+                    stmt.setString(2, rescuer.getIdentifier());
+                    stmt.setString(3, rescuer.getEmail());
+                    stmt.setString(4, rescuer.getPassword());
+                    stmt.setBoolean(5, rescuer.getAdmin());
+                    stmt.setString(6, rescuer.getName());
+                    stmt.setString(7, rescuer.getFName());
+
+                    stmt.executeUpdate();
+
+                    insertSkills(connection, rescuer.getId(), rescuer.getSkills());
+                    insertAssignments(connection, rescuer.getId(), rescuer.getAssignments());
+
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -157,6 +360,7 @@ public class DAORescuer implements DAO<Rescuer>{
 
     /**
      * Updates a rescuer's personal information, skills, and assignments.
+     * Only the skill and assignment links that changed are deleted or inserted, in a single transaction.
      *
      * @param rescuer the rescuer to update
      * @return true if update succeeded, false otherwise
@@ -167,20 +371,23 @@ public class DAORescuer implements DAO<Rescuer>{
             SET identifiant = ?, email = ?, motDePasse = ?, nom = ?, prenom = ?
             WHERE idSecouriste = ?
         """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, rescuer.getIdentifier());
-            stmt.setString(2, rescuer.getEmail());
-            stmt.setString(3, rescuer.getPassword());
-            stmt.setString(4, rescuer.getName());
-            stmt.setString(5, rescuer.getFName());
-            stmt.setInt(6, rescuer.getId());
-            stmt.executeUpdate();
-
-            deleteLinks(rescuer.getId());
-            insertSkills(rescuer);
-            insertAssignments(rescuer);
-
-            return true;
+        try {
+            return UnitOfWork.run(database::getConnection, () -> {
+                try (Connection connection = database.getConnection();
+                     PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, rescuer.getIdentifier());
+                    stmt.setString(2, rescuer.getEmail());
+                    stmt.setString(3, rescuer.getPassword());
+                    stmt.setString(4, rescuer.getName());
+                    stmt.setString(5, rescuer.getFName());
+                    stmt.setInt(6, rescuer.getId());
+                    stmt.executeUpdate();
+
+                    updateLinks(connection, rescuer);
+
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -188,20 +395,49 @@ public class DAORescuer implements DAO<Rescuer>{
     }
 
     /**
-     * Deletes a rescuer from the database, including all links (skills and assignments).
+     * Deletes a rescuer from the database, including all links (skills and assignments), in a single transaction.
      *
      * @param id the rescuer's ID
      * @return true if deletion succeeded, false otherwise
      */
     public boolean delete(int id) {
         try {
-            deleteLinks(id);
-            String sql = "DELETE FROM Secouriste WHERE idSecouriste = ?";
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                stmt.setInt(1, id);
-                stmt.executeUpdate();
-                return true;
-            }
+            return UnitOfWork.run(database::getConnection, () -> {
+                try (Connection connection = database.getConnection()) {
+                    deleteLinks(connection, id);
+                    String sql = "DELETE FROM Secouriste WHERE idSecouriste = ?";
+                    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                        stmt.setInt(1, id);
+                        stmt.executeUpdate();
+                        return true;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Deletes and inserts assignment links of any number of rescuers, in batches and in a
+     * single transaction. Only the given links are written; the other links are left untouched.
+     *
+     * @param removed the links to delete
+     * @param added   the links to insert
+     * @return true if every link was written, false if nothing was
+     */
+    public boolean updateAssignments(Collection<AssignmentLink> removed, Collection<AssignmentLink> added) {
+        try {
+            return UnitOfWork.run(database::getConnection, () -> {
+                try (Connection connection = database.getConnection()) {
+                    executeBatch(connection, "DELETE FROM EstAffecteA WHERE idSecouriste = ? AND idDPS = ?",
+                            removed, AssignmentLink::bind);
+                    executeBatch(connection, "INSERT INTO EstAffecteA (idSecouriste, idDPS) VALUES (?, ?)",
+                            added, AssignmentLink::bind);
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -213,11 +449,12 @@ public class DAORescuer implements DAO<Rescuer>{
     /**
      * Retrieves the list of skills for the given rescuer ID.
      *
+     * @param connection the connection to use
      * @param id the rescuer's ID
      * @return a list of skill names
      * @throws SQLException if a database error occurs
      */
-    private List<String> getSkills(int id) throws SQLException {
+    private List<String> getSkills(Connection connection, int id) throws SQLException {
         List<String> skills = new ArrayList<>();
         String sql = """
             SELECT c.intitule FROM Possede p
@@ -237,11 +474,12 @@ public class DAORescuer implements DAO<Rescuer>{
     /**
      * Retrieves the list of DPS assignments for the given rescuer ID.
      *
+     * @param connection the connection to use
      * @param id the rescuer's ID
      * @return a list of DPS IDs
      * @throws SQLException if a database error occurs
      */
-    private List<Integer> getAssignments(int id) throws SQLException {
+    private List<Integer> getAssignments(Connection connection, int id) throws SQLException {
         List<Integer> assignments = new ArrayList<>();
         String sql = "SELECT idDPS FROM EstAffecteA WHERE idSecouriste = ?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
@@ -255,38 +493,296 @@ public class DAORescuer implements DAO<Rescuer>{
     }
 
     /**
-     * Inserts skill links into the database for the given rescuer.
+     * Retrieves, in a single query, the skills of every rescuer whose ID is in the given range.
      *
-     * @param rescuer the rescuer whose skills to insert
+     * @param connection the connection to use
+     * @param afterId the lower bound of the range, excluded
+     * @param lastId the upper bound of the range, included
+     * @return the skill names, grouped by rescuer ID
      * @throws SQLException if a database error occurs
      */
-    private void insertSkills(Rescuer rescuer) throws SQLException {
+    private Map<Integer, List<String>> getSkillsBetween(Connection connection, int afterId, int lastId) throws SQLException {
+        Map<Integer, List<String>> skills = new HashMap<>();
         String sql = """
-            INSERT INTO Possede (idSecouriste, idCompetence)
-            SELECT ?, idCompetence FROM Competence WHERE intitule = ?
+            SELECT p.idSecouriste, c.intitule FROM Possede p
+            JOIN Competence c ON p.idCompetence = c.idCompetence
+            WHERE p.idSecouriste > ? AND p.idSecouriste <= ?
         """;
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            for (String skill : rescuer.getSkills()) {
-                stmt.setInt(1, rescuer.getId());
-                stmt.setString(2, skill);
-                stmt.executeUpdate();
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, lastId);
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                while (resultSet.next()) {
+                    skills.computeIfAbsent(resultSet.getInt("idSecouriste"), k -> new ArrayList<>())
+                            .add(resultSet.getString("intitule"));
+                }
+            }
+        }
+        return skills;
+    }
+
+    /**
+     * Retrieves, in a single query, the DPS assignments of every rescuer whose ID is in the given range.
+     *
+     * @param connection the connection to use
+     * @param afterId the lower bound of the range, excluded
+     * @param lastId the upper bound of the range, included
+     * @return the DPS IDs, grouped by rescuer ID
+     * @throws SQLException if a database error occurs
+     */
+    private Map<Integer, List<Integer>> getAssignmentsBetween(Connection connection, int afterId, int lastId) throws SQLException {
+        Map<Integer, List<Integer>> assignments = new HashMap<>();
+        String sql = "SELECT idSecouriste, idDPS FROM EstAffecteA WHERE idSecouriste > ? AND idSecouriste <= ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, lastId);
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                while (resultSet.next()) {
+                    assignments.computeIfAbsent(resultSet.getInt("idSecouriste"), k -> new ArrayList<>())
+                            .add(resultSet.getInt("idDPS"));
+                }
+            }
+        }
+        return assignments;
+    }
+
+    /**
+     * Runs a query on Secouriste rows, then loads the skills and assignments of the rescuers
+     * found with one query per table for every {@code batchSize} rescuers.
+     *
+     * @param connection the connection to use
+     * @param stmt the query, with its parameters set
+     * @return the rescuers returned by the query
+     * @throws SQLException if a database error occurs
+     */
+    private List<Rescuer> readRescuers(Connection connection, PreparedStatement stmt) throws SQLException {
+        Map<Integer, Rescuer> rescuers = new LinkedHashMap<>();
+        try (ResultSet resultSet = stmt.executeQuery()) {
+            while (resultSet.next()) {
+                Rescuer rescuer = toRescuer(resultSet, new ArrayList<>(), new ArrayList<>());
+                rescuers.put(rescuer.getId(), rescuer);
+            }
+        }
+        List<Integer> ids = new ArrayList<>(rescuers.keySet());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Integer> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            String in = placeholders(batch.size());
+            String skillsSql = """
+                SELECT p.idSecouriste, c.intitule FROM Possede p
+                JOIN Competence c ON p.idCompetence = c.idCompetence
+                WHERE p.idSecouriste IN (%s)
+            """.formatted(in);
+            readLinks(connection, skillsSql, batch, resultSet ->
+                    rescuers.get(resultSet.getInt("idSecouriste")).addSkill(resultSet.getString("intitule")));
+            String assignmentsSql = "SELECT idSecouriste, idDPS FROM EstAffecteA WHERE idSecouriste IN (" + in + ")";
+            readLinks(connection, assignmentsSql, batch, resultSet ->
+                    rescuers.get(resultSet.getInt("idSecouriste")).addAssignment(resultSet.getInt("idDPS")));
+        }
+        return new ArrayList<>(rescuers.values());
+    }
+
+    /**
+     * Runs a link query whose parameters are rescuer IDs and passes each row to {@code reader}.
+     *
+     * @param connection the connection to use
+     * @param sql the query, with one parameter per ID
+     * @param ids the rescuer IDs
+     * @param reader reads one row
+     * @throws SQLException if a database error occurs
+     */
+    private void readLinks(Connection connection, String sql, List<Integer> ids, RowReader reader) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int k = 0; k < ids.size(); k++) {
+                stmt.setInt(k + 1, ids.get(k));
+            }
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                while (resultSet.next()) {
+                    reader.read(resultSet);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a rescuer from the current row of a Secouriste query.
+     *
+     * @param resultSet the result set, positioned on a row
+     * @param skills the rescuer's skill names
+     * @param assignments the rescuer's DPS IDs
+     * @return the rescuer
+     * @throws SQLException if a column cannot be read
+     */
+    private Rescuer toRescuer(ResultSet resultSet, List<String> skills, List<Integer> assignments) throws SQLException {
+        return new Rescuer(resultSet.getInt("idSecouriste"), resultSet.getString("identifiant"),
+                resultSet.getString("email"), skills, resultSet.getString("motDePasse"),
+                resultSet.getBoolean("admin"), assignments, resultSet.getString("nom"),
+                resultSet.getString("prenom"));
+    }
+
+    /**
+     * Replaces the stored skill and assignment links of a rescuer by its current ones,
+     * deleting and inserting only the differences.
+     *
+     * @param connection the connection to use
+     * @param rescuer the rescuer whose links to update
+     * @throws SQLException if a database error occurs
+     */
+    private void updateLinks(Connection connection, Rescuer rescuer) throws SQLException {
+        int id = rescuer.getId();
+
+        Set<String> oldSkills = new LinkedHashSet<>(getSkills(connection, id));
+        Set<String> newSkills = new LinkedHashSet<>(rescuer.getSkills());
+        Set<String> removedSkills = new LinkedHashSet<>(oldSkills);
+        removedSkills.removeAll(newSkills);
+        newSkills.removeAll(oldSkills);
+        deleteSkills(connection, id, removedSkills);
+        insertSkills(connection, id, newSkills);
+
+        Set<Integer> oldAssignments = new LinkedHashSet<>(getAssignments(connection, id));
+        Set<Integer> newAssignments = new LinkedHashSet<>(rescuer.getAssignments());
+        Set<Integer> removedAssignments = new LinkedHashSet<>(oldAssignments);
+        removedAssignments.removeAll(newAssignments);
+        newAssignments.removeAll(oldAssignments);
+        deleteAssignments(connection, id, removedAssignments);
+        insertAssignments(connection, id, newAssignments);
+    }
+
+    /**
+     * Inserts skill links into the database for the given rescuer.
+     * The skill IDs are resolved in one query, so that the links are plain
+     * {@code INSERT ... VALUES} rows the driver can rewrite into a multi-row insert.
+     * Names matching no skill are ignored.
+     *
+     * @param connection the connection to use
+     * @param id the rescuer's ID
+     * @param skills the names of the skills to link
+     * @throws SQLException if a database error occurs
+     */
+    private void insertSkills(Connection connection, int id, Collection<String> skills) throws SQLException {
+        String sql = "INSERT INTO Possede (idSecouriste, idCompetence) VALUES (?, ?)";
+        executeBatch(connection, sql, getSkillIds(connection, skills), (stmt, idSkill) -> {
+            stmt.setInt(1, id);
+            stmt.setInt(2, idSkill);
+        });
+    }
+
+    /**
+     * Retrieves, in a single query, the IDs of the skills with the given names.
+     *
+     * @param connection the connection to use
+     * @param skills the skill names
+     * @return the IDs of the skills found
+     * @throws SQLException if a database error occurs
+     */
+    private List<Integer> getSkillIds(Connection connection, Collection<String> skills) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        if (skills.isEmpty()) {
+            return ids;
+        }
+        String sql = "SELECT idCompetence FROM Competence WHERE intitule IN (" + placeholders(skills.size()) + ")";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (String skill : skills) {
+                stmt.setString(index++, skill);
+            }
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt("idCompetence"));
+                }
             }
         }
+        return ids;
+    }
+
+    /**
+     * @param count the number of parameters
+     * @return {@code count} comma-separated parameter markers, for an {@code IN} list
+     */
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Deletes skill links from the database for the given rescuer.
+     *
+     * @param connection the connection to use
+     * @param id the rescuer's ID
+     * @param skills the names of the skills to unlink
+     * @throws SQLException if a database error occurs
+     */
+    private void deleteSkills(Connection connection, int id, Collection<String> skills) throws SQLException {
+        String sql = """
+            DELETE FROM Possede
+            WHERE idSecouriste = ?
+            AND idCompetence IN (SELECT idCompetence FROM Competence WHERE intitule = ?)
+        """;
+        executeBatch(connection, sql, skills, (stmt, skill) -> {
+            stmt.setInt(1, id);
+            stmt.setString(2, skill);
+        });
     }
 
     /**
      * Inserts DPS assignments for the given rescuer.
      *
-     * @param rescuer the rescuer whose assignments to insert
+     * @param connection the connection to use
+     * @param id the rescuer's ID
+     * @param dpsIds the IDs of the DPS to assign
      * @throws SQLException if a database error occurs
      */
-    private void insertAssignments(Rescuer rescuer) throws SQLException {
+    private void insertAssignments(Connection connection, int id, Collection<Integer> dpsIds) throws SQLException {
         String sql = "INSERT INTO EstAffecteA (idSecouriste, idDPS) VALUES (?, ?)";
+        executeBatch(connection, sql, dpsIds, (stmt, dpsId) -> {
+            stmt.setInt(1, id);
+            stmt.setInt(2, dpsId);
+        });
+    }
+
+    /**
+     * Deletes DPS assignments for the given rescuer.
+     *
+     * @param connection the connection to use
+     * @param id the rescuer's ID
+     * @param dpsIds the IDs of the DPS to unassign
+     * @throws SQLException if a database error occurs
+     */
+    private void deleteAssignments(Connection connection, int id, Collection<Integer> dpsIds) throws SQLException {
+        String sql = "DELETE FROM EstAffecteA WHERE idSecouriste = ? AND idDPS = ?";
+        executeBatch(connection, sql, dpsIds, (stmt, dpsId) -> {
+            stmt.setInt(1, id);
+            stmt.setInt(2, dpsId);
+        });
+    }
+
+    /**
+     * Runs a statement once per row, sending the rows in batches of at most {@code batchSize}.
+     * With {@code rewriteBatchedStatements} enabled on the connection, the driver turns each
+     * batch of inserts into a single multi-row statement.
+     *
+     * @param connection the connection to use
+     * @param sql the statement to run
+     * @param rows the rows to write, nothing is sent if empty
+     * @param binder sets the parameters of the statement for one row
+     * @param <T> the type of the rows
+     * @throws SQLException if a database error occurs
+     */
+    private <T> void executeBatch(Connection connection, String sql, Collection<T> rows,
+                                  RowBinder<T> binder) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            for (int dpsId : rescuer.getAssignments()) {
-                stmt.setInt(1, rescuer.getId());
-                stmt.setInt(2, dpsId);
-                stmt.executeUpdate();
+            int pending = 0;
+            for (T row : rows) {
+                binder.bind(stmt, row);
+                stmt.addBatch();
+                if (++pending == batchSize) {
+                    stmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
             }
         }
     }
@@ -294,10 +790,11 @@ public class DAORescuer implements DAO<Rescuer>{
     /**
      * Deletes all skill and assignment links for a given rescuer.
      *
+     * @param connection the connection to use
      * @param id the rescuer's ID
      * @throws SQLException if a database error occurs
      */
-    private void deleteLinks(int id) throws SQLException {
+    private void deleteLinks(Connection connection, int id) throws SQLException {
         String[] tables = {"Possede", "EstAffecteA"};
         for (String table : tables) {
             try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM " + table + " WHERE idSecouriste = ?")) {
@@ -306,4 +803,22 @@ public class DAORescuer implements DAO<Rescuer>{
             }
         }
     }
+
+    /**
+     * Sets the parameters of a batched statement for one row.
+     *
+     * @param <T> the type of the rows
+     */
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    /**
+     * Reads one row of a link query.
+     */
+    @FunctionalInterface
+    private interface RowReader {
+        void read(ResultSet resultSet) throws SQLException;
+    }
 }
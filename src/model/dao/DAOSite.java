@@ -16,13 +16,14 @@ import java.util.List;
  */
 public class DAOSite implements DAO<Site> {
 
-    private final Connection connection;
+    private final DatabaseConnector database;
 
     /**
-     * Creates a new DAOSite instance using the shared database connection.
+     * Creates a new DAOSite instance using the shared database connector.
+     * A connection is borrowed from the pool for each operation.
      */
     public DAOSite() {
-        this.connection = DatabaseConnector.get().getConnection();
+        this.database = DatabaseConnector.get();
     }
 
     /**
@@ -47,7 +48,8 @@ public class DAOSite implements DAO<Site> {
      */
     public Site get(String code) {
         String sql = "SELECT * FROM Site WHERE idSite = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, code);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -73,7 +75,8 @@ public class DAOSite implements DAO<Site> {
     public List<Site> getAll() {
         List<Site> sites = new ArrayList<>();
         String sql = "SELECT * FROM Site";
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 sites.add(new Site(
@@ -98,7 +101,8 @@ public class DAOSite implements DAO<Site> {
     @Override
     public boolean insert(Site site) {
         String sql = "INSERT INTO Site (idSite, nom, longitude, latitude) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, site.getCode());
             stmt.setString(2, site.getName());
             stmt.setFloat(3, site.getLongitude());
@@ -119,7 +123,8 @@ public class DAOSite implements DAO<Site> {
     @Override
     public boolean update(Site site) {
         String sql = "UPDATE Site SET nom = ?, longitude = ?, latitude = ? WHERE idSite = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, site.getName());
             stmt.setFloat(2, site.getLongitude());
             stmt.setFloat(3, site.getLatitude());
@@ -149,7 +154,8 @@ public class DAOSite implements DAO<Site> {
      */
     public boolean delete(String code) {
         String sql = "DELETE FROM Site WHERE idSite = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, code);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -13,13 +13,14 @@ import java.util.List;
  */
 public class DAOSport implements DAO<Sport> {
 
-    private final Connection connection;
+    private final DatabaseConnector database;
 
     /**
-     * Creates a DAOSport instance using the shared database connection.
+     * Creates a DAOSport instance using the shared database connector.
+     * A connection is borrowed from the pool for each operation.
      */
     public DAOSport() {
-        this.connection = DatabaseConnector.get().getConnection();
+        this.database = DatabaseConnector.get();
     }
 
      /**
@@ -39,7 +40,8 @@ public class DAOSport implements DAO<Sport> {
      */
     public Sport get(String code) {
         String sql = "SELECT * FROM Sport WHERE idSport = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, code);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -63,7 +65,8 @@ public class DAOSport implements DAO<Sport> {
     public List<Sport> getAll() {
         List<Sport> sports = new ArrayList<>();
         String sql = "SELECT * FROM Sport";
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 sports.add(new Sport(
@@ -86,7 +89,8 @@ public class DAOSport implements DAO<Sport> {
     @Override
     public boolean insert(Sport sport) {
         String sql = "INSERT INTO Sport (idSport, nom) VALUES (?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, sport.getCode());
             stmt.setString(2, sport.getName());
             return stmt.executeUpdate() > 0;
@@ -104,7 +108,8 @@ public class DAOSport implements DAO<Sport> {
     @Override
     public boolean update(Sport sport) {
         String sql = "UPDATE Sport SET nom = ? WHERE idSport = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, sport.getName());
             stmt.setString(2, sport.getCode());
             return stmt.executeUpdate() > 0;
@@ -131,7 +136,8 @@ public class DAOSport implements DAO<Sport> {
      */
     public boolean delete(String code) {
         String sql = "DELETE FROM Sport WHERE idSport = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, code);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -23,6 +23,110 @@ public class BesoinsAdapter {
     */
     public record ResultatAdaptation(int[][] matrice, List<DPSColonneInfo> correspondanceColonnes) { }
 
+    /**
+     * Contient une affectation sous forme compacte : la ligne affectée à chaque colonne.
+     * La place occupée ne dépend que du nombre de colonnes, et non du produit lignes x colonnes.
+     *
+     * @param nbLignes               nombre de sauveteurs (lignes) de l'affectation
+     * @param ligneParColonne        ligne affectée à chaque colonne, ou {@link #LIBRE}
+     * @param correspondanceColonnes infos de chaque colonne, comme dans {@link ResultatAdaptation}
+     */
+    public record ResultatAdaptationCompacte(int nbLignes, int[] ligneParColonne,
+                                             List<DPSColonneInfo> correspondanceColonnes) {
+
+        /** Valeur d'une colonne sans sauveteur. */
+        public static final int LIBRE = -1;
+
+        /**
+         * @return le nombre de colonnes affectées
+         */
+        public int getNombreAffectations() {
+            int nombre = 0;
+            for (int ligne : ligneParColonne) {
+                if (ligne != LIBRE) {
+                    nombre++;
+                }
+            }
+            return nombre;
+        }
+
+        /**
+         * Exporte l'affectation sous la forme dense utilisée par {@link ResultatAdaptation}.
+         *
+         * @return le résultat d'adaptation avec la matrice dense
+         */
+        public ResultatAdaptation versResultatAdaptation() {
+            int[][] matrice = new int[nbLignes][ligneParColonne.length];
+            for (int colonne = 0; colonne < ligneParColonne.length; colonne++) {
+                if (ligneParColonne[colonne] != LIBRE) {
+                    matrice[ligneParColonne[colonne]][colonne] = 1;
+                }
+            }
+            return new ResultatAdaptation(matrice, correspondanceColonnes);
+        }
+    }
+
+    /**
+     * Contient le résultat d'adaptation sous forme creuse : graphe de compatibilité et correspondances.
+     */
+    public record ResultatAdaptationCreuse(MatriceCreuse graphe, List<DPSColonneInfo> correspondanceColonnes) {
+
+        /**
+         * Exporte le graphe sous la forme dense utilisée par {@link ResultatAdaptation}.
+         *
+         * @return le résultat d'adaptation avec la matrice dense
+         */
+        public ResultatAdaptation versResultatAdaptation() {
+            return new ResultatAdaptation(graphe.versMatrice(), correspondanceColonnes);
+        }
+    }
+
+    /**
+     * Contient le résultat d'adaptation en mode capacitaire : une colonne par couple (DPS, compétence)
+     * avec le nombre d'unités demandées, au lieu d'une colonne par unité.
+     *
+     * @param graphe                 graphe de compatibilité sauveteurs x classes
+     * @param capacites              nombre d'unités demandées par classe
+     * @param classes                infos de chaque classe (l'index de répétition vaut 0)
+     * @param correspondanceColonnes infos des colonnes étendues, comme dans {@link ResultatAdaptation}
+     */
+    public record ResultatAdaptationCapacitee(MatriceCreuse graphe, int[] capacites,
+                                              List<DPSColonneInfo> classes,
+                                              List<DPSColonneInfo> correspondanceColonnes) {
+
+        /**
+         * Développe une solution calculée sur les classes en une matrice d'affectation sur les colonnes
+         * étendues : le k-ième sauveteur affecté à une classe reçoit la k-ième colonne de cette classe.
+         *
+         * @param solution matrice sauveteurs x classes (plusieurs 1 possibles par colonne)
+         * @return le résultat d'adaptation étendu, utilisable par {@code Assigner}
+         */
+        public ResultatAdaptation developper(int[][] solution) {
+            int nbLignes = graphe.getNbLignes();
+            int nbClasses = capacites.length;
+
+            // Les colonnes d'une classe sont contiguës : la classe c commence après les capacités des précédentes
+            int[] prochaineColonne = new int[nbClasses];
+            int[] finClasse = new int[nbClasses];
+            int debut = 0;
+            for (int c = 0; c < nbClasses; c++) {
+                prochaineColonne[c] = debut;
+                debut += capacites[c];
+                finClasse[c] = debut;
+            }
+
+            int[][] matrice = new int[nbLignes][correspondanceColonnes.size()];
+            for (int i = 0; i < solution.length; i++) {
+                for (int c = 0; c < solution[i].length; c++) {
+                    if (solution[i][c] == 1 && prochaineColonne[c] < finClasse[c]) {
+                        matrice[i][prochaineColonne[c]++] = 1;
+                    }
+                }
+            }
+            return new ResultatAdaptation(matrice, correspondanceColonnes);
+        }
+    }
+
     /**
      * Construit une matrice binaire étendue où chaque colonne correspond
      * à une unité de besoin pour une compétence, et chaque ligne à un sauveteur.
@@ -32,42 +136,129 @@ public class BesoinsAdapter {
      * @return un objet contenant la matrice binaire et les infos par colonne
      */
     public static ResultatAdaptation buildExtendedMatrix(List<Rescuer> sauveteurs, List<DPS> dpsList) {
-        List<DPSColonneInfo> correspondances = new ArrayList<>();
+        return buildSparseGraph(sauveteurs, dpsList).versResultatAdaptation();
+    }
+
+    /**
+     * Construit le graphe de compatibilité étendu sous forme creuse : mêmes lignes et mêmes colonnes
+     * que {@link #buildExtendedMatrix(List, List)}, mais seules les compatibilités sont stockées.
+     *
+     * @param sauveteurs la liste des sauveteurs disponibles
+     * @param dpsList    les DPS contenant les besoins en compétences
+     * @return un objet contenant le graphe creux et les infos par colonne
+     */
+    public static ResultatAdaptationCreuse buildSparseGraph(List<Rescuer> sauveteurs, List<DPS> dpsList) {
+        List<DPSColonneInfo> correspondances = etendreBesoins(dpsList);
+        return new ResultatAdaptationCreuse(construireGraphe(sauveteurs, correspondances), correspondances);
+    }
 
-        // Étendre les besoins de chaque DPS en colonnes
+    /**
+     * Construit le graphe de compatibilité en mode capacitaire : une colonne par couple (DPS, compétence)
+     * dont la capacité est le nombre d'unités demandées. Le graphe est plus petit que celui de
+     * {@link #buildSparseGraph(List, List)} d'un facteur égal au nombre moyen d'unités par besoin.
+     *
+     * @param sauveteurs la liste des sauveteurs disponibles
+     * @param dpsList    les DPS contenant les besoins en compétences
+     * @return un objet contenant le graphe des classes, leurs capacités et les colonnes étendues
+     */
+    public static ResultatAdaptationCapacitee buildCapacitatedGraph(List<Rescuer> sauveteurs, List<DPS> dpsList) {
+        List<DPSColonneInfo> classes = new ArrayList<>();
+        List<Integer> capacites = new ArrayList<>();
         for (DPS dps : dpsList) {
-            int idDPS = dps.getId();
             for (Map.Entry<Integer, Integer> entry : dps.getBesoins().entrySet()) {
-                int idCompetence = entry.getKey();
-                int quantite = entry.getValue();
-
-                for (int i = 0; i < quantite; i++) {
-                    correspondances.add(new DPSColonneInfo(idDPS, idCompetence, i));
+                if (entry.getValue() > 0) {
+                    classes.add(new DPSColonneInfo(dps.getId(), entry.getKey(), 0));
+                    capacites.add(entry.getValue());
                 }
             }
         }
 
+        int[] tabCapacites = new int[capacites.size()];
+        for (int c = 0; c < tabCapacites.length; c++) {
+            tabCapacites[c] = capacites.get(c);
+        }
+        return new ResultatAdaptationCapacitee(construireGraphe(sauveteurs, classes), tabCapacites,
+                classes, etendreBesoins(dpsList));
+    }
+
+    /**
+     * Construit le graphe creux sauveteurs x colonnes : un sauveteur est relié à une colonne
+     * s'il possède la compétence qu'elle demande.
+     *
+     * @param sauveteurs la liste des sauveteurs (lignes)
+     * @param colonnes   les infos de chaque colonne
+     * @return le graphe de compatibilité
+     */
+    private static MatriceCreuse construireGraphe(List<Rescuer> sauveteurs, List<DPSColonneInfo> colonnes) {
+        // Regrouper les colonnes par compétence : toutes les colonnes d'une même compétence
+        // ont le même vecteur de compatibilité
+        Map<Integer, List<Integer>> colonnesParCompetence = new LinkedHashMap<>();
+        for (int j = 0; j < colonnes.size(); j++) {
+            colonnesParCompetence
+                    .computeIfAbsent(colonnes.get(j).idCompetence(), k -> new ArrayList<>())
+                    .add(j);
+        }
+
         int nbSauveteurs = sauveteurs.size();
-        int nbColonnes = correspondances.size();
-        int[][] matrice = new int[nbSauveteurs][nbColonnes];
+        int[] debuts = new int[nbSauveteurs + 1];
+        int[] voisins = new int[16];
+        int nbAretes = 0;
 
-        // Remplissage de la matrice
         for (int i = 0; i < nbSauveteurs; i++) {
-            Rescuer sauveteur = sauveteurs.get(i);
-            List<String> skills = sauveteur.getSkills();
-
-            for (int j = 0; j < nbColonnes; j++) {
-                DPSColonneInfo infoColonne = correspondances.get(j);
-                int idCompetence = infoColonne.idCompetence;
+            List<String> skills = sauveteurs.get(i).getSkills();
 
+            for (Map.Entry<Integer, List<Integer>> entry : colonnesParCompetence.entrySet()) {
                 // Vérifie que le sauveteur a la compétence
-                if (skills.contains(String.valueOf(idCompetence))){
-                    matrice[i][j] = 1;
+                if (possedeCompetence(skills, entry.getKey())) {
+                    List<Integer> colonnesCompetence = entry.getValue();
+                    int besoin = nbAretes + colonnesCompetence.size();
+                    if (besoin > voisins.length) {
+                        voisins = Arrays.copyOf(voisins, Math.max(voisins.length * 2, besoin));
+                    }
+                    for (int colonne : colonnesCompetence) {
+                        voisins[nbAretes++] = colonne;
+                    }
+                }
+            }
+            Arrays.sort(voisins, debuts[i], nbAretes);
+            debuts[i + 1] = nbAretes;
+        }
+
+        return new MatriceCreuse(colonnes.size(), debuts, Arrays.copyOf(voisins, nbAretes));
+    }
+
+    /**
+     * Étend les besoins de chaque DPS en colonnes : une colonne par unité de besoin.
+     *
+     * @param dpsList les DPS contenant les besoins en compétences
+     * @return la liste des infos de colonnes, dans l'ordre des colonnes
+     */
+    private static List<DPSColonneInfo> etendreBesoins(List<DPS> dpsList) {
+        List<DPSColonneInfo> correspondances = new ArrayList<>();
+        for (DPS dps : dpsList) {
+            int idDPS = dps.getId();
+            for (Map.Entry<Integer, Integer> entry : dps.getBesoins().entrySet()) {
+                int idCompetence = entry.getKey();
+                int quantite = entry.getValue();
+
+                for (int i = 0; i < quantite; i++) {
+                    correspondances.add(new DPSColonneInfo(idDPS, idCompetence, i));
                 }
             }
         }
+        return correspondances;
+    }
 
-        return new ResultatAdaptation(matrice, correspondances);
+    /**
+     * Indique si un sauveteur possède la compétence demandée par une colonne.
+     * C'est le prédicat de compatibilité utilisé pour construire tous les graphes.
+     *
+     * @param skills       les compétences du sauveteur
+     * @param idCompetence l'identifiant de la compétence requise
+     * @return true si le sauveteur a la compétence
+     */
+    public static boolean possedeCompetence(List<String> skills, int idCompetence) {
+        return skills.contains(String.valueOf(idCompetence));
     }
 
 }
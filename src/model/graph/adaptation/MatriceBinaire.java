@@ -0,0 +1,229 @@
+package model.graph.adaptation;
+
+/**
+ * Matrice binaire de compatibilité stockée sous forme de bitsets : chaque ligne est un tableau
+ * de mots {@code long} où le bit {@code j} vaut 1 si la ligne est compatible avec la colonne {@code j}.
+ *
+ * <p>Une case n'occupe qu'un bit (32 fois moins qu'un {@code int[][]}) et les opérations sur une
+ * ligne (degré, recherche du premier bit commun avec un masque) traitent 64 colonnes à la fois.</p>
+ */
+public final class MatriceBinaire {
+    private static final int BITS_PAR_MOT = 64;
+
+    private final int nbLignes;
+    private final int nbColonnes;
+    private final int motsParLigne;
+    private final long[] mots; // les lignes sont rangées les unes à la suite des autres
+
+    /**
+     * Crée une matrice binaire remplie de 0.
+     *
+     * @param nbLignes   le nombre de lignes
+     * @param nbColonnes le nombre de colonnes
+     */
+    public MatriceBinaire(int nbLignes, int nbColonnes) {
+        this.nbLignes = nbLignes;
+        this.nbColonnes = nbColonnes;
+        this.motsParLigne = nbMots(nbColonnes);
+        this.mots = new long[nbLignes * motsParLigne];
+    }
+
+    /**
+     * Convertit une matrice binaire dense en bitsets.
+     *
+     * @param matrice la matrice dense (1 = compatible)
+     * @return la matrice binaire équivalente
+     */
+    public static MatriceBinaire depuisMatrice(int[][] matrice) {
+        int nbLignes = matrice.length;
+        int nbColonnes = nbLignes > 0 ? matrice[0].length : 0;
+        MatriceBinaire res = new MatriceBinaire(nbLignes, nbColonnes);
+        for (int i = 0; i < nbLignes; i++) {
+            for (int j = 0; j < nbColonnes; j++) {
+                if (matrice[i][j] == 1) {
+                    res.set(i, j);
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Convertit une matrice creuse en bitsets.
+     *
+     * @param graphe la matrice creuse
+     * @return la matrice binaire équivalente
+     */
+    public static MatriceBinaire depuisCreuse(MatriceCreuse graphe) {
+        MatriceBinaire res = new MatriceBinaire(graphe.getNbLignes(), graphe.getNbColonnes());
+        int[] debuts = graphe.getDebuts();
+        int[] voisins = graphe.getVoisins();
+        for (int i = 0; i < graphe.getNbLignes(); i++) {
+            for (int k = debuts[i]; k < debuts[i + 1]; k++) {
+                res.set(i, voisins[k]);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Retourne le nombre de mots nécessaires pour stocker un nombre de bits.
+     *
+     * @param nbBits le nombre de bits
+     * @return le nombre de mots {@code long}
+     */
+    public static int nbMots(int nbBits) {
+        return (nbBits + BITS_PAR_MOT - 1) / BITS_PAR_MOT;
+    }
+
+    /**
+     * @return le nombre de lignes
+     */
+    public int getNbLignes() {
+        return nbLignes;
+    }
+
+    /**
+     * @return le nombre de colonnes
+     */
+    public int getNbColonnes() {
+        return nbColonnes;
+    }
+
+    /**
+     * @return le nombre de mots {@code long} par ligne
+     */
+    public int getMotsParLigne() {
+        return motsParLigne;
+    }
+
+    /**
+     * Met la case (ligne, colonne) à 1.
+     *
+     * @param ligne   l'index de la ligne
+     * @param colonne l'index de la colonne
+     */
+    public void set(int ligne, int colonne) {
+        mots[ligne * motsParLigne + (colonne >>> 6)] |= 1L << colonne;
+    }
+
+    /**
+     * Indique si la case (ligne, colonne) vaut 1.
+     *
+     * @param ligne   l'index de la ligne
+     * @param colonne l'index de la colonne
+     * @return true si la ligne est compatible avec la colonne
+     */
+    public boolean get(int ligne, int colonne) {
+        return (mots[ligne * motsParLigne + (colonne >>> 6)] & (1L << colonne)) != 0;
+    }
+
+    /**
+     * Retourne le nombre de 1 d'une ligne.
+     *
+     * @param ligne l'index de la ligne
+     * @return le degré de la ligne
+     */
+    public int degreLigne(int ligne) {
+        int debut = ligne * motsParLigne;
+        int degre = 0;
+        for (int w = 0; w < motsParLigne; w++) {
+            degre += Long.bitCount(mots[debut + w]);
+        }
+        return degre;
+    }
+
+    /**
+     * Calcule le degré de chaque colonne (nombre de lignes compatibles) en un seul parcours.
+     *
+     * @return un tableau de taille {@code nbColonnes}
+     */
+    public int[] degresColonnes() {
+        int[] degres = new int[nbColonnes];
+        for (int i = 0; i < nbLignes; i++) {
+            for (int j = prochainBit(i, 0); j >= 0; j = prochainBit(i, j + 1)) {
+                degres[j]++;
+            }
+        }
+        return degres;
+    }
+
+    /**
+     * Retourne la première colonne à 1 de la ligne à partir de l'index donné (inclus).
+     *
+     * @param ligne  l'index de la ligne
+     * @param depuis la première colonne examinée
+     * @return l'index de la colonne trouvée, ou -1 s'il n'y en a pas
+     */
+    public int prochainBit(int ligne, int depuis) {
+        if (depuis >= nbColonnes) {
+            return -1;
+        }
+        int debut = ligne * motsParLigne;
+        int w = depuis >>> 6;
+        long mot = mots[debut + w] & (-1L << depuis);
+        while (true) {
+            if (mot != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(mot);
+            }
+            if (++w == motsParLigne) {
+                return -1;
+            }
+            mot = mots[debut + w];
+        }
+    }
+
+    /**
+     * Retourne la première colonne à 1 à la fois dans la ligne et dans le masque.
+     *
+     * @param ligne  l'index de la ligne
+     * @param masque un bitset de {@link #getMotsParLigne()} mots
+     * @return l'index de la colonne trouvée, ou -1 s'il n'y en a pas
+     */
+    public int premierBitCommun(int ligne, long[] masque) {
+        return prochainBitCommun(ligne, masque, 0);
+    }
+
+    /**
+     * Retourne la première colonne à 1 à la fois dans la ligne et dans le masque,
+     * à partir de l'index donné (inclus).
+     *
+     * @param ligne  l'index de la ligne
+     * @param masque un bitset de {@link #getMotsParLigne()} mots
+     * @param depuis la première colonne examinée
+     * @return l'index de la colonne trouvée, ou -1 s'il n'y en a pas
+     */
+    public int prochainBitCommun(int ligne, long[] masque, int depuis) {
+        if (depuis >= nbColonnes) {
+            return -1;
+        }
+        int debut = ligne * motsParLigne;
+        int w = depuis >>> 6;
+        long mot = mots[debut + w] & masque[w] & (-1L << depuis);
+        while (true) {
+            if (mot != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(mot);
+            }
+            if (++w == motsParLigne) {
+                return -1;
+            }
+            mot = mots[debut + w] & masque[w];
+        }
+    }
+
+    /**
+     * Construit la matrice transposée : la ligne {@code j} du résultat liste les lignes
+     * compatibles avec la colonne {@code j}.
+     *
+     * @return la matrice transposée
+     */
+    public MatriceBinaire transposer() {
+        MatriceBinaire res = new MatriceBinaire(nbColonnes, nbLignes);
+        for (int i = 0; i < nbLignes; i++) {
+            for (int j = prochainBit(i, 0); j >= 0; j = prochainBit(i, j + 1)) {
+                res.set(j, i);
+            }
+        }
+        return res;
+    }
+}
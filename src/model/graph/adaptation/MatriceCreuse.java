@@ -0,0 +1,156 @@
+package model.graph.adaptation;
+
+import java.util.Arrays;
+
+/**
+ * Représentation creuse (format CSR) d'une matrice binaire de compatibilité sauveteurs x colonnes.
+ *
+ * <p>Seuls les 1 sont stockés : les colonnes compatibles avec la ligne {@code i} sont
+ * {@code voisins[debuts[i]] .. voisins[debuts[i + 1] - 1]}, rangées par ordre croissant.
+ * La mémoire occupée est donc proportionnelle au nombre de compatibilités et non au produit
+ * lignes x colonnes.</p>
+ *
+ * <p>Les tableaux exposés par {@link #getDebuts()} et {@link #getVoisins()} ne sont pas copiés
+ * et ne doivent pas être modifiés.</p>
+ */
+public final class MatriceCreuse {
+    private final int nbLignes;
+    private final int nbColonnes;
+    private final int[] debuts;
+    private final int[] voisins;
+
+    /**
+     * Construit une matrice creuse à partir de tableaux CSR déjà remplis.
+     *
+     * @param nbColonnes le nombre de colonnes de la matrice
+     * @param debuts     tableau de taille {@code nbLignes + 1} donnant le début de chaque ligne dans {@code voisins}
+     * @param voisins    les indices de colonnes compatibles, triés par ordre croissant dans chaque ligne
+     * @throws IllegalArgumentException si les tableaux sont incohérents
+     */
+    public MatriceCreuse(int nbColonnes, int[] debuts, int[] voisins) {
+        if (debuts.length == 0 || debuts[0] != 0 || debuts[debuts.length - 1] != voisins.length) {
+            throw new IllegalArgumentException("Tableaux CSR incohérents.");
+        }
+        this.nbLignes = debuts.length - 1;
+        this.nbColonnes = nbColonnes;
+        this.debuts = debuts;
+        this.voisins = voisins;
+    }
+
+    /**
+     * Convertit une matrice binaire dense en matrice creuse.
+     *
+     * @param matrice la matrice dense (1 = compatible)
+     * @return la matrice creuse équivalente
+     */
+    public static MatriceCreuse depuisMatrice(int[][] matrice) {
+        int nbLignes = matrice.length;
+        int nbColonnes = nbLignes > 0 ? matrice[0].length : 0;
+
+        int[] debuts = new int[nbLignes + 1];
+        for (int i = 0; i < nbLignes; i++) {
+            int degre = 0;
+            for (int j = 0; j < nbColonnes; j++) {
+                if (matrice[i][j] == 1) {
+                    degre++;
+                }
+            }
+            debuts[i + 1] = debuts[i] + degre;
+        }
+
+        int[] voisins = new int[debuts[nbLignes]];
+        int k = 0;
+        for (int i = 0; i < nbLignes; i++) {
+            for (int j = 0; j < nbColonnes; j++) {
+                if (matrice[i][j] == 1) {
+                    voisins[k++] = j;
+                }
+            }
+        }
+        return new MatriceCreuse(nbColonnes, debuts, voisins);
+    }
+
+    /**
+     * @return le nombre de lignes (sauveteurs)
+     */
+    public int getNbLignes() {
+        return nbLignes;
+    }
+
+    /**
+     * @return le nombre de colonnes
+     */
+    public int getNbColonnes() {
+        return nbColonnes;
+    }
+
+    /**
+     * @return le nombre total de compatibilités (de 1 dans la matrice dense)
+     */
+    public int getNbAretes() {
+        return voisins.length;
+    }
+
+    /**
+     * @return le tableau des débuts de ligne (taille {@code nbLignes + 1})
+     */
+    public int[] getDebuts() {
+        return debuts;
+    }
+
+    /**
+     * @return le tableau des colonnes compatibles, rangées ligne par ligne
+     */
+    public int[] getVoisins() {
+        return voisins;
+    }
+
+    /**
+     * Retourne le nombre de colonnes compatibles avec une ligne.
+     *
+     * @param ligne l'index de la ligne
+     * @return le degré de la ligne
+     */
+    public int degre(int ligne) {
+        return debuts[ligne + 1] - debuts[ligne];
+    }
+
+    /**
+     * Indique si la case (ligne, colonne) vaut 1.
+     *
+     * @param ligne   l'index de la ligne
+     * @param colonne l'index de la colonne
+     * @return true si la ligne est compatible avec la colonne
+     */
+    public boolean contient(int ligne, int colonne) {
+        return Arrays.binarySearch(voisins, debuts[ligne], debuts[ligne + 1], colonne) >= 0;
+    }
+
+    /**
+     * Calcule le degré de chaque colonne (nombre de lignes compatibles) en un seul parcours.
+     *
+     * @return un tableau de taille {@code nbColonnes}
+     */
+    public int[] degresColonnes() {
+        int[] degres = new int[nbColonnes];
+        for (int colonne : voisins) {
+            degres[colonne]++;
+        }
+        return degres;
+    }
+
+    /**
+     * Exporte la matrice sous forme dense.
+     *
+     * @return une matrice {@code nbLignes x nbColonnes} où 1 indique une compatibilité
+     */
+    public int[][] versMatrice() {
+        int[][] matrice = new int[nbLignes][nbColonnes];
+        for (int i = 0; i < nbLignes; i++) {
+            for (int k = debuts[i]; k < debuts[i + 1]; k++) {
+                matrice[i][voisins[k]] = 1;
+            }
+        }
+        return matrice;
+    }
+}
@@ -0,0 +1,184 @@
+package model.graph.adaptation;
+
+import model.persistence.CompetenceDependancies;
+import model.persistence.DPS;
+import model.persistence.Rescuer;
+import model.persistence.Site;
+import model.persistence.Skill;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Calcule le coût de chaque arête du graphe de compatibilité, pour l'affectation pondérée
+ * ({@link model.graph.algorithme.GraphCoutMinimal}).
+ *
+ * <p>Le coût d'affecter un sauveteur à une colonne est la somme pondérée de :</p>
+ * <ul>
+ *     <li>la distance (en km) entre le site du DPS et le site le plus proche parmi les DPS
+ *     déjà affectés au sauveteur (0 s'il n'en a aucun) ;</li>
+ *     <li>la charge du sauveteur, c'est-à-dire son nombre d'affectations existantes ;</li>
+ *     <li>la surqualification : le nombre de compétences du sauveteur qui ne sont ni la compétence
+ *     demandée ni l'une de ses dépendances ({@link CompetenceDependancies}).</li>
+ * </ul>
+ */
+public class PonderationAffectation {
+    /** Poids par défaut d'un kilomètre. */
+    public static final int POIDS_DISTANCE = 1;
+    /** Poids par défaut d'une affectation existante. */
+    public static final int POIDS_CHARGE = 10;
+    /** Poids par défaut d'une compétence en trop. */
+    public static final int POIDS_SURQUALIFICATION = 5;
+
+    private static final double RAYON_TERRE_KM = 6371.0;
+
+    private final Function<String, Site> siteLookup;
+    private final IntFunction<DPS> dpsLookup;
+    private final int poidsDistance;
+    private final int poidsCharge;
+    private final int poidsSurqualification;
+
+    /**
+     * Constructeur avec les poids par défaut.
+     * @param siteLookup retourne le site d'un code, ou {@code null}
+     * @param dpsLookup  retourne le DPS d'un identifiant, ou {@code null}
+     */
+    public PonderationAffectation(Function<String, Site> siteLookup, IntFunction<DPS> dpsLookup) {
+        this(siteLookup, dpsLookup, POIDS_DISTANCE, POIDS_CHARGE, POIDS_SURQUALIFICATION);
+    }
+
+    /**
+     * Constructeur de la classe.
+     * @param siteLookup            retourne le site d'un code, ou {@code null}
+     * @param dpsLookup             retourne le DPS d'un identifiant, ou {@code null}
+     * @param poidsDistance         coût d'un kilomètre
+     * @param poidsCharge           coût d'une affectation existante
+     * @param poidsSurqualification coût d'une compétence en trop
+     * @throws IllegalArgumentException si un poids est négatif
+     */
+    public PonderationAffectation(Function<String, Site> siteLookup, IntFunction<DPS> dpsLookup,
+                                  int poidsDistance, int poidsCharge, int poidsSurqualification) {
+        if (poidsDistance < 0 || poidsCharge < 0 || poidsSurqualification < 0) {
+            throw new IllegalArgumentException("Les poids doivent être positifs ou nuls.");
+        }
+        this.siteLookup = siteLookup;
+        this.dpsLookup = dpsLookup;
+        this.poidsDistance = poidsDistance;
+        this.poidsCharge = poidsCharge;
+        this.poidsSurqualification = poidsSurqualification;
+    }
+
+    /**
+     * Calcule le coût de chaque arête du graphe.
+     * @param sauveteurs les sauveteurs (lignes du graphe)
+     * @param graphe     le graphe de compatibilité
+     * @param colonnes   les infos de chaque colonne du graphe
+     * @return les coûts, dans l'ordre de {@link MatriceCreuse#getVoisins()}
+     */
+    public int[] calculerCouts(List<Rescuer> sauveteurs, MatriceCreuse graphe,
+                               List<BesoinsAdapter.DPSColonneInfo> colonnes) {
+        int[] debuts = graphe.getDebuts();
+        int[] voisins = graphe.getVoisins();
+        int[] couts = new int[voisins.length];
+
+        Map<Integer, Site> siteParDPS = new HashMap<>();
+        Map<Integer, Set<String>> competencesAcceptees = new HashMap<>();
+
+        for (int i = 0; i < sauveteurs.size(); i++) {
+            Rescuer sauveteur = sauveteurs.get(i);
+            List<Integer> affectations = sauveteur.getAssignments();
+            List<String> competences = sauveteur.getSkills();
+
+            List<Site> sitesAffectes = new ArrayList<>();
+            for (int idDPS : affectations) {
+                Site site = siteParDPS.computeIfAbsent(idDPS, this::trouverSite);
+                if (site != null) {
+                    sitesAffectes.add(site);
+                }
+            }
+            int coutCharge = poidsCharge * affectations.size();
+
+            for (int k = debuts[i]; k < debuts[i + 1]; k++) {
+                BesoinsAdapter.DPSColonneInfo colonne = colonnes.get(voisins[k]);
+                Site site = siteParDPS.computeIfAbsent(colonne.idDPS(), this::trouverSite);
+                Set<String> acceptees = competencesAcceptees.computeIfAbsent(colonne.idCompetence(),
+                        PonderationAffectation::competencesCouvertes);
+
+                int surqualification = 0;
+                for (String competence : competences) {
+                    if (!acceptees.contains(competence)) {
+                        surqualification++;
+                    }
+                }
+                long cout = Math.round(poidsDistance * distanceMinimale(site, sitesAffectes))
+                        + coutCharge + (long) poidsSurqualification * surqualification;
+                couts[k] = (int) Math.min(cout, Integer.MAX_VALUE / 4);
+            }
+        }
+        return couts;
+    }
+
+    /**
+     * @return le site du DPS, ou {@code null} s'il est inconnu
+     */
+    private Site trouverSite(int idDPS) {
+        DPS dps = dpsLookup.apply(idDPS);
+        return dps == null ? null : siteLookup.apply(dps.getIdSite());
+    }
+
+    /**
+     * @return la distance du site au plus proche des sites donnés, 0 si l'un des deux est inconnu
+     */
+    private static double distanceMinimale(Site site, List<Site> sites) {
+        if (site == null || sites.isEmpty()) {
+            return 0;
+        }
+        double min = Double.MAX_VALUE;
+        for (Site autre : sites) {
+            min = Math.min(min, distanceKm(site, autre));
+        }
+        return min;
+    }
+
+    /**
+     * Distance orthodromique entre deux sites (formule de haversine).
+     * @return la distance en kilomètres
+     */
+    private static double distanceKm(Site a, Site b) {
+        double lat1 = Math.toRadians(a.getLatitude());
+        double lat2 = Math.toRadians(b.getLatitude());
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(b.getLongitude() - a.getLongitude());
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAYON_TERRE_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    /**
+     * Retourne les compétences qui ne comptent pas comme une surqualification pour un besoin :
+     * la compétence demandée et toutes celles qu'elle implique.
+     * @param idCompetence l'identifiant de la compétence demandée
+     * @return les noms de ces compétences, ainsi que l'identifiant sous forme de texte
+     */
+    private static Set<String> competencesCouvertes(int idCompetence) {
+        Set<String> noms = new HashSet<>();
+        try {
+            Skill skill = Skill.fromId(idCompetence);
+            noms.add(skill.name());
+            for (Skill dependance : CompetenceDependancies.getHierarchie().getOrDefault(skill, List.of())) {
+                noms.add(dependance.name());
+            }
+        } catch (IllegalArgumentException e) {
+            // compétence inconnue : aucune compétence n'est couverte
+        }
+        // le prédicat de compatibilité compare aussi les identifiants sous forme de texte
+        noms.add(String.valueOf(idCompetence));
+        return noms;
+    }
+}
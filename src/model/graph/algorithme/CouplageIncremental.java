@@ -0,0 +1,482 @@
+package model.graph.algorithme;
+
+import java.util.Arrays;
+
+/**
+ * Couplage biparti sauveteurs x colonnes maintenu en mémoire et réparé après chaque modification.
+ *
+ * <p>Au lieu de tout recalculer lorsqu'un sauveteur ou un besoin change, la classe ne lance qu'une
+ * recherche de chemin augmentant depuis les sommets touchés :</p>
+ * <ul>
+ *     <li>ajout d'une ligne ou d'une colonne : recherche depuis le nouveau sommet ;</li>
+ *     <li>suppression d'une ligne (resp. colonne) couplée : recherche depuis la colonne (resp. ligne) libérée ;</li>
+ *     <li>changement des voisins d'une ligne : seules les arêtes qui changent sont retirées ou ajoutées,
+ *     et la ligne garde sa colonne si elle reste voisine.</li>
+ * </ul>
+ * <p>Chacune de ces modifications change la taille du couplage maximum d'au plus 1, et tout nouveau
+ * chemin augmentant passe par le sommet touché : si le couplage était maximum, il le reste.</p>
+ *
+ * <p>Les identifiants de lignes et de colonnes sont attribués à l'ajout et ne sont jamais réutilisés.
+ * Les parcours marquent les sommets visités avec un numéro de génération, pour ne pas réinitialiser
+ * de tableaux : le coût d'une réparation ne dépend que de la partie du graphe explorée.</p>
+ */
+public class CouplageIncremental {
+    /** Valeur d'un sommet non couplé. */
+    public static final int LIBRE = -1;
+    private static final int[] AUCUN_VOISIN = new int[0];
+
+    private int nbLignes;
+    private int nbColonnes;
+    private boolean[] ligneActive = new boolean[0];
+    private boolean[] colonneActive = new boolean[0];
+
+    // Listes d'adjacence dans les deux sens, non triées
+    private int[][] voisinsLigne = new int[0][];
+    private int[] degreLigne = new int[0];
+    private int[][] voisinsColonne = new int[0][];
+    private int[] degreColonne = new int[0];
+
+    private int[] coupleX = new int[0]; // colonne couplée à chaque ligne, ou LIBRE
+    private int[] coupleY = new int[0]; // ligne couplée à chaque colonne, ou LIBRE
+    private int taille;
+
+    private int[] marqueLigne = new int[0];
+    private int[] marqueColonne = new int[0];
+    private int generation;
+    private int[] curseurLigne = new int[0];
+    private int[] curseurColonne = new int[0];
+    private int[] pile = new int[0];
+
+    // Lignes dont la colonne couplée a changé depuis le dernier appel à extraireModifications()
+    private int[] modifiees = new int[16];
+    private int nbModifiees;
+    private boolean[] estModifiee = new boolean[0];
+
+    /**
+     * Ajoute une ligne sans voisin.
+     * @return l'identifiant de la ligne
+     */
+    public int ajouterLigne() {
+        int ligne = nbLignes++;
+        if (ligne == coupleX.length) {
+            int capacite = Math.max(16, 2 * ligne);
+            ligneActive = Arrays.copyOf(ligneActive, capacite);
+            voisinsLigne = Arrays.copyOf(voisinsLigne, capacite);
+            degreLigne = Arrays.copyOf(degreLigne, capacite);
+            coupleX = Arrays.copyOf(coupleX, capacite);
+            marqueLigne = Arrays.copyOf(marqueLigne, capacite);
+            curseurLigne = Arrays.copyOf(curseurLigne, capacite);
+            estModifiee = Arrays.copyOf(estModifiee, capacite);
+        }
+        ligneActive[ligne] = true;
+        voisinsLigne[ligne] = AUCUN_VOISIN;
+        coupleX[ligne] = LIBRE;
+        marqueLigne[ligne] = generation;
+        agrandirPile();
+        return ligne;
+    }
+
+    /**
+     * Ajoute une colonne sans voisin.
+     * @return l'identifiant de la colonne
+     */
+    public int ajouterColonne() {
+        int colonne = nbColonnes++;
+        if (colonne == coupleY.length) {
+            int capacite = Math.max(16, 2 * colonne);
+            colonneActive = Arrays.copyOf(colonneActive, capacite);
+            voisinsColonne = Arrays.copyOf(voisinsColonne, capacite);
+            degreColonne = Arrays.copyOf(degreColonne, capacite);
+            coupleY = Arrays.copyOf(coupleY, capacite);
+            marqueColonne = Arrays.copyOf(marqueColonne, capacite);
+            curseurColonne = Arrays.copyOf(curseurColonne, capacite);
+        }
+        colonneActive[colonne] = true;
+        voisinsColonne[colonne] = AUCUN_VOISIN;
+        coupleY[colonne] = LIBRE;
+        marqueColonne[colonne] = generation;
+        agrandirPile();
+        return colonne;
+    }
+
+    /**
+     * Ajoute une arête sans réparer le couplage (construction initiale).
+     * @param ligne   une ligne active
+     * @param colonne une colonne active
+     */
+    public void relier(int ligne, int colonne) {
+        verifierLigne(ligne);
+        verifierColonne(colonne);
+        voisinsLigne[ligne] = ajouter(voisinsLigne[ligne], degreLigne[ligne]++, colonne);
+        voisinsColonne[colonne] = ajouter(voisinsColonne[colonne], degreColonne[colonne]++, ligne);
+    }
+
+    /**
+     * Couple directement une ligne et une colonne libres et reliées (reprise d'une affectation existante).
+     * @param ligne   une ligne libre
+     * @param colonne une colonne libre reliée à la ligne
+     * @throws IllegalArgumentException si l'un des sommets est déjà couplé ou s'ils ne sont pas reliés
+     */
+    public void coupler(int ligne, int colonne) {
+        verifierLigne(ligne);
+        verifierColonne(colonne);
+        if (coupleX[ligne] != LIBRE || coupleY[colonne] != LIBRE) {
+            throw new IllegalArgumentException("La ligne et la colonne doivent être libres.");
+        }
+        if (indexDe(voisinsLigne[ligne], degreLigne[ligne], colonne) < 0) {
+            throw new IllegalArgumentException("La ligne et la colonne ne sont pas reliées.");
+        }
+        lier(ligne, colonne);
+        taille++;
+    }
+
+    /**
+     * Ajoute une ligne reliée aux colonnes données et répare le couplage.
+     * @param colonnes les colonnes actives compatibles
+     * @return l'identifiant de la ligne
+     */
+    public int insererLigne(int[] colonnes) {
+        int ligne = ajouterLigne();
+        for (int colonne : colonnes) {
+            relier(ligne, colonne);
+        }
+        augmenterDepuisLigne(ligne);
+        return ligne;
+    }
+
+    /**
+     * Ajoute une colonne reliée aux lignes données et répare le couplage.
+     * @param lignes les lignes actives compatibles
+     * @return l'identifiant de la colonne
+     */
+    public int insererColonne(int[] lignes) {
+        int colonne = ajouterColonne();
+        for (int ligne : lignes) {
+            relier(ligne, colonne);
+        }
+        augmenterDepuisColonne(colonne);
+        return colonne;
+    }
+
+    /**
+     * Supprime une ligne et répare le couplage depuis la colonne qu'elle libère.
+     * @param ligne une ligne active
+     */
+    public void supprimerLigne(int ligne) {
+        int colonne = isolerLigne(ligne);
+        ligneActive[ligne] = false;
+        if (colonne != LIBRE) {
+            augmenterDepuisColonne(colonne);
+        }
+    }
+
+    /**
+     * Supprime une colonne et répare le couplage depuis la ligne qu'elle libère.
+     * @param colonne une colonne active
+     */
+    public void supprimerColonne(int colonne) {
+        verifierColonne(colonne);
+        int ligne = coupleY[colonne];
+        if (ligne != LIBRE) {
+            delier(ligne, colonne);
+        }
+        for (int k = 0; k < degreColonne[colonne]; k++) {
+            int voisin = voisinsColonne[colonne][k];
+            degreLigne[voisin] = retirer(voisinsLigne[voisin], degreLigne[voisin], colonne);
+        }
+        voisinsColonne[colonne] = AUCUN_VOISIN;
+        degreColonne[colonne] = 0;
+        colonneActive[colonne] = false;
+        if (ligne != LIBRE) {
+            augmenterDepuisLigne(ligne);
+        }
+    }
+
+    /**
+     * Remplace les voisins d'une ligne et répare le couplage. Seules les arêtes qui changent sont
+     * retirées ou ajoutées : la ligne garde sa colonne tant que celle-ci reste parmi ses voisins,
+     * et un ensemble de voisins inchangé ne modifie pas le couplage.
+     * @param ligne    une ligne active
+     * @param colonnes les nouvelles colonnes compatibles
+     */
+    public void remplacerVoisinsLigne(int ligne, int[] colonnes) {
+        verifierLigne(ligne);
+        int marque = ++generation; // marque les nouveaux voisins
+        for (int c : colonnes) {
+            verifierColonne(c);
+            marqueColonne[c] = marque;
+        }
+
+        // Retrait des arêtes perdues ; les voisins conservés sont démarqués
+        int couplee = coupleX[ligne];
+        boolean perdue = false;
+        for (int k = degreLigne[ligne] - 1; k >= 0; k--) {
+            int c = voisinsLigne[ligne][k];
+            if (marqueColonne[c] == marque) {
+                marqueColonne[c] = marque - 1;
+                continue;
+            }
+            if (c == couplee) {
+                delier(ligne, c);
+                perdue = true;
+            }
+            voisinsLigne[ligne][k] = voisinsLigne[ligne][--degreLigne[ligne]];
+            degreColonne[c] = retirer(voisinsColonne[c], degreColonne[c], ligne);
+        }
+
+        // Ajout des arêtes nouvelles, en notant celles qui mènent à une colonne libre
+        int[] ajoutees = new int[colonnes.length];
+        int nbAjoutees = 0;
+        for (int c : colonnes) {
+            if (marqueColonne[c] == marque) {
+                marqueColonne[c] = marque - 1;
+                relier(ligne, c);
+                if (coupleY[c] == LIBRE) {
+                    ajoutees[nbAjoutees++] = c;
+                }
+            }
+        }
+
+        // Tout nouveau chemin augmentant passe par la colonne libérée, la ligne ou une arête ajoutée
+        if (perdue) {
+            augmenterDepuisColonne(couplee);
+        }
+        augmenterDepuisLigne(ligne);
+        for (int k = 0; k < nbAjoutees; k++) {
+            if (coupleY[ajoutees[k]] == LIBRE) {
+                augmenterDepuisColonne(ajoutees[k]);
+            }
+        }
+    }
+
+    /**
+     * Cherche un chemin augmentant depuis une ligne libre et inverse le couplage le long de celui-ci.
+     * @param racine une ligne active
+     * @return true si le couplage a été augmenté
+     */
+    public boolean augmenterDepuisLigne(int racine) {
+        verifierLigne(racine);
+        if (coupleX[racine] != LIBRE) {
+            return false;
+        }
+        generation++;
+        int sommet = 0;
+        pile[0] = racine;
+        curseurLigne[racine] = 0;
+        marqueLigne[racine] = generation;
+        while (sommet >= 0) {
+            int x = pile[sommet];
+            boolean descendu = false;
+            for (; curseurLigne[x] < degreLigne[x]; curseurLigne[x]++) {
+                int y = voisinsLigne[x][curseurLigne[x]];
+                if (marqueColonne[y] == generation) {
+                    continue;
+                }
+                marqueColonne[y] = generation;
+                int suivant = coupleY[y];
+                if (suivant == LIBRE) {
+                    // chaque ligne de la pile prend la colonne pointée par son curseur
+                    for (int p = sommet; p >= 0; p--) {
+                        int xp = pile[p];
+                        lier(xp, voisinsLigne[xp][curseurLigne[xp]]);
+                    }
+                    taille++;
+                    return true;
+                }
+                marqueLigne[suivant] = generation;
+                curseurLigne[suivant] = 0;
+                pile[++sommet] = suivant;
+                descendu = true;
+                break;
+            }
+            if (!descendu) {
+                sommet--;
+                if (sommet >= 0) {
+                    curseurLigne[pile[sommet]]++;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cherche un chemin augmentant depuis une colonne libre et inverse le couplage le long de celui-ci.
+     * @param racine une colonne active
+     * @return true si le couplage a été augmenté
+     */
+    public boolean augmenterDepuisColonne(int racine) {
+        verifierColonne(racine);
+        if (coupleY[racine] != LIBRE) {
+            return false;
+        }
+        generation++;
+        int sommet = 0;
+        pile[0] = racine;
+        curseurColonne[racine] = 0;
+        marqueColonne[racine] = generation;
+        while (sommet >= 0) {
+            int y = pile[sommet];
+            boolean descendu = false;
+            for (; curseurColonne[y] < degreColonne[y]; curseurColonne[y]++) {
+                int x = voisinsColonne[y][curseurColonne[y]];
+                if (marqueLigne[x] == generation) {
+                    continue;
+                }
+                marqueLigne[x] = generation;
+                int suivant = coupleX[x];
+                if (suivant == LIBRE) {
+                    // chaque colonne de la pile prend la ligne pointée par son curseur
+                    for (int p = sommet; p >= 0; p--) {
+                        int yp = pile[p];
+                        lier(voisinsColonne[yp][curseurColonne[yp]], yp);
+                    }
+                    taille++;
+                    return true;
+                }
+                marqueColonne[suivant] = generation;
+                curseurColonne[suivant] = 0;
+                pile[++sommet] = suivant;
+                descendu = true;
+                break;
+            }
+            if (!descendu) {
+                sommet--;
+                if (sommet >= 0) {
+                    curseurColonne[pile[sommet]]++;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param ligne une ligne
+     * @return la colonne couplée à la ligne, ou {@link #LIBRE}
+     */
+    public int getColonne(int ligne) {
+        return coupleX[ligne];
+    }
+
+    /**
+     * @param colonne une colonne
+     * @return la ligne couplée à la colonne, ou {@link #LIBRE}
+     */
+    public int getLigne(int colonne) {
+        return coupleY[colonne];
+    }
+
+    /**
+     * @return le nombre de couples
+     */
+    public int getTaille() {
+        return taille;
+    }
+
+    /**
+     * Retourne les lignes dont la colonne couplée a changé depuis le dernier appel, puis vide la liste.
+     * @return les identifiants des lignes modifiées
+     */
+    public int[] extraireModifications() {
+        int[] res = Arrays.copyOf(modifiees, nbModifiees);
+        for (int ligne : res) {
+            estModifiee[ligne] = false;
+        }
+        nbModifiees = 0;
+        return res;
+    }
+
+    /**
+     * Retire toutes les arêtes d'une ligne et la découple.
+     * @return la colonne qui était couplée à la ligne, ou LIBRE
+     */
+    private int isolerLigne(int ligne) {
+        verifierLigne(ligne);
+        int colonne = coupleX[ligne];
+        if (colonne != LIBRE) {
+            delier(ligne, colonne);
+        }
+        for (int k = 0; k < degreLigne[ligne]; k++) {
+            int voisin = voisinsLigne[ligne][k];
+            degreColonne[voisin] = retirer(voisinsColonne[voisin], degreColonne[voisin], ligne);
+        }
+        voisinsLigne[ligne] = AUCUN_VOISIN;
+        degreLigne[ligne] = 0;
+        return colonne;
+    }
+
+    private void lier(int ligne, int colonne) {
+        coupleX[ligne] = colonne;
+        coupleY[colonne] = ligne;
+        noterModification(ligne);
+    }
+
+    private void delier(int ligne, int colonne) {
+        coupleX[ligne] = LIBRE;
+        coupleY[colonne] = LIBRE;
+        taille--;
+        noterModification(ligne);
+    }
+
+    private void noterModification(int ligne) {
+        if (!estModifiee[ligne]) {
+            estModifiee[ligne] = true;
+            if (nbModifiees == modifiees.length) {
+                modifiees = Arrays.copyOf(modifiees, 2 * nbModifiees);
+            }
+            modifiees[nbModifiees++] = ligne;
+        }
+    }
+
+    private void agrandirPile() {
+        int besoin = Math.max(nbLignes, nbColonnes);
+        if (pile.length < besoin) {
+            pile = Arrays.copyOf(pile, Math.max(16, 2 * besoin));
+        }
+    }
+
+    private void verifierLigne(int ligne) {
+        if (ligne < 0 || ligne >= nbLignes || !ligneActive[ligne]) {
+            throw new IllegalArgumentException("Ligne invalide : " + ligne);
+        }
+    }
+
+    private void verifierColonne(int colonne) {
+        if (colonne < 0 || colonne >= nbColonnes || !colonneActive[colonne]) {
+            throw new IllegalArgumentException("Colonne invalide : " + colonne);
+        }
+    }
+
+    /**
+     * Ajoute une valeur en fin de liste, en agrandissant le tableau si besoin.
+     * @return le tableau, éventuellement réalloué
+     */
+    private static int[] ajouter(int[] liste, int taille, int valeur) {
+        if (taille == liste.length) {
+            liste = Arrays.copyOf(liste, Math.max(4, 2 * taille));
+        }
+        liste[taille] = valeur;
+        return liste;
+    }
+
+    /**
+     * Retire une valeur d'une liste non triée en la remplaçant par le dernier élément.
+     * @return la nouvelle taille de la liste
+     */
+    private static int retirer(int[] liste, int taille, int valeur) {
+        int k = indexDe(liste, taille, valeur);
+        if (k < 0) {
+            return taille;
+        }
+        liste[k] = liste[taille - 1];
+        return taille - 1;
+    }
+
+    private static int indexDe(int[] liste, int taille, int valeur) {
+        for (int k = 0; k < taille; k++) {
+            if (liste[k] == valeur) {
+                return k;
+            }
+        }
+        return -1;
+    }
+}
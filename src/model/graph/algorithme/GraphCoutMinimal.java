@@ -0,0 +1,378 @@
+package model.graph.algorithme;
+
+import model.graph.adaptation.MatriceCreuse;
+
+import java.util.Arrays;
+
+/**
+ * Classe permettant d'effectuer une assignation pondérée entre des sauveteurs et des diplômes.
+ *
+ * <p>Comme {@link GraphHopcroftKarp}, elle calcule un couplage de taille maximale, mais parmi tous
+ * les couplages de cette taille elle retourne celui dont la somme des coûts est minimale.
+ * L'algorithme est celui des plus courts chemins successifs (méthode primale-duale, équivalente à
+ * la méthode hongroise) : un Dijkstra sur les coûts réduits par des potentiels, avec un tas binaire
+ * indexé sur des tableaux primitifs et arrêté dès que le puits est atteint, met à jour les potentiels ;
+ * puis tous les chemins augmentants disjoints de coût réduit nul sont inversés en une seule phase,
+ * comme dans {@link GraphHopcroftKarp}.</p>
+ *
+ * <p>Les coûts sont donnés par arête du graphe creux et doivent être positifs ou nuls.</p>
+ */
+public class GraphCoutMinimal {
+    private static final long INFINI = Long.MAX_VALUE;
+    private static final int LIBRE = -1;
+
+    private final int lenX; // nombre de sauveteurs
+    private final int lenY; // nombre de diplômes
+    private final int puits;
+
+    private final int[] debuts;
+    private final int[] voisins;
+    private final int[] couts; // couts[k] = coût de l'arête voisins[k]
+
+    // Sommets : sauveteurs 0 .. lenX - 1, diplômes lenX .. lenX + lenY - 1, puits
+    private int[] coupleX;     // diplôme attribué au sauveteur i, ou LIBRE
+    private int[] coupleY;     // sauveteur ayant reçu le diplôme j, ou LIBRE
+    private int[] coutCouple;  // coût de l'arête du couple du diplôme j
+    private long[] potentiel;
+    private long[] distance;
+    private boolean[] visite; // diplômes déjà visités pendant la phase d'augmentation
+    private int[] curseur;    // prochaine arête à examiner pour chaque sauveteur
+    private int[] pile;       // sauveteurs du chemin en cours de construction
+    private TasBinaire tas;
+    private long coutTotal;
+
+    /**
+     * Constructeur de la classe.
+     * @param graphe Graphe de compatibilité creux (sauveteurs x diplômes).
+     * @param couts  Coût de chaque arête, dans l'ordre de {@link MatriceCreuse#getVoisins()}.
+     * @throws IllegalArgumentException si le nombre de coûts ne correspond pas au nombre d'arêtes
+     *                                  ou si un coût est négatif
+     */
+    public GraphCoutMinimal(MatriceCreuse graphe, int[] couts) {
+        if (couts.length != graphe.getNbAretes()) {
+            throw new IllegalArgumentException("Un coût est attendu par arête.");
+        }
+        for (int cout : couts) {
+            if (cout < 0) {
+                throw new IllegalArgumentException("Les coûts doivent être positifs ou nuls.");
+            }
+        }
+        this.lenX = graphe.getNbLignes();
+        this.lenY = graphe.getNbColonnes();
+        this.puits = lenX + lenY;
+        this.debuts = graphe.getDebuts();
+        this.voisins = graphe.getVoisins();
+        this.couts = couts;
+    }
+
+    /**
+     * Calcule un couplage maximum de coût minimal et retourne l'assignation correspondante.
+     * @return Une matrice d'affectation : res[i][j] == 1 signifie que le sauveteur i reçoit le diplôme j.
+     */
+    public int[][] assign() {
+        if (lenX == 0 || lenY == 0) {
+            return new int[0][0];
+        }
+        coupler();
+
+        int[][] res = new int[lenX][lenY];
+        for (int i = 0; i < lenX; i++) {
+            if (coupleX[i] != LIBRE) {
+                res[i][coupleX[i]] = 1;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Calcule le nombre d'affectations du couplage.
+     * @return la taille du couplage maximum
+     */
+    public int calculerMaximum() {
+        if (lenX == 0 || lenY == 0) {
+            return 0;
+        }
+        int taille = 0;
+        for (int j : coupler()) {
+            if (j != LIBRE) {
+                taille++;
+            }
+        }
+        return taille;
+    }
+
+    /**
+     * Calcule le coût du couplage maximum de coût minimal.
+     * @return la somme des coûts des arêtes retenues
+     */
+    public long calculerCout() {
+        if (lenX == 0 || lenY == 0) {
+            return 0;
+        }
+        coupler();
+        return coutTotal;
+    }
+
+    /**
+     * Alterne des phases de Dijkstra, qui mettent à jour les potentiels, et des phases
+     * d'augmentation le long des chemins de coût réduit nul, tant qu'un chemin augmentant existe.
+     * @return le tableau coupleX
+     */
+    private int[] coupler() {
+        int nbSommets = lenX + lenY + 1;
+        coupleX = new int[lenX];
+        coupleY = new int[lenY];
+        coutCouple = new int[lenY];
+        Arrays.fill(coupleX, LIBRE);
+        Arrays.fill(coupleY, LIBRE);
+        potentiel = new long[nbSommets]; // coûts positifs : des potentiels nuls sont valides
+        distance = new long[nbSommets];
+        visite = new boolean[lenY];
+        curseur = new int[lenX];
+        pile = new int[lenX];
+        tas = new TasBinaire(nbSommets, distance);
+        coutTotal = 0;
+
+        while (calculerPotentiels()) {
+            augmenterChemins();
+        }
+        return coupleX;
+    }
+
+    /**
+     * Dijkstra sur les coûts réduits depuis tous les sauveteurs libres, jusqu'au puits.
+     * Les potentiels sont ensuite augmentés des distances (plafonnées à celle du puits) :
+     * les coûts réduits restent positifs et ceux des plus courts chemins deviennent nuls.
+     * @return true si un chemin augmentant existe
+     */
+    private boolean calculerPotentiels() {
+        Arrays.fill(distance, INFINI);
+        tas.vider();
+        for (int i = 0; i < lenX; i++) {
+            if (coupleX[i] == LIBRE) {
+                distance[i] = 0;
+                tas.inserer(i);
+            }
+        }
+
+        while (!tas.estVide()) {
+            int u = tas.extraireMin();
+            if (u == puits) {
+                break;
+            }
+            long du = distance[u];
+            if (u < lenX) {
+                for (int k = debuts[u]; k < debuts[u + 1]; k++) {
+                    int j = voisins[k];
+                    if (coupleX[u] == j) {
+                        continue; // arête du couplage : elle ne se parcourt qu'en sens inverse
+                    }
+                    relacher(lenX + j, du + coutReduit(u, k));
+                }
+            } else {
+                int j = u - lenX;
+                if (coupleY[j] == LIBRE) {
+                    relacher(puits, du + potentiel[u] - potentiel[puits]);
+                } else {
+                    relacher(coupleY[j], du - coutCouple[j] + potentiel[u] - potentiel[coupleY[j]]);
+                }
+            }
+        }
+
+        long distancePuits = distance[puits];
+        if (distancePuits == INFINI) {
+            return false;
+        }
+        for (int v = 0; v < potentiel.length; v++) {
+            potentiel[v] += Math.min(distance[v], distancePuits);
+        }
+        return true;
+    }
+
+    /**
+     * Diminue la distance d'un sommet si la nouvelle valeur est meilleure.
+     */
+    private void relacher(int v, long d) {
+        if (d < distance[v]) {
+            distance[v] = d;
+            tas.ajuster(v);
+        }
+    }
+
+    /**
+     * @return le coût réduit de l'arête k, du sauveteur i vers son diplôme
+     */
+    private long coutReduit(int i, int k) {
+        return couts[k] + potentiel[i] - potentiel[lenX + voisins[k]];
+    }
+
+    /**
+     * Augmente le couplage le long d'un ensemble maximal de chemins disjoints dont toutes les
+     * arêtes ont un coût réduit nul : ce sont tous des plus courts chemins, et les arêtes inversées
+     * gardent un coût réduit nul, donc les potentiels restent valides.
+     */
+    private void augmenterChemins() {
+        Arrays.fill(visite, false);
+        System.arraycopy(debuts, 0, curseur, 0, lenX);
+        for (int i = 0; i < lenX; i++) {
+            if (coupleX[i] == LIBRE) {
+                augmenterDepuis(i);
+            }
+        }
+    }
+
+    /**
+     * Parcours en profondeur itératif depuis un sauveteur libre, limité aux arêtes de coût réduit nul.
+     * Les diplômes visités ne sont pas réexaminés pendant la phase.
+     * @param racine le sauveteur libre de départ
+     */
+    private void augmenterDepuis(int racine) {
+        int hauteur = 0;
+        pile[hauteur++] = racine;
+        while (hauteur > 0) {
+            int u = pile[hauteur - 1];
+            boolean avance = false;
+            for (; curseur[u] < debuts[u + 1]; curseur[u]++) {
+                int k = curseur[u];
+                int j = voisins[k];
+                if (visite[j] || coupleX[u] == j || coutReduit(u, k) != 0) {
+                    continue;
+                }
+                visite[j] = true;
+                if (coupleY[j] == LIBRE) {
+                    if (potentiel[lenX + j] == potentiel[puits]) {
+                        inverser(hauteur);
+                        return;
+                    }
+                    continue;
+                }
+                pile[hauteur++] = coupleY[j];
+                avance = true;
+                break;
+            }
+            if (!avance) {
+                hauteur--;
+                if (hauteur > 0) {
+                    curseur[pile[hauteur - 1]]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Inverse le chemin de la pile : chaque sauveteur prend le diplôme de l'arête sous son curseur,
+     * et libère son ancien diplôme pour le sauveteur précédent.
+     * @param hauteur le nombre de sauveteurs dans la pile
+     */
+    private void inverser(int hauteur) {
+        for (int p = hauteur - 1; p >= 0; p--) {
+            int i = pile[p];
+            int k = curseur[i];
+            int j = voisins[k];
+            if (coupleX[i] != LIBRE) {
+                coutTotal -= coutCouple[coupleX[i]];
+            }
+            coupleX[i] = j;
+            coupleY[j] = i;
+            coutCouple[j] = couts[k];
+            coutTotal += couts[k];
+        }
+    }
+
+    /**
+     * Tas binaire minimum indexé par sommet, ordonné par les distances courantes,
+     * avec diminution de clé en O(log n).
+     */
+    private static final class TasBinaire {
+        private final int[] sommets;
+        private final int[] position; // position du sommet dans le tas, ou -1
+        private final long[] cles;
+        private int taille;
+
+        /**
+         * @param capacite le nombre de sommets
+         * @param cles     les distances, lues à chaque comparaison
+         */
+        TasBinaire(int capacite, long[] cles) {
+            this.sommets = new int[capacite];
+            this.position = new int[capacite];
+            this.cles = cles;
+            Arrays.fill(position, -1);
+        }
+
+        boolean estVide() {
+            return taille == 0;
+        }
+
+        void vider() {
+            for (int p = 0; p < taille; p++) {
+                position[sommets[p]] = -1;
+            }
+            taille = 0;
+        }
+
+        void inserer(int v) {
+            sommets[taille] = v;
+            position[v] = taille;
+            monter(taille++);
+        }
+
+        /**
+         * Insère le sommet ou le fait remonter après une diminution de sa clé.
+         */
+        void ajuster(int v) {
+            if (position[v] == -1) {
+                inserer(v);
+            } else {
+                monter(position[v]);
+            }
+        }
+
+        int extraireMin() {
+            int min = sommets[0];
+            position[min] = -1;
+            if (--taille > 0) {
+                sommets[0] = sommets[taille];
+                position[sommets[0]] = 0;
+                descendre(0);
+            }
+            return min;
+        }
+
+        private void monter(int p) {
+            int v = sommets[p];
+            while (p > 0) {
+                int parent = (p - 1) >>> 1;
+                if (cles[sommets[parent]] <= cles[v]) {
+                    break;
+                }
+                sommets[p] = sommets[parent];
+                position[sommets[p]] = p;
+                p = parent;
+            }
+            sommets[p] = v;
+            position[v] = p;
+        }
+
+        private void descendre(int p) {
+            int v = sommets[p];
+            while (true) {
+                int enfant = 2 * p + 1;
+                if (enfant >= taille) {
+                    break;
+                }
+                if (enfant + 1 < taille && cles[sommets[enfant + 1]] < cles[sommets[enfant]]) {
+                    enfant++;
+                }
+                if (cles[v] <= cles[sommets[enfant]]) {
+                    break;
+                }
+                sommets[p] = sommets[enfant];
+                position[sommets[p]] = p;
+                p = enfant;
+            }
+            sommets[p] = v;
+            position[v] = p;
+        }
+    }
+}
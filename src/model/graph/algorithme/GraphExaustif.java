@@ -1,17 +1,97 @@
 package model.graph.algorithme;
 
+import model.graph.adaptation.MatriceCreuse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Classe permettant d'effectuer une assignation exhaustive entre des sauveteurs et des diplômes.
  * Elle explore toutes les combinaisons possibles d'appariement pour trouver une solution optimale,
  * c'est-à-dire celle qui maximise le nombre d'affectations valides (sans conflits).
+ * Le graphe de compatibilité est parcouru sous forme creuse ({@link MatriceCreuse}) :
+ * seuls les diplômes compatibles d'un sauveteur sont essayés.
+ * La recherche peut être suivie et interrompue au moyen d'un {@link SuiviRecherche}.
+ *
+ * <p>En stratégie {@link Strategie#SEPARATION_EVALUATION}, la recherche part de la solution de
+ * {@link GraphGloutton} et abandonne toute branche qui ne peut plus la dépasser. C'est aussi un
+ * algorithme « anytime » : avec un budget de temps ({@link #setBudget(long)}), il retourne la
+ * meilleure solution trouvée quand le budget est épuisé.</p>
+ *
+ * <p>Avec un {@link ForkJoinPool} ({@link #setPool(ForkJoinPool)}), les premiers niveaux de l'arbre
+ * sont découpés en tâches réparties sur les cœurs. Le nombre d'affectations de la meilleure
+ * solution est partagé par toutes les tâches : un élagage rendu possible par une solution trouvée
+ * dans un sous-arbre profite aussitôt aux autres.</p>
+ *
+ * <p>La meilleure solution est gardée sous forme compacte, un index de sauveteur par diplôme,
+ * récupérable avec {@link #assignCompact()} ; {@link #assign()} n'en construit la matrice qu'à la fin.</p>
  */
 public class GraphExaustif {
-    private final int[][] matrice;
+
+    /**
+     * Manière de parcourir l'arbre de recherche.
+     */
+    public enum Strategie {
+        /** Énumère toutes les combinaisons, sans élagage. */
+        COMPLETE,
+        /**
+         * Séparation et évaluation : borne initiale donnée par {@link GraphGloutton}, élagage par
+         * une borne supérieure (couplage maximum du graphe restant) et mémorisation des états
+         * déjà explorés.
+         */
+        SEPARATION_EVALUATION
+    }
+
+    private final MatriceCreuse graphe;
+    private final int[] debuts;  // début des voisins de chaque sauveteur
+    private final int[] voisins; // diplômes compatibles, rangés par sauveteur
     private final int lenX; // nombre de sauveteurs
     private final int lenY; // nombre de diplômes
+    private final Strategie strategie;
+
+    private static final long MASQUE_SUIVI = (1 << 12) - 1; // le suivi est consulté tous les 4096 nœuds
+    // En séparation-évaluation chaque nœud calcule une borne : le suivi est consulté plus souvent
+    private static final long MASQUE_SUIVI_BORNE = (1 << 6) - 1;
+    private static final int MAX_ETATS = 1 << 18; // taille maximale de la mémoire des états explorés
+    private static final int TACHES_PAR_FIL = 16; // tâches visées par fil du pool, pour équilibrer la charge
+    private static final int SURPLUS_DECOUPE = 3; // tâches en attente au-delà desquelles on ne découpe plus
+
+    // Meilleure solution, partagée entre les tâches ; la matrice n'est modifiée que sous verrou
+    private final AtomicInteger maxMatch = new AtomicInteger(); // nombre maximal d'appariements trouvés
+    private int[] meilleureAffectation; // meilleure solution : meilleureAffectation[j] = sauveteur du diplôme j, -1 sinon
+
+    private SuiviRecherche suivi = SuiviRecherche.AUCUN;
+    private ForkJoinPool pool; // null : recherche sur le fil appelant
+    private long budgetNanos = -1; // durée maximale de la recherche, -1 sans limite
+    private long echeance;
+    private final AtomicLong noeuds = new AtomicLong(); // nombre de nœuds de l'arbre visités
+    private volatile boolean interrompue; // vrai si le suivi ou le budget a arrêté la recherche
+
+    private Set<Etat> etatsExplores; // séparation-évaluation : états déjà explorés
+    private int profondeurDecoupe; // niveaux de l'arbre découpés en tâches
+
+    /**
+     * État d'un nœud : sauveteur courant et diplômes déjà occupés. Deux nœuds dans le même état
+     * ont le même nombre d'affectations et le même sous-arbre, le second est donc inutile.
+     */
+    private record Etat(int sauveteur, long[] occupes) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Etat autre && sauveteur == autre.sauveteur && Arrays.equals(occupes, autre.occupes);
+        }
 
-    private int maxMatch; // nombre maximal d'appariements trouvés
-    private int[][] meilleureAffectation; // matrice correspondant à la meilleure solution trouvée
+        @Override
+        public int hashCode() {
+            return 31 * sauveteur + Arrays.hashCode(occupes);
+        }
+    }
 
     /**
      * Constructeur de la classe.
@@ -19,74 +99,421 @@ public class GraphExaustif {
      *                où 1 signifie que le sauveteur peut recevoir ce diplôme.
      */
     public GraphExaustif(int[][] matrice) {
-        this.lenX = matrice.length;
-        if (lenX>0) {
-            this.lenY = matrice[0].length;
-        }else{
-            this.lenY=0;
-        }
-        this.matrice = new int[lenX][lenY];
-        for (int i = 0; i < lenX; i++) {
-            this.matrice[i] = matrice[i].clone();
-        }
-        this.maxMatch = 0;
-        this.meilleureAffectation = new int[lenX][lenY];
+        this(MatriceCreuse.depuisMatrice(matrice));
+    }
+
+    /**
+     * Constructeur à partir du graphe de compatibilité creux.
+     * @param graphe Graphe de compatibilité (sauveteurs x diplômes).
+     */
+    public GraphExaustif(MatriceCreuse graphe) {
+        this(graphe, Strategie.COMPLETE);
+    }
+
+    /**
+     * Constructeur à partir du graphe de compatibilité creux et d'une stratégie de recherche.
+     * @param graphe Graphe de compatibilité (sauveteurs x diplômes).
+     * @param strategie Manière de parcourir l'arbre de recherche.
+     */
+    public GraphExaustif(MatriceCreuse graphe, Strategie strategie) {
+        this.graphe = graphe;
+        this.lenX = graphe.getNbLignes();
+        this.lenY = graphe.getNbColonnes();
+        this.debuts = graphe.getDebuts();
+        this.voisins = graphe.getVoisins();
+        this.strategie = strategie;
+        this.meilleureAffectation = new int[lenY];
+    }
+
+    /**
+     * Définit le suivi de la recherche : progression signalée et arrêt demandé en cours de route.
+     * @param suivi Suivi à utiliser, {@link SuiviRecherche#AUCUN} par défaut.
+     */
+    public void setSuivi(SuiviRecherche suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Limite la durée de la recherche. Une fois le budget épuisé, {@link #assign()} retourne la
+     * meilleure assignation trouvée jusque-là et {@link #estInterrompue()} vaut true.
+     * @param budgetMillis Durée maximale en millisecondes, ou une valeur négative pour ne pas limiter.
+     */
+    public void setBudget(long budgetMillis) {
+        this.budgetNanos = budgetMillis < 0 ? -1 : budgetMillis * 1_000_000;
+    }
+
+    /**
+     * Répartit la recherche sur les fils d'un {@link ForkJoinPool}.
+     * Le suivi doit alors accepter d'être appelé depuis plusieurs fils.
+     * @param pool Pool à utiliser, ou null pour chercher sur le fil appelant (par défaut). Un pool
+     *             d'un seul fil est ignoré.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
     }
 
     /**
      * Lance la recherche exhaustive et retourne la meilleure assignation trouvée.
+     * Si le suivi demande l'arrêt ou si le budget est épuisé, retourne la meilleure assignation
+     * trouvée jusque-là.
+     * La matrice n'est construite qu'à la fin, à partir de la forme compacte ({@link #assignCompact()}).
      * @return Une matrice d'affectation optimale : res[i][j] == 1 signifie que le sauveteur i reçoit le diplôme j.
      */
     public int[][] assign() {
         if (lenX == 0 || lenY == 0) {
             return new int[0][0];
         }
+        int[] vecteur = assignCompact();
+        int[][] res = new int[lenX][lenY];
+        for (int j = 0; j < lenY; j++) {
+            if (vecteur[j] != -1) {
+                res[vecteur[j]][j] = 1;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Lance la recherche exhaustive et retourne la meilleure assignation trouvée sous forme compacte,
+     * sans construire de matrice. Mêmes règles d'arrêt que {@link #assign()}.
+     * @return Tableau de taille égale au nombre de diplômes : res[j] est l'index du sauveteur qui
+     *         reçoit le diplôme j, ou -1 si le diplôme n'est pas attribué.
+     */
+    public int[] assignCompact() {
         int[] affectation = new int[lenY]; // affectation[j] = index du sauveteur affecté au diplôme j
-        for (int i = 0; i < lenY; i++) affectation[i] = -1;
-        backtrack(0, affectation, 0);
-        return meilleureAffectation;
+        Arrays.fill(affectation, -1);
+        meilleureAffectation = affectation.clone();
+        if (lenX == 0 || lenY == 0) {
+            return meilleureAffectation;
+        }
+        long[] occupes = new long[(lenY + 63) >>> 6]; // diplômes occupés, un bit par diplôme
+        noeuds.set(0);
+        interrompue = false;
+        echeance = System.nanoTime() + Math.max(budgetNanos, 0);
+        maxMatch.set(0);
+        if (strategie == Strategie.SEPARATION_EVALUATION) {
+            initialiserSeparation();
+        }
+
+        if (pool == null || pool.getParallelism() <= 1) {
+            Explorateur explorateur = new Explorateur(affectation, occupes);
+            explorateur.explorer(0, 0);
+            explorateur.terminer();
+        } else {
+            profondeurDecoupe = calculerProfondeurDecoupe(pool.getParallelism());
+            pool.invoke(new TacheRecherche(0, affectation, occupes, 0));
+        }
+        etatsExplores = null; // libérer la mémoire des états
+        suivi.progression(noeuds.get(), maxMatch.get());
+        return meilleureAffectation.clone();
+    }
+
+    /**
+     * @return true si la dernière recherche a été arrêtée par le suivi ou par le budget avant la fin :
+     *         l'assignation retournée n'est alors pas forcément optimale.
+     */
+    public boolean estInterrompue() {
+        return interrompue;
+    }
+
+    /**
+     * @return Nombre de nœuds de l'arbre visités par la dernière recherche.
+     */
+    public long getNoeudsExplores() {
+        return noeuds.get();
     }
 
     /**
-     * Méthode récursive de backtracking qui explore toutes les assignations possibles.
-     * @param sauveteur Index du sauveteur en cours de traitement.
-     * @param affectation Tableau des diplômes actuellement attribués.
-     * @param count Nombre d'affectations valides dans la solution courante.
+     * Prend la solution gloutonne comme première meilleure solution et prépare la mémoire
+     * des états de la séparation-évaluation.
      */
-    private void backtrack(int sauveteur, int[] affectation, int count) {
-        if (sauveteur == lenX) {
-            if (count > maxMatch) {
-                maxMatch = count;
-                construireResultat(affectation);
+    private void initialiserSeparation() {
+        int[][] gloutonne = new GraphGloutton(graphe).assign();
+        int count = 0;
+        for (int i = 0; i < gloutonne.length; i++) {
+            for (int j = 0; j < gloutonne[i].length; j++) {
+                if (gloutonne[i][j] == 1) {
+                    meilleureAffectation[j] = i;
+                    count++;
+                }
             }
-            return;
+        }
+        maxMatch.set(count);
+        etatsExplores = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Calcule le nombre de niveaux à découper pour obtenir assez de tâches : un sauveteur de
+     * degré d ouvre au plus d + 1 branches.
+     * @param parallelisme Nombre de fils du pool.
+     * @return Profondeur jusqu'à laquelle les nœuds sont découpés en sous-tâches.
+     */
+    private int calculerProfondeurDecoupe(int parallelisme) {
+        long cible = (long) TACHES_PAR_FIL * parallelisme;
+        long branches = 1;
+        int profondeur = 0;
+        while (profondeur < lenX && branches < cible) {
+            branches *= debuts[profondeur + 1] - debuts[profondeur] + 1;
+            profondeur++;
+        }
+        return profondeur;
+    }
+
+    /**
+     * Retient une solution complète si elle est meilleure que la meilleure connue, en la copiant
+     * dans le tableau de la meilleure solution : aucune allocation pendant la recherche.
+     * @param count Nombre d'affectations de la solution.
+     * @param affectation Tableau où affectation[j] = i signifie que le sauveteur i a reçu le diplôme j.
+     */
+    private synchronized void proposer(int count, int[] affectation) {
+        if (count > maxMatch.get()) {
+            System.arraycopy(affectation, 0, meilleureAffectation, 0, lenY);
+            maxMatch.set(count);
+        }
+    }
+
+    /**
+     * Parcourt un sous-arbre de recherche sur un seul fil. Chaque tâche a son propre explorateur,
+     * avec ses propres copies des tableaux de l'état courant.
+     */
+    private final class Explorateur {
+        private final int[] affectation; // affectation[j] = index du sauveteur affecté au diplôme j
+        private final long[] occupes;    // diplômes occupés, un bit par diplôme
+        private final int[] couplageBorne; // tableaux de travail de la borne
+        private final int[] visiteBorne;
+        private int marqueBorne;
+        private long noeudsLocaux; // nœuds visités pas encore ajoutés au total partagé
+
+        Explorateur(int[] affectation, long[] occupes) {
+            this.affectation = affectation;
+            this.occupes = occupes;
+            boolean borne = strategie == Strategie.SEPARATION_EVALUATION;
+            this.couplageBorne = borne ? new int[lenY] : null;
+            this.visiteBorne = borne ? new int[lenY] : null;
+        }
+
+        /**
+         * Explore le sous-arbre du nœud courant avec la stratégie choisie.
+         */
+        void explorer(int sauveteur, int count) {
+            if (strategie == Strategie.SEPARATION_EVALUATION) {
+                separer(sauveteur, count);
+            } else {
+                backtrack(sauveteur, count);
+            }
+        }
+
+        /**
+         * Ajoute au total partagé les nœuds visités depuis le dernier contrôle.
+         */
+        void terminer() {
+            noeuds.addAndGet(noeudsLocaux);
+            noeudsLocaux = 0;
+        }
+
+        /**
+         * Méthode récursive de backtracking qui explore toutes les assignations possibles.
+         * @param sauveteur Index du sauveteur en cours de traitement.
+         * @param count Nombre d'affectations valides dans la solution courante.
+         */
+        private void backtrack(int sauveteur, int count) {
+            if (doitArreter(MASQUE_SUIVI)) {
+                return;
+            }
+            if (sauveteur == lenX) {
+                if (count > maxMatch.get()) {
+                    proposer(count, affectation);
+                }
+                return;
+            }
+
+            // Tenter d'affecter un diplôme compatible
+            for (int k = debuts[sauveteur]; k < debuts[sauveteur + 1]; k++) {
+                int diplome = voisins[k];
+                if (affectation[diplome] == -1) {
+                    affectation[diplome] = sauveteur;
+                    backtrack(sauveteur + 1, count + 1);
+                    affectation[diplome] = -1; // revenir en arrière
+                }
+            }
+
+            // Essayer aussi sans affectation pour ce sauveteur
+            backtrack(sauveteur + 1, count);
+        }
+
+        /**
+         * Backtracking avec élagage : une branche est abandonnée quand même en affectant au mieux
+         * les sauveteurs restants elle ne dépasserait pas la meilleure solution, ou quand son état a
+         * déjà été exploré.
+         * @param sauveteur Index du sauveteur en cours de traitement.
+         * @param count Nombre d'affectations valides dans la solution courante.
+         */
+        private void separer(int sauveteur, int count) {
+            if (doitArreter(MASQUE_SUIVI_BORNE)) {
+                return;
+            }
+            if (sauveteur == lenX) {
+                if (count > maxMatch.get()) {
+                    proposer(count, affectation);
+                }
+                return;
+            }
+            if (elaguer(sauveteur, count)) {
+                return;
+            }
+
+            for (int k = debuts[sauveteur]; k < debuts[sauveteur + 1]; k++) {
+                int diplome = voisins[k];
+                if (affectation[diplome] == -1) {
+                    affecter(diplome, sauveteur);
+                    separer(sauveteur + 1, count + 1);
+                    liberer(diplome);
+                }
+            }
+            separer(sauveteur + 1, count);
+        }
+
+        /**
+         * Indique si le nœud courant peut être abandonné : borne supérieure atteinte par la
+         * meilleure solution, ou état déjà exploré. Sinon, l'état est mémorisé.
+         * @param sauveteur Index du sauveteur en cours de traitement.
+         * @param count Nombre d'affectations valides dans la solution courante.
+         * @return true si le sous-arbre du nœud est inutile.
+         */
+        boolean elaguer(int sauveteur, int count) {
+            // Borne simple d'abord : chaque sauveteur restant ajoute au plus une affectation
+            int meilleur = maxMatch.get();
+            if (count + (lenX - sauveteur) <= meilleur || count + borneCouplage(sauveteur) <= meilleur) {
+                return true;
+            }
+            return etatsExplores.size() < MAX_ETATS && !etatsExplores.add(new Etat(sauveteur, occupes.clone()));
+        }
+
+        /**
+         * Affecte le diplôme au sauveteur dans l'état courant.
+         */
+        private void affecter(int diplome, int sauveteur) {
+            affectation[diplome] = sauveteur;
+            occupes[diplome >>> 6] |= 1L << diplome;
+        }
+
+        /**
+         * Retire l'affectation du diplôme de l'état courant.
+         */
+        private void liberer(int diplome) {
+            occupes[diplome >>> 6] &= ~(1L << diplome);
+            affectation[diplome] = -1; // revenir en arrière
+        }
+
+        /**
+         * Borne supérieure du nombre d'affectations encore possibles : taille d'un couplage maximum
+         * entre les sauveteurs restants et les diplômes libres, par chemins augmentants.
+         * @param premier Index du premier sauveteur restant.
+         * @return Nombre maximal d'affectations que les sauveteurs restants peuvent encore ajouter.
+         */
+        private int borneCouplage(int premier) {
+            Arrays.fill(couplageBorne, -1);
+            int taille = 0;
+            for (int s = premier; s < lenX; s++) {
+                marqueBorne++;
+                if (augmenter(s)) {
+                    taille++;
+                }
+            }
+            return taille;
         }
 
-        // Tenter d'affecter un diplôme compatible
-        for (int diplome = 0; diplome < lenY; diplome++) {
-            if (matrice[sauveteur][diplome] == 1 && affectation[diplome] == -1) {
-                affectation[diplome] = sauveteur;
-                backtrack(sauveteur + 1, affectation, count + 1);
-                affectation[diplome] = -1; // revenir en arrière
+        /**
+         * Cherche un chemin augmentant depuis le sauveteur {@code s} dans le graphe restant.
+         */
+        private boolean augmenter(int s) {
+            for (int k = debuts[s]; k < debuts[s + 1]; k++) {
+                int diplome = voisins[k];
+                if (affectation[diplome] != -1 || visiteBorne[diplome] == marqueBorne) {
+                    continue;
+                }
+                visiteBorne[diplome] = marqueBorne;
+                if (couplageBorne[diplome] == -1 || augmenter(couplageBorne[diplome])) {
+                    couplageBorne[diplome] = s;
+                    return true;
+                }
             }
+            return false;
         }
 
-        // Essayer aussi sans affectation pour ce sauveteur
-        backtrack(sauveteur + 1, affectation, count);
+        /**
+         * Compte le nœud courant et, régulièrement, signale la progression puis vérifie si la
+         * recherche doit s'arrêter (demande du suivi ou budget épuisé).
+         * @param masque Le suivi est consulté quand le nombre de nœuds locaux dépasse ce masque.
+         * @return true si la recherche est arrêtée.
+         */
+        boolean doitArreter(long masque) {
+            if (interrompue) {
+                return true;
+            }
+            if (++noeudsLocaux > masque) {
+                long total = noeuds.addAndGet(noeudsLocaux);
+                noeudsLocaux = 0;
+                suivi.progression(total, maxMatch.get());
+                if (suivi.estAnnulee() || (budgetNanos >= 0 && System.nanoTime() - echeance >= 0)) {
+                    interrompue = true;
+                }
+            }
+            return interrompue;
+        }
     }
 
     /**
-     * Construit la matrice d'affectation correspondant à la meilleure solution actuelle.
-     * @param affectation Tableau où affectation[j] = i signifie que le sauveteur i a reçu le diplôme j.
+     * Tâche de recherche parallèle : sur les premiers niveaux de l'arbre, tant que les fils manquent
+     * de travail, le nœud est découpé en une sous-tâche par branche ; au-delà, le sous-arbre est
+     * parcouru par un {@link Explorateur}. Retourne le nombre d'affectations de la meilleure
+     * solution connue à la fin de la tâche.
      */
-    private void construireResultat(int[] affectation) {
-        int[][] res = new int[lenX][lenY];
-        for (int j = 0; j < lenY; j++) {
-            if (affectation[j] != -1) {
-                res[affectation[j]][j] = 1;
+    private final class TacheRecherche extends RecursiveTask<Integer> {
+        private final int sauveteur;
+        private final int[] affectation;
+        private final long[] occupes;
+        private final int count;
+
+        TacheRecherche(int sauveteur, int[] affectation, long[] occupes, int count) {
+            this.sauveteur = sauveteur;
+            this.affectation = affectation;
+            this.occupes = occupes;
+            this.count = count;
+        }
+
+        @Override
+        protected Integer compute() {
+            Explorateur explorateur = new Explorateur(affectation, occupes);
+            if (sauveteur >= profondeurDecoupe || getSurplusQueuedTaskCount() > SURPLUS_DECOUPE) {
+                explorateur.explorer(sauveteur, count);
+                explorateur.terminer();
+                return maxMatch.get();
+            }
+
+            boolean abandon = explorateur.doitArreter(strategie == Strategie.SEPARATION_EVALUATION
+                    ? MASQUE_SUIVI_BORNE : MASQUE_SUIVI)
+                    || (strategie == Strategie.SEPARATION_EVALUATION && explorateur.elaguer(sauveteur, count));
+            explorateur.terminer();
+            if (abandon) {
+                return maxMatch.get();
             }
+
+            // Une sous-tâche par diplôme libre, plus celle où le sauveteur n'est pas affecté
+            List<TacheRecherche> sousTaches = new ArrayList<>();
+            for (int k = debuts[sauveteur]; k < debuts[sauveteur + 1]; k++) {
+                int diplome = voisins[k];
+                if (affectation[diplome] == -1) {
+                    int[] affectationFille = affectation.clone();
+                    long[] occupesFille = occupes.clone();
+                    affectationFille[diplome] = sauveteur;
+                    occupesFille[diplome >>> 6] |= 1L << diplome;
+                    sousTaches.add(new TacheRecherche(sauveteur + 1, affectationFille, occupesFille, count + 1));
+                }
+            }
+            sousTaches.add(new TacheRecherche(sauveteur + 1, affectation, occupes, count));
+            invokeAll(sousTaches);
+            return maxMatch.get();
         }
-        this.meilleureAffectation = res;
     }
 }
-
@@ -0,0 +1,214 @@
+package model.graph.algorithme;
+
+import model.graph.adaptation.MatriceCreuse;
+
+import java.util.Arrays;
+
+/**
+ * Classe permettant d'effectuer une assignation optimale lorsque chaque colonne représente
+ * une classe de besoins identiques (un couple DPS / compétence) munie d'une capacité.
+ *
+ * <p>Le problème est un b-couplage : chaque sauveteur reçoit au plus une classe et chaque classe
+ * {@code j} accueille au plus {@code capacites[j]} sauveteurs. Il est résolu comme un flot maximum
+ * (algorithme de Dinic) sur le réseau source → sauveteurs (capacité 1) → classes (capacité 1)
+ * → puits (capacité {@code capacites[j]}). Le graphe est plus petit que la matrice étendue
+ * d'un facteur égal au nombre moyen d'unités par besoin.</p>
+ */
+public class GraphFlotCapacitaire {
+    private static final int NON_ATTEINT = -1;
+
+    private final int lenX; // nombre de sauveteurs
+    private final int lenY; // nombre de classes
+    private final int source;
+    private final int puits;
+
+    // Réseau résiduel : l'arc e et son arc inverse e ^ 1 sont stockés côte à côte
+    private final int[] premierArc; // premier arc sortant de chaque sommet, ou -1
+    private final int[] arcSuivant;
+    private final int[] cible;
+    private final int[] capacite;
+
+    private final int[] niveau;
+    private final int[] courant; // prochain arc à examiner pour chaque sommet
+    private final int[] chemin;  // arcs du chemin en cours de construction
+
+    /**
+     * Constructeur de la classe.
+     * @param graphe    Graphe de compatibilité creux (sauveteurs x classes).
+     * @param capacites Nombre de sauveteurs attendus par classe.
+     * @throws IllegalArgumentException si le nombre de capacités ne correspond pas au nombre de classes
+     */
+    public GraphFlotCapacitaire(MatriceCreuse graphe, int[] capacites) {
+        if (capacites.length != graphe.getNbColonnes()) {
+            throw new IllegalArgumentException("Une capacité est attendue par classe.");
+        }
+        this.lenX = graphe.getNbLignes();
+        this.lenY = graphe.getNbColonnes();
+        int nbSommets = lenX + lenY + 2;
+        this.source = lenX + lenY;
+        this.puits = lenX + lenY + 1;
+
+        int nbArcs = 2 * (lenX + graphe.getNbAretes() + lenY);
+        this.premierArc = new int[nbSommets];
+        this.arcSuivant = new int[nbArcs];
+        this.cible = new int[nbArcs];
+        this.capacite = new int[nbArcs];
+        Arrays.fill(premierArc, -1);
+
+        int[] debuts = graphe.getDebuts();
+        int[] voisins = graphe.getVoisins();
+        int arc = 0;
+        for (int i = 0; i < lenX; i++) {
+            arc = ajouterArc(arc, source, i, 1);
+        }
+        for (int i = 0; i < lenX; i++) {
+            for (int k = debuts[i]; k < debuts[i + 1]; k++) {
+                arc = ajouterArc(arc, i, lenX + voisins[k], 1);
+            }
+        }
+        for (int j = 0; j < lenY; j++) {
+            arc = ajouterArc(arc, lenX + j, puits, capacites[j]);
+        }
+
+        this.niveau = new int[nbSommets];
+        this.courant = new int[nbSommets];
+        this.chemin = new int[nbSommets];
+    }
+
+    /**
+     * Calcule un b-couplage maximum et retourne l'assignation correspondante.
+     * @return Une matrice sauveteurs x classes : res[i][j] == 1 signifie que le sauveteur i est affecté à la classe j.
+     *         Une colonne peut contenir jusqu'à {@code capacites[j]} affectations.
+     */
+    public int[][] assign() {
+        if (lenX == 0 || lenY == 0) {
+            return new int[0][0];
+        }
+        calculerFlot();
+
+        int[][] res = new int[lenX][lenY];
+        for (int i = 0; i < lenX; i++) {
+            for (int e = premierArc[i]; e != -1; e = arcSuivant[e]) {
+                int v = cible[e];
+                // arc direct sauveteur → classe saturé : une unité de flot y passe
+                if (v >= lenX && v < source && (e & 1) == 0 && capacite[e] == 0) {
+                    res[i][v - lenX] = 1;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Calcule le nombre d'affectations du b-couplage maximum.
+     * @return la valeur du flot maximum
+     */
+    public int calculerMaximum() {
+        if (lenX == 0 || lenY == 0) {
+            return 0;
+        }
+        return calculerFlot();
+    }
+
+    /**
+     * Ajoute un arc et son arc inverse de capacité nulle.
+     * @return l'index du prochain arc libre
+     */
+    private int ajouterArc(int arc, int de, int vers, int cap) {
+        cible[arc] = vers;
+        capacite[arc] = cap;
+        arcSuivant[arc] = premierArc[de];
+        premierArc[de] = arc;
+
+        cible[arc + 1] = de;
+        capacite[arc + 1] = 0;
+        arcSuivant[arc + 1] = premierArc[vers];
+        premierArc[vers] = arc + 1;
+        return arc + 2;
+    }
+
+    /**
+     * Enchaîne les phases de Dinic jusqu'à ce que le puits ne soit plus atteignable.
+     * @return la valeur du flot obtenu
+     */
+    private int calculerFlot() {
+        int flot = 0;
+        while (construireNiveaux()) {
+            System.arraycopy(premierArc, 0, courant, 0, premierArc.length);
+            int pousse;
+            while ((pousse = pousser()) > 0) {
+                flot += pousse;
+            }
+        }
+        return flot;
+    }
+
+    /**
+     * Parcours en largeur du réseau résiduel depuis la source.
+     * @return true si le puits est atteignable
+     */
+    private boolean construireNiveaux() {
+        Arrays.fill(niveau, NON_ATTEINT);
+        int[] file = chemin; // le chemin n'est pas utilisé pendant le parcours en largeur
+        int tete = 0;
+        int queue = 0;
+        niveau[source] = 0;
+        file[queue++] = source;
+        while (tete < queue) {
+            int u = file[tete++];
+            for (int e = premierArc[u]; e != -1; e = arcSuivant[e]) {
+                int v = cible[e];
+                if (capacite[e] > 0 && niveau[v] == NON_ATTEINT) {
+                    niveau[v] = niveau[u] + 1;
+                    file[queue++] = v;
+                }
+            }
+        }
+        return niveau[puits] != NON_ATTEINT;
+    }
+
+    /**
+     * Parcours en profondeur itératif dans le graphe de niveaux : trouve un chemin source → puits
+     * et y pousse la capacité résiduelle minimale.
+     * @return la quantité de flot poussée, 0 si aucun chemin ne subsiste dans cette phase
+     */
+    private int pousser() {
+        int longueur = 0;
+        int u = source;
+        while (true) {
+            if (u == puits) {
+                int goulot = Integer.MAX_VALUE;
+                for (int k = 0; k < longueur; k++) {
+                    goulot = Math.min(goulot, capacite[chemin[k]]);
+                }
+                for (int k = 0; k < longueur; k++) {
+                    capacite[chemin[k]] -= goulot;
+                    capacite[chemin[k] ^ 1] += goulot;
+                }
+                return goulot;
+            }
+
+            boolean avance = false;
+            for (; courant[u] != -1; courant[u] = arcSuivant[courant[u]]) {
+                int e = courant[u];
+                int v = cible[e];
+                if (capacite[e] > 0 && niveau[v] == niveau[u] + 1) {
+                    chemin[longueur++] = e;
+                    u = v;
+                    avance = true;
+                    break;
+                }
+            }
+            if (!avance) {
+                if (u == source) {
+                    return 0;
+                }
+                // Impasse : le sommet est retiré du graphe de niveaux
+                niveau[u] = NON_ATTEINT;
+                int e = chemin[--longueur];
+                u = cible[e ^ 1];
+                courant[u] = arcSuivant[courant[u]];
+            }
+        }
+    }
+}
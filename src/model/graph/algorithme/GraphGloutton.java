@@ -1,138 +1,110 @@
 package model.graph.algorithme;
 
+import model.graph.adaptation.MatriceBinaire;
+import model.graph.adaptation.MatriceCreuse;
+
+import java.util.Arrays;
+
 /**
  * Implements a greedy bipartite assignment algorithm.
- * Assigns rescuers (rows) to needed diplomas (columns) using a basic greedy strategy.
+ * Assigns rescuers (rows) to needed diplomas (columns) using a minimum-degree greedy strategy,
+ * in the style of the Karp-Sipser heuristic.
+ *
+ * <p>The compatibility matrix is stored as packed bitsets ({@link MatriceBinaire}):
+ * degrees are computed with {@link Long#bitCount(long)} and free compatible
+ * diplomas are scanned 64 at a time.</p>
+ *
+ * <p>All degrees are computed once, then kept up to date after each assignment:
+ * the rescuer with the fewest free compatible diplomas is always served first,
+ * and it takes the compatible diploma with the fewest remaining candidates.</p>
  */
 public class GraphGloutton {
-    private final int[][] matrice;
+    private final MatriceBinaire matrice;
+    private final int[] degY;    // number of candidates per diploma
     private final int lenX;//nbr de sauveteur
     private final int lenY;//nbr de diplômes dont il y a besoin
 
     /**
-     * Constructor that deep-copies the input matrix.
+     * Constructor that packs the input matrix into bitsets.
      *
      * @param matrice a binary matrix representing possible assignments (1 = possible)
      */
     public GraphGloutton(int[][] matrice){
-        this.matrice = new int[matrice.length][];
-        for (int i = 0; i < matrice.length; i++) {
-            this.matrice[i] = matrice[i].clone();
-        }
-        this.lenX = matrice.length;
-        if (lenX>0) {
-            this.lenY = matrice[0].length;
-        }else{
-            this.lenY = 0;
-        }
+        this(MatriceBinaire.depuisMatrice(matrice));
     }
 
     /**
-     * Assigns rescuers to diplomas using a greedy algorithm.
+     * Constructor working on a sparse compatibility graph.
      *
-     * @return a binary matrix where 1 indicates an assignment
+     * @param graphe the sparse compatibility graph (rescuers x diplomas)
      */
-    public int[][] assign(){
-        if (lenX == 0 || lenY == 0) {
-            return new int[0][0];
-        }
-        int[] ordX=getOrdX();
-        int[] ordY=getOrdY();
-        int[][] res = new int[lenX][lenY];
-        boolean[] diplomeAttribue = new boolean[lenY];
-
-        for(int i : ordX){
-            for(int j : ordY){
-                if (matrice[i][j]==1 && !diplomeAttribue[j]){
-                    res[i][j]= 1;
-                    diplomeAttribue[j] = true;
-                    break;
-                }
-            }
-        }
-        return res;
+    public GraphGloutton(MatriceCreuse graphe){
+        this(MatriceBinaire.depuisCreuse(graphe));
     }
 
     /**
-     * Computes the degree of a rescuer (number of possible assignments).
+     * Constructor working directly on a bitset compatibility matrix.
      *
-     * @param i index of the rescuer
-     * @return number of 1s in row i
-     * @throws IllegalArgumentException if index is out of bounds
+     * @param matrice the bitset compatibility matrix (rescuers x diplomas), not modified
      */
-    private int getDegX(int i)throws IllegalArgumentException{
-        if (i < 0 || i >= lenX) {
-            throw new IllegalArgumentException("Indice invalide.");
-        }
-        int deg = 0;
-        for (int j = 0; j < lenY; j++) {
-            deg+=matrice[i][j];
-        }
-        return deg;
+    public GraphGloutton(MatriceBinaire matrice){
+        this.matrice = matrice;
+        this.degY = matrice.degresColonnes();
+        this.lenX = matrice.getNbLignes();
+        this.lenY = matrice.getNbColonnes();
     }
 
     /**
-     * Computes the degree of a diploma (number of candidates).
+     * Assigns rescuers to diplomas using a greedy algorithm.
      *
-     * @param j index of the diploma
-     * @return number of 1s in column j
-     * @throws IllegalArgumentException if index is out of bounds
+     * @return a binary matrix where 1 indicates an assignment
      */
-    private int getDegY(int j)throws IllegalArgumentException{
-        if (j < 0 || j >= lenY) {
-            throw new IllegalArgumentException("Indice invalide.");
+    public int[][] assign(){
+        if (lenX == 0 || lenY == 0) {
+            return new int[0][0];
         }
-        int deg = 0;
+        int[][] res = new int[lenX][lenY];
+
+        // degX[i] = free diplomas compatible with rescuer i
+        // degYRestant[j] = unprocessed rescuers compatible with diploma j
+        int[] degX = new int[lenX];
         for (int i = 0; i < lenX; i++) {
-            deg+=matrice[i][j];
+            degX[i] = matrice.degreLigne(i);
         }
-        return deg;
-    }
+        int[] degYRestant = degY.clone();
+        MatriceBinaire candidats = matrice.transposer();
 
-    /**
-     * Returns rescuer indices ordered by ascending degree.
-     */
-    private int[] getOrdX() {
-        int[] ord = new int[lenX];
+        long[] diplomesLibres = new long[matrice.getMotsParLigne()];
+        Arrays.fill(diplomesLibres, -1L);
 
-        for (int i = 0; i < lenX; i++) {
-            ord[i] = i;
-        }
-        for (int i = 1; i < lenX; i++) {
-            int x = ord[i];
-            int degX = getDegX(x);
-            int j = i - 1;
-            while (j >= 0 && getDegX(ord[j]) > degX) {
-                ord[j + 1] = ord[j];
-                j--;
+        FileParDegre file = new FileParDegre(degX, lenY);
+        int i;
+        while ((i = file.extraireMin()) != -1) {
+            if (degX[i] == 0) {
+                continue;
             }
-            ord[j + 1] = x;
-        }
 
-        return ord;
-    }
-    
-    /**
-     * Returns diploma indices ordered by ascending degree.
-     */
-    private int[] getOrdY() {
-        int[] ord = new int[lenY];
+            // compatible free diploma with the fewest remaining candidates
+            int choix = -1;
+            for (int j = matrice.premierBitCommun(i, diplomesLibres); j >= 0;
+                 j = matrice.prochainBitCommun(i, diplomesLibres, j + 1)) {
+                degYRestant[j]--; // rescuer i is no longer a candidate
+                if (choix == -1 || degYRestant[j] < degYRestant[choix]) {
+                    choix = j;
+                }
+            }
 
-        for (int j = 0; j < lenY; j++) {
-            ord[j] = j;
-        }
-        for (int i = 1; i < lenY; i++) {
-            int y = ord[i];
-            int degY = getDegY(y);
-            int j = i - 1;
-            while (j >= 0 && getDegY(ord[j]) > degY) {
-                ord[j + 1] = ord[j];
-                j--;
+            res[i][choix] = 1;
+            diplomesLibres[choix >>> 6] &= ~(1L << choix);
+
+            // the remaining candidates of this diploma lose one option
+            for (int r = candidats.prochainBit(choix, 0); r >= 0; r = candidats.prochainBit(choix, r + 1)) {
+                if (file.contient(r)) {
+                    file.diminuer(r);
+                }
             }
-            ord[j + 1] = y;
         }
-
-        return ord;
+        return res;
     }
 
     /**
@@ -154,4 +126,109 @@ public class GraphGloutton {
 
         return count;
     }
+
+    /**
+     * Bucket queue of rescuers ordered by ascending degree (counting sort),
+     * with O(1) degree decrease and amortised O(1) extraction of the minimum.
+     * Rescuers with the same degree are extracted in index order.
+     */
+    private static final class FileParDegre {
+        private static final int AUCUN = -1;
+
+        private final int[] degres;    // shared with the caller, updated in place
+        private final int[] tete;      // first rescuer of each bucket
+        private final int[] queue;     // last rescuer of each bucket
+        private final int[] suivant;
+        private final int[] precedent;
+        private final boolean[] present;
+        private int degreMin;
+
+        /**
+         * Builds the queue with every rescuer.
+         *
+         * @param degres    the initial degree of each rescuer
+         * @param degreMax  the highest possible degree
+         */
+        FileParDegre(int[] degres, int degreMax) {
+            int n = degres.length;
+            this.degres = degres;
+            this.tete = new int[degreMax + 1];
+            this.queue = new int[degreMax + 1];
+            this.suivant = new int[n];
+            this.precedent = new int[n];
+            this.present = new boolean[n];
+            Arrays.fill(tete, AUCUN);
+            Arrays.fill(queue, AUCUN);
+            for (int i = 0; i < n; i++) {
+                ajouterEnQueue(i);
+                present[i] = true;
+            }
+            this.degreMin = 0;
+        }
+
+        /**
+         * @return true if the rescuer has not been extracted yet
+         */
+        boolean contient(int i) {
+            return present[i];
+        }
+
+        /**
+         * Removes and returns the rescuer with the lowest degree.
+         *
+         * @return the rescuer index, or -1 if the queue is empty
+         */
+        int extraireMin() {
+            while (degreMin < tete.length && tete[degreMin] == AUCUN) {
+                degreMin++;
+            }
+            if (degreMin == tete.length) {
+                return AUCUN;
+            }
+            int i = tete[degreMin];
+            retirer(i);
+            present[i] = false;
+            return i;
+        }
+
+        /**
+         * Decreases the degree of a rescuer still in the queue by one.
+         *
+         * @param i the rescuer index
+         */
+        void diminuer(int i) {
+            retirer(i);
+            degres[i]--;
+            ajouterEnQueue(i);
+            if (degres[i] < degreMin) {
+                degreMin = degres[i];
+            }
+        }
+
+        private void ajouterEnQueue(int i) {
+            int d = degres[i];
+            suivant[i] = AUCUN;
+            precedent[i] = queue[d];
+            if (queue[d] == AUCUN) {
+                tete[d] = i;
+            } else {
+                suivant[queue[d]] = i;
+            }
+            queue[d] = i;
+        }
+
+        private void retirer(int i) {
+            int d = degres[i];
+            if (precedent[i] == AUCUN) {
+                tete[d] = suivant[i];
+            } else {
+                suivant[precedent[i]] = suivant[i];
+            }
+            if (suivant[i] == AUCUN) {
+                queue[d] = precedent[i];
+            } else {
+                precedent[suivant[i]] = precedent[i];
+            }
+        }
+    }
 }
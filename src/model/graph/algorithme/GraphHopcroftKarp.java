@@ -0,0 +1,188 @@
+package model.graph.algorithme;
+
+import model.graph.adaptation.MatriceCreuse;
+
+import java.util.Arrays;
+
+/**
+ * Classe permettant d'effectuer une assignation optimale entre des sauveteurs et des diplômes
+ * à l'aide de l'algorithme de Hopcroft-Karp.
+ *
+ * <p>Contrairement à {@link GraphExaustif}, qui énumère toutes les combinaisons, cette classe
+ * calcule un couplage maximum en O(E·√V) : à chaque phase, un parcours en largeur répartit les
+ * sauveteurs en couches, puis des parcours en profondeur augmentent en une fois tous les chemins
+ * augmentants disjoints de longueur minimale.</p>
+ *
+ * <p>Le résultat respecte le même contrat que {@link GraphExaustif#assign()}.</p>
+ */
+public class GraphHopcroftKarp {
+    private static final int INFINI = Integer.MAX_VALUE;
+    private static final int LIBRE = -1;
+
+    private final int lenX; // nombre de sauveteurs
+    private final int lenY; // nombre de diplômes
+
+    private final int[] debuts;  // voisins du sauveteur i : voisins[debuts[i]] .. voisins[debuts[i + 1] - 1]
+    private final int[] voisins; // indices des diplômes compatibles, rangés par sauveteur
+
+    private int[] coupleX;  // coupleX[i] = diplôme attribué au sauveteur i, ou LIBRE
+    private int[] coupleY;  // coupleY[j] = sauveteur ayant reçu le diplôme j, ou LIBRE
+    private int[] distance; // couche de chaque sauveteur dans la phase courante
+    private int[] curseur;  // prochain voisin à examiner pour chaque sauveteur
+    private int[] pile;     // pile du parcours en profondeur itératif
+
+    /**
+     * Constructeur de la classe.
+     * @param matrice Matrice binaire de compatibilité (sauveteurs x diplômes),
+     *                où 1 signifie que le sauveteur peut recevoir ce diplôme.
+     */
+    public GraphHopcroftKarp(int[][] matrice) {
+        this(MatriceCreuse.depuisMatrice(matrice));
+    }
+
+    /**
+     * Constructeur à partir du graphe de compatibilité creux.
+     * @param graphe Graphe de compatibilité (sauveteurs x diplômes).
+     */
+    public GraphHopcroftKarp(MatriceCreuse graphe) {
+        this.lenX = graphe.getNbLignes();
+        this.lenY = graphe.getNbColonnes();
+        this.debuts = graphe.getDebuts();
+        this.voisins = graphe.getVoisins();
+    }
+
+    /**
+     * Calcule un couplage maximum et retourne l'assignation correspondante.
+     * @return Une matrice d'affectation optimale : res[i][j] == 1 signifie que le sauveteur i reçoit le diplôme j.
+     */
+    public int[][] assign() {
+        if (lenX == 0 || lenY == 0) {
+            return new int[0][0];
+        }
+        coupler();
+
+        int[][] res = new int[lenX][lenY];
+        for (int i = 0; i < lenX; i++) {
+            if (coupleX[i] != LIBRE) {
+                res[i][coupleX[i]] = 1;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Calcule le nombre d'affectations du couplage maximum.
+     * @return la taille du couplage maximum
+     */
+    public int calculerMaximum() {
+        if (lenX == 0 || lenY == 0) {
+            return 0;
+        }
+        return coupler();
+    }
+
+    /**
+     * Enchaîne les phases de Hopcroft-Karp jusqu'à ce qu'aucun chemin augmentant ne subsiste.
+     * @return la taille du couplage obtenu
+     */
+    private int coupler() {
+        coupleX = new int[lenX];
+        coupleY = new int[lenY];
+        distance = new int[lenX];
+        curseur = new int[lenX];
+        pile = new int[lenX];
+        Arrays.fill(coupleX, LIBRE);
+        Arrays.fill(coupleY, LIBRE);
+
+        int taille = 0;
+        while (construireCouches()) {
+            for (int i = 0; i < lenX; i++) {
+                curseur[i] = debuts[i];
+            }
+            for (int i = 0; i < lenX; i++) {
+                if (coupleX[i] == LIBRE && augmenter(i)) {
+                    taille++;
+                }
+            }
+        }
+        return taille;
+    }
+
+    /**
+     * Parcours en largeur depuis les sauveteurs libres : calcule la couche de chaque sauveteur
+     * atteignable par un chemin alterné.
+     * @return true si au moins un diplôme libre est atteignable, c'est-à-dire s'il reste un chemin augmentant
+     */
+    private boolean construireCouches() {
+        int[] file = pile; // la pile n'est pas utilisée pendant le parcours en largeur
+        int tete = 0;
+        int queue = 0;
+        for (int i = 0; i < lenX; i++) {
+            if (coupleX[i] == LIBRE) {
+                distance[i] = 0;
+                file[queue++] = i;
+            } else {
+                distance[i] = INFINI;
+            }
+        }
+
+        boolean diplomeLibreAtteint = false;
+        while (tete < queue) {
+            int x = file[tete++];
+            for (int k = debuts[x]; k < debuts[x + 1]; k++) {
+                int suivant = coupleY[voisins[k]];
+                if (suivant == LIBRE) {
+                    diplomeLibreAtteint = true;
+                } else if (distance[suivant] == INFINI) {
+                    distance[suivant] = distance[x] + 1;
+                    file[queue++] = suivant;
+                }
+            }
+        }
+        return diplomeLibreAtteint;
+    }
+
+    /**
+     * Parcours en profondeur itératif cherchant un chemin augmentant depuis le sauveteur libre donné,
+     * en ne suivant que les arcs qui descendent d'une couche. Si un chemin est trouvé, le couplage est
+     * inversé le long de celui-ci.
+     * @param racine Index du sauveteur libre de départ.
+     * @return true si le couplage a été augmenté
+     */
+    private boolean augmenter(int racine) {
+        int sommet = 0;
+        pile[0] = racine;
+        while (sommet >= 0) {
+            int x = pile[sommet];
+            boolean descendu = false;
+            while (curseur[x] < debuts[x + 1]) {
+                int suivant = coupleY[voisins[curseur[x]]];
+                if (suivant == LIBRE) {
+                    // Chemin augmentant trouvé : chaque sauveteur de la pile prend le diplôme pointé par son curseur
+                    for (int k = sommet; k >= 0; k--) {
+                        int xk = pile[k];
+                        int yk = voisins[curseur[xk]];
+                        coupleX[xk] = yk;
+                        coupleY[yk] = xk;
+                    }
+                    return true;
+                }
+                if (distance[suivant] == distance[x] + 1) {
+                    pile[++sommet] = suivant;
+                    descendu = true;
+                    break;
+                }
+                curseur[x]++;
+            }
+            if (!descendu) {
+                // Impasse : le sauveteur est retiré des couches pour le reste de la phase
+                distance[x] = INFINI;
+                sommet--;
+                if (sommet >= 0) {
+                    curseur[pile[sommet]]++;
+                }
+            }
+        }
+        return false;
+    }
+}
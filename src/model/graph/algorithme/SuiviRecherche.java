@@ -0,0 +1,38 @@
+package model.graph.algorithme;
+
+/**
+ * Suivi d'une recherche d'affectation longue, comme celle de {@link GraphExaustif}.
+ * Le moteur signale régulièrement sa progression et vérifie s'il doit s'arrêter :
+ * l'annulation est coopérative, le moteur s'interrompt au prochain contrôle et
+ * garde la meilleure solution trouvée jusque-là.
+ *
+ * <p>Les méthodes sont appelées depuis le fil qui exécute la recherche ; une implémentation
+ * partagée entre plusieurs recherches doit donc être sûre entre fils.</p>
+ */
+public interface SuiviRecherche {
+
+    /**
+     * Suivi qui ignore la progression et ne demande jamais l'arrêt.
+     */
+    SuiviRecherche AUCUN = new SuiviRecherche() {
+        @Override
+        public void progression(long noeudsExplores, int meilleurNombre) { }
+
+        @Override
+        public boolean estAnnulee() {
+            return false;
+        }
+    };
+
+    /**
+     * Signale l'avancement de la recherche.
+     * @param noeudsExplores Nombre de nœuds de l'arbre de recherche visités depuis le début.
+     * @param meilleurNombre Nombre d'affectations de la meilleure solution trouvée.
+     */
+    void progression(long noeudsExplores, int meilleurNombre);
+
+    /**
+     * @return true si la recherche doit s'arrêter au plus tôt.
+     */
+    boolean estAnnulee();
+}
@@ -5,25 +5,95 @@ import model.persistence.DPS;
 import util.Logger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 /**
  * Manages a list of DPS (missions) in memory and synchronizes them with the database.
  * 
- * <p>This manager uses a cache to optimize access and delegates persistence operations to {@link DAODPS}.</p>
+ * <p>This manager uses a cache, indexed by DPS ID, to optimize access and delegates persistence
+ * operations to {@link DAODPS}.</p>
+ *
+ * <p>Two secondary indexes give the DPS of a day and the DPS of a site. They are kept up to
+ * date by {@link #addDPS}, {@link #updateDPS} and {@link #removeDPS}, so a DPS whose day or site
+ * is changed in place is found under its new key once it has been updated.</p>
  * 
  * @author ResQ360
  */
 public final class DPSManager {
 
-    private final List<DPS> cache;
+    /**
+     * Day and site under which a DPS is indexed.
+     */
+    private record Placement(int idJournee, String idSite) {}
+
+    private final Map<Integer, DPS> cache; // par ID, dans l'ordre de chargement
+    private final Map<Integer, Set<Integer>> idsByDay;
+    private final Map<String, Set<Integer>> idsBySite;
+    private final Map<Integer, Placement> placements; // clés d'indexation de chaque DPS
     private final DAODPS dao;
     /**
      * Creates a DPSManager and loads all DPS from the database into memory.
      */
     DPSManager() {
-        this.cache = new ArrayList<>();
+        this.cache = new LinkedHashMap<>();
+        this.idsByDay = new HashMap<>();
+        this.idsBySite = new HashMap<>();
+        this.placements = new HashMap<>();
         this.dao = new DAODPS();
-        this.cache.addAll(dao.getAll());
+        for (DPS dps : dao.getAll()) {
+            index(dps);
+        }
+    }
+    /**
+     * Adds a DPS to the cache and the secondary indexes, replacing any DPS with the same ID.
+     *
+     * @param dps the DPS to index
+     */
+    private void index(DPS dps) {
+        unindex(dps.getId());
+        cache.put(dps.getId(), dps);
+        Placement placement = new Placement(dps.getIdJournee(), dps.getIdSite());
+        placements.put(dps.getId(), placement);
+        idsByDay.computeIfAbsent(placement.idJournee(), k -> new LinkedHashSet<>()).add(dps.getId());
+        idsBySite.computeIfAbsent(placement.idSite(), k -> new LinkedHashSet<>()).add(dps.getId());
+    }
+    /**
+     * Removes a DPS from the secondary indexes, using the keys it was indexed under.
+     * The DPS stays in the cache.
+     *
+     * @param id the DPS ID
+     */
+    private void unindex(int id) {
+        Placement placement = placements.remove(id);
+        if (placement != null) {
+            removeFrom(idsByDay, placement.idJournee(), id);
+            removeFrom(idsBySite, placement.idSite(), id);
+        }
+    }
+    /**
+     * Removes an ID from an inverted index, dropping the key when no ID is left.
+     */
+    private static <K> void removeFrom(Map<K, Set<Integer>> index, K key, int id) {
+        Set<Integer> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+    /**
+     * Resolves indexed IDs to their DPS.
+     */
+    private List<DPS> resolve(Set<Integer> ids) {
+        List<DPS> result = new ArrayList<>(ids == null ? 0 : ids.size());
+        if (ids != null) {
+            for (int id : ids) {
+                result.add(cache.get(id));
+            }
+        }
+        return result;
     }
     /**
      * Gets a DPS by its ID.
@@ -32,12 +102,25 @@ public final class DPSManager {
      * @return the corresponding DPS or null if not found
      */
     public DPS getDPS(int id) {
-        for (DPS dps : this.cache) {
-            if (dps.getId() == id) {
-                return dps;
-            }
-        }
-        return null;
+        return cache.get(id);
+    }
+    /**
+     * Gets the DPS taking place on a day.
+     *
+     * @param idJournee the day ID
+     * @return the DPS of that day, possibly empty
+     */
+    public List<DPS> getByDay(int idJournee) {
+        return resolve(idsByDay.get(idJournee));
+    }
+    /**
+     * Gets the DPS taking place on a site.
+     *
+     * @param idSite the site code
+     * @return the DPS of that site, possibly empty
+     */
+    public List<DPS> getBySite(String idSite) {
+        return resolve(idsBySite.get(idSite));
     }
     /**
      * Adds a new DPS if it doesn't already exist.
@@ -50,7 +133,7 @@ public final class DPSManager {
             return;
         }
         if (dao.insert(dps)) {
-            this.cache.add(dps);
+            index(dps);
         } else {
             Logger.error("Failed to insert DPS into database.");
         }
@@ -68,8 +151,7 @@ public final class DPSManager {
         }
 
         if (dao.update(updatedDps)) {
-            int index = cache.indexOf(existing);
-            cache.set(index, updatedDps);
+            index(updatedDps);
             Logger.info("DPS updated in DB and cache.");
         } else {
             Logger.error("Failed to update DPS in database.");
@@ -88,7 +170,8 @@ public final class DPSManager {
         }
 
         if (dao.delete(id)) {
-            this.cache.remove(dpsToRemove);
+            unindex(id);
+            this.cache.remove(id);
             Logger.info("DPS with ID " + id + " has been removed.");
         } else {
             Logger.error("Failed to delete DPS from database.");
@@ -100,7 +183,7 @@ public final class DPSManager {
      * @return the list of all DPS
      */
     public List<DPS> getAll() {
-        return new ArrayList<>(cache); // copie défensive
+        return new ArrayList<>(cache.values()); // copie défensive
     }
     /**
      * Replaces all current DPS with a new list.
@@ -108,7 +191,7 @@ public final class DPSManager {
      * @param newCache the new DPS list to set
      */
     public void setAll(List<DPS> newCache) {
-        for (DPS dps : new ArrayList<>(cache)) {
+        for (DPS dps : getAll()) {
             removeDPS(dps.getId());
         }
         for (DPS dps : newCache) {
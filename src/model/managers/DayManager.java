@@ -5,25 +5,29 @@ import model.persistence.Day;
 import util.Logger;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 /**
  * Manages {@link Day} objects in memory and synchronizes them with the database.
  *
- * <p>Uses an in-memory cache for fast access and a {@link DAODay} instance for
- * persistence operations.</p>
+ * <p>Uses an in-memory cache, indexed by day ID, for fast access and a {@link DAODay}
+ * instance for persistence operations.</p>
  *
  * @author ResQ360
  */
 public class DayManager {
-    private final List<Day> cache;  // Cache local des jours
+    private final Map<Integer, Day> cache;  // Cache local des jours, par ID
     private final DAODay dao;    // DAO pour les accès base
     /**
      * Loads all days from the database into the cache.
      */
     DayManager() {
-        this.cache = new ArrayList<>();
+        this.cache = new LinkedHashMap<>();
         this.dao = new DAODay();
-        this.cache.addAll(dao.getAll()); // Chargement initial du cache
+        for (Day day : dao.getAll()) { // Chargement initial du cache
+            cache.put(day.getId(), day);
+        }
     }
 
     /**
@@ -33,10 +37,9 @@ public class DayManager {
      * @return the matching {@code Day}, or {@code null} if not found
      */
     public Day getDayById(int id) {
-        for (Day day : cache) {
-            if (day.getId() == id)
-                return day;
-        }
+        Day day = cache.get(id);
+        if (day != null)
+            return day;
         Logger.debug("No Day found with ID: " + id);
         return null;
     }
@@ -53,7 +56,7 @@ public class DayManager {
         }
 
         if (dao.insert(day)) {
-            cache.add(day);
+            cache.put(day.getId(), day);
         } else {
             Logger.error("Failed to insert Day into database.");
         }
@@ -72,8 +75,7 @@ public class DayManager {
         }
 
         if (dao.update(day)) {
-            int index = cache.indexOf(existing);
-            cache.set(index, day);
+            cache.put(day.getId(), day);
         } else {
             Logger.error("Failed to update Day in database.");
         }
@@ -92,7 +94,7 @@ public class DayManager {
         }
 
         if (dao.delete(id)) {
-            cache.remove(toRemove);
+            cache.remove(id);
         } else {
             Logger.warn("Failed to delete Day from database.");
         }
@@ -104,7 +106,7 @@ public class DayManager {
      * @return list of all days
      */
     public List<Day> getAllDays() {
-        return new ArrayList<>(cache);
+        return new ArrayList<>(cache.values());
     }
 
     /**
@@ -120,7 +122,7 @@ public class DayManager {
      */
     public void setAll(List<Day> newDays) {
         // Supprimer tous les jours
-        for (Day day : new ArrayList<>(cache)) {
+        for (Day day : getAllDays()) {
             removeDay(day.getId());
         }
 
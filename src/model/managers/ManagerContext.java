@@ -1,75 +1,203 @@
 package model.managers;
+
+import core.records.ManagerConfig;
+import model.services.IncrementalAssignmentService;
+import model.services.TimeSlotAssigner;
+import util.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
 /**
  * Singleton providing access to all application managers (DPS, Rescuers, Days, Sites, Sports).
  *
- * <p>Initializes all manager instances and offers centralized access through getters.</p>
+ * <p>Each manager is created, and loads its data, the first time it is requested, so that
+ * screens which do not need a manager do not wait for it. The loading settings are given once
+ * with {@link #configure(ManagerConfig)} before the first access.</p>
+ *
+ * <p>{@link #preload()} starts loading every manager in the background, one thread per manager,
+ * while the first screen is displayed. A getter called during the preload waits only for the
+ * manager it returns, and a manager whose preload failed is loaded again on first access.</p>
  *
  * @author ResQ360
  */
 public class ManagerContext {
-    private final DPSManager dpsManager;
-    private final RescuerManager rescuerManager;
-    private final DayManager dayManager;
-    private final SiteManager siteManager;
-    private final SportManager sportManager;
+    private final Lazy<DPSManager> dpsManager;
+    private final Lazy<RescuerManager> rescuerManager;
+    private final Lazy<DayManager> dayManager;
+    private final Lazy<SiteManager> siteManager;
+    private final Lazy<SportManager> sportManager;
+    private final Lazy<IncrementalAssignmentService> incrementalAssignmentService;
 
+    private static ManagerConfig config = ManagerConfig.defaults();
     private static ManagerContext instance;
+
+    /**
+     * Value created on first access, at most once even when several threads ask for it.
+     * A thread asking for it while another creates it waits for that creation.
+     *
+     * @param <T> the type of the value
+     */
+    private static final class Lazy<T> {
+        private final String name;
+        private final Supplier<T> factory;
+        private volatile T value;
+
+        Lazy(String name, Supplier<T> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+
+        /**
+         * Creates the value on the given executor.
+         *
+         * @return completes once the value is created; a failure is logged and left to the next {@link #get()}
+         */
+        CompletableFuture<Void> preload(Executor executor) {
+            return CompletableFuture.runAsync(() -> {
+                long debut = System.nanoTime();
+                get();
+                Logger.debug(String.format("%s loaded in %.1f ms", name, (System.nanoTime() - debut) / 1e6));
+            }, executor).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    Logger.warn("Préchargement de " + name + " impossible, il sera chargé à la première utilisation : "
+                            + cause.getMessage());
+                }
+            });
+        }
+
+        T get() {
+            T result = value;
+            if (result == null) {
+                synchronized (this) {
+                    result = value;
+                    if (result == null) {
+                        result = factory.get();
+                        value = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Sets the loading settings of the managers. Must be called before the first {@link #get()}.
+     *
+     * @param managerConfig the loading settings
+     * @throws IllegalStateException if the context already exists
+     */
+    public static synchronized void configure(ManagerConfig managerConfig) {
+        if (instance != null)
+            throw new IllegalStateException("ManagerContext already created.");
+        config = managerConfig;
+    }
+
      /**
      * Returns the singleton instance of {@code ManagerContext}.
      *
      * @return the global {@code ManagerContext} instance
      */
-    public static ManagerContext get() {
+    public static synchronized ManagerContext get() {
         if (instance == null)
-            instance = new ManagerContext();
+            instance = new ManagerContext(config);
 
         return instance;
     }
 
      /**
-     * Initializes all managers.
+     * Prepares the managers without loading them.
      * Private to enforce singleton usage.
+     *
+     * @param config the loading settings
+     */
+    private ManagerContext(ManagerConfig config) {
+        this.rescuerManager = new Lazy<>("RescuerManager", () -> new RescuerManager(config));
+        this.dpsManager = new Lazy<>("DPSManager", DPSManager::new);
+        this.sportManager = new Lazy<>("SportManager", SportManager::new);
+        this.dayManager = new Lazy<>("DayManager", DayManager::new);
+        this.siteManager = new Lazy<>("SiteManager", SiteManager::new);
+        this.incrementalAssignmentService = new Lazy<>("IncrementalAssignmentService",
+                () -> new IncrementalAssignmentService(
+                        new TimeSlotAssigner(getDayManager(), TimeSlotAssigner.Mode.OPTIMAL),
+                        getRescuerManager()::getAll, getRescuerManager()::update));
+    }
+
+    /**
+     * Starts loading every manager in the background, each on its own thread, so that they load
+     * concurrently and without blocking the caller.
+     *
+     * @return completes once every manager is loaded, or exceptionally if one of them failed to
+     *         load; failures are logged and the manager is loaded again on first access
      */
-    private ManagerContext() {
-        this.rescuerManager = new RescuerManager();
-        this.dpsManager = new DPSManager();
-        this.sportManager = new SportManager();
-        this.dayManager = new DayManager();
-        this.siteManager = new SiteManager();
+    public CompletableFuture<Void> preload() {
+        AtomicInteger numero = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(5, r -> {
+            Thread thread = new Thread(r, "manager-loader-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long debut = System.nanoTime();
+        CompletableFuture<Void> all = CompletableFuture.allOf(
+                rescuerManager.preload(executor),
+                dpsManager.preload(executor),
+                sportManager.preload(executor),
+                dayManager.preload(executor),
+                siteManager.preload(executor));
+        executor.shutdown(); // les chargements soumis se terminent, les threads s'arrêtent ensuite
+        return all.whenComplete((ignored, error) -> {
+            if (error == null) {
+                Logger.info(String.format("Managers preloaded in %.1f ms", (System.nanoTime() - debut) / 1e6));
+            }
+        });
     }
 
     /**
      * @return the {@link DPSManager} instance
      */
     public DPSManager getDpsManager() {
-        return dpsManager;
+        return dpsManager.get();
     }
 
     /**
      * @return the {@link RescuerManager} instance
      */
     public RescuerManager getRescuerManager() {
-        return rescuerManager;
+        return rescuerManager.get();
     }
 
     /**
      * @return the {@link SportManager} instance
      */
     public SportManager getSportManager() {
-        return sportManager;
+        return sportManager.get();
     }
 
     /**
      * @return the {@link DayManager} instance
      */
     public DayManager getDayManager() {
-        return dayManager;
+        return dayManager.get();
     }
 
     /**
      * @return the {@link SiteManager} instance
      */
     public SiteManager getSiteManager() {
-        return siteManager;
+        return siteManager.get();
+    }
+
+    /**
+     * @return the {@link IncrementalAssignmentService} instance
+     */
+    public IncrementalAssignmentService getIncrementalAssignmentService() {
+        return incrementalAssignmentService.get();
     }
 }
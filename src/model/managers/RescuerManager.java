@@ -1,31 +1,202 @@
 package model.managers;
 
+import core.records.ManagerConfig;
 import model.dao.DAORescuer;
 import model.persistence.Rescuer;
+import model.persistence.Skill;
 import util.Logger;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 /**
  * Manages all rescuer entities: loading from the DAO, caching, and synchronizing updates.
  * <p>
  * Provides CRUD operations (create, read, update, delete) and handles ID uniqueness.
  * </p>
+ * <p>
+ * The cache is indexed by ID, in loading order, and by identifier, so lookups do not
+ * depend on the number of rescuers. Two inverted indexes answer "who holds this skill"
+ * (one bitset of rescuer IDs per skill) and "who is assigned to this DPS". They reflect the
+ * rescuers as last saved through this manager: a rescuer changed in place is re-indexed by
+ * {@link #update(Rescuer)} or {@link #updateAssignments(Collection, Collection)}.
+ * </p>
+ * <p>
+ * In lazy mode ({@link ManagerConfig#lazy()}), nothing is loaded at creation. Rescuers are
+ * loaded one at a time when looked up, and the cache becomes a working set of at most
+ * {@link ManagerConfig#workingSetSize()} rescuers, the least recently used being dropped first.
+ * {@link #getAll()} then reads the table page by page, and the skill and DPS queries are
+ * answered by the database.
+ * </p>
  *
  * @author ResQ360
  */
 public final class RescuerManager {
 
-    private final List<Rescuer> cache;
+    private final Map<Integer, Rescuer> cache;           // par ID, dans l'ordre de chargement (ou d'usage en mode paresseux)
+    private final Map<String, Rescuer> byIdentifier;
+    private final Map<Skill, BitSet> idsBySkill;            // bit i = secouriste d'ID i
+    private final Map<Integer, Set<Integer>> idsByDps;
+    private final Map<Integer, Set<Integer>> indexedAssignments; // affectations indexées, par secouriste
+    private int assignmentCount;
+    private final ManagerConfig config;
     private final DAORescuer dao;
 
     /**
-     * Constructor that initializes the DAO and loads all rescuers into memory.
+     * Constructor that initializes the DAO and, unless the configuration is lazy,
+     * loads all rescuers into memory.
+     *
+     * @param config the loading settings
      */
-    RescuerManager() {
-        this.cache = new ArrayList<>();
+    RescuerManager(ManagerConfig config) {
+        this.config = config;
+        this.cache = config.lazy() ? workingSet(config.workingSetSize()) : new LinkedHashMap<>();
+        this.byIdentifier = new HashMap<>();
+        this.idsBySkill = new EnumMap<>(Skill.class);
+        for (Skill skill : Skill.values()) {
+            idsBySkill.put(skill, new BitSet());
+        }
+        this.idsByDps = new HashMap<>();
+        this.indexedAssignments = new HashMap<>();
         this.dao = new DAORescuer();
-        this.cache.addAll(dao.getAll());
+        if (!config.lazy()) {
+            for (Rescuer rescuer : dao.getAll()) {
+                index(rescuer);
+            }
+        }
+    }
+
+    /**
+     * Creates the cache used in lazy mode: ordered by last use, it drops the least recently
+     * used rescuer, and its index entries, beyond {@code size} rescuers.
+     *
+     * @param size the maximum number of rescuers kept
+     * @return an empty working set
+     */
+    private Map<Integer, Rescuer> workingSet(int size) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Rescuer> eldest) {
+                if (size() <= size) {
+                    return false;
+                }
+                unindex(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Adds a rescuer to the cache and every index, replacing any rescuer with the same ID.
+     *
+     * @param rescuer the rescuer to index
+     */
+    private void index(Rescuer rescuer) {
+        int id = rescuer.getId();
+        Rescuer previous = cache.put(id, rescuer);
+        if (previous != null) {
+            unindex(previous);
+        }
+        byIdentifier.put(rescuer.getIdentifier(), rescuer);
+        for (String skillName : rescuer.getSkills()) {
+            Skill skill = toSkill(skillName);
+            if (skill != null) {
+                idsBySkill.get(skill).set(id);
+            }
+        }
+        Set<Integer> assignments = new LinkedHashSet<>(rescuer.getAssignments());
+        indexedAssignments.put(id, assignments);
+        for (int idDPS : assignments) {
+            idsByDps.computeIfAbsent(idDPS, k -> new LinkedHashSet<>()).add(id);
+        }
+        assignmentCount += assignments.size();
+    }
+
+    /**
+     * Removes a rescuer from the secondary indexes, using the assignments it was indexed with.
+     * The rescuer stays in the ID cache.
+     *
+     * @param rescuer the rescuer to remove
+     */
+    private void unindex(Rescuer rescuer) {
+        int id = rescuer.getId();
+        byIdentifier.remove(rescuer.getIdentifier(), rescuer);
+        for (BitSet ids : idsBySkill.values()) {
+            ids.clear(id);
+        }
+        Set<Integer> assignments = indexedAssignments.remove(id);
+        if (assignments != null) {
+            for (int idDPS : assignments) {
+                unindexAssignment(id, idDPS);
+            }
+            assignmentCount -= assignments.size();
+        }
+    }
+
+    /**
+     * Removes one rescuer from the index of a DPS.
+     */
+    private void unindexAssignment(int idRescuer, int idDPS) {
+        Set<Integer> ids = idsByDps.get(idDPS);
+        if (ids != null && ids.remove(idRescuer) && ids.isEmpty()) {
+            idsByDps.remove(idDPS);
+        }
+    }
+
+    /**
+     * @param skillName the name of a skill, as stored on a rescuer
+     * @return the matching skill, or null if the name is unknown
+     */
+    private static Skill toSkill(String skillName) {
+        try {
+            return Skill.valueOf(skillName);
+        } catch (IllegalArgumentException e) {
+            Logger.debug("Compétence inconnue : " + skillName);
+            return null;
+        }
+    }
+
+    /**
+     * Keeps a rescuer read from the database in the working set, unless it is an admin.
+     * If the rescuer is already loaded, the loaded instance is kept, since it may hold
+     * changes not saved yet.
+     *
+     * @param loaded the rescuer read from the database, or null
+     * @return the cached rescuer, or null if loaded is null or an admin
+     */
+    private Rescuer keep(Rescuer loaded) {
+        if (loaded == null || loaded.getAdmin()) {
+            return null;
+        }
+        Rescuer cached = cache.get(loaded.getId());
+        if (cached != null) {
+            return cached;
+        }
+        index(loaded);
+        return loaded;
+    }
+
+    /**
+     * Replaces the rescuers read from the database by the loaded instances, when there are.
+     * The others are returned as read, without entering the working set.
+     *
+     * @param loaded the rescuers read from the database
+     * @return the same rescuers, loaded instances first
+     */
+    private List<Rescuer> preferCached(List<Rescuer> loaded) {
+        List<Rescuer> rescuers = new ArrayList<>(loaded.size());
+        for (Rescuer rescuer : loaded) {
+            Rescuer cached = cache.get(rescuer.getId());
+            rescuers.add(cached != null ? cached : rescuer);
+        }
+        return rescuers;
     }
 
     /**
@@ -35,10 +206,12 @@ public final class RescuerManager {
      * @return the matching {@link Rescuer} or null if not found
      */
     public Rescuer get(int id) {
-        for (Rescuer rescuer : this.cache) {
-            if (rescuer.getId() == id) {
-                return rescuer;
-            }
+        Rescuer rescuer = cache.get(id);
+        if (rescuer == null && config.lazy()) {
+            rescuer = keep(dao.get(id));
+        }
+        if (rescuer != null) {
+            return rescuer;
         }
         Logger.debug("No rescuer found with ID: " + id);
         return null;
@@ -51,8 +224,14 @@ public final class RescuerManager {
      * @return the matching {@link Rescuer} or null if not found
      */
     public Rescuer get(String identifier) {
-        for (Rescuer rescuer : this.cache) {
-            if (rescuer.getIdentifier().equals(identifier)) {
+        Rescuer rescuer = byIdentifier.get(identifier);
+        // un secouriste modifié sur place peut avoir changé d'identifiant depuis son indexation
+        if (rescuer != null && rescuer.getIdentifier().equals(identifier)) {
+            return rescuer;
+        }
+        if (config.lazy()) {
+            rescuer = keep(dao.getByIdentifier(identifier));
+            if (rescuer != null) {
                 return rescuer;
             }
         }
@@ -61,16 +240,81 @@ public final class RescuerManager {
     }
 
     /**
-     * Generates a unique ID for a new rescuer based on the current maximum in the cache.
+     * Returns the rescuers holding a skill.
+     *
+     * @param skill the skill
+     * @return the rescuers holding it, in ID order
+     */
+    public List<Rescuer> getWithSkill(Skill skill) {
+        if (config.lazy()) {
+            return preferCached(dao.getWithSkill(skill.name()));
+        }
+        BitSet ids = idsBySkill.get(skill);
+        List<Rescuer> rescuers = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            rescuers.add(cache.get(id));
+        }
+        return rescuers;
+    }
+
+    /**
+     * Counts the rescuers holding a skill.
+     *
+     * @param skill the skill
+     * @return the number of rescuers holding it
+     */
+    public int countWithSkill(Skill skill) {
+        if (config.lazy()) {
+            return dao.countWithSkill(skill.name());
+        }
+        return idsBySkill.get(skill).cardinality();
+    }
+
+    /**
+     * Returns the rescuers assigned to a DPS.
+     *
+     * @param idDPS the DPS ID
+     * @return the rescuers assigned to it, possibly empty
+     */
+    public List<Rescuer> getAssignedTo(int idDPS) {
+        if (config.lazy()) {
+            return preferCached(dao.getAssignedTo(idDPS));
+        }
+        Set<Integer> ids = idsByDps.get(idDPS);
+        List<Rescuer> rescuers = new ArrayList<>(ids == null ? 0 : ids.size());
+        if (ids != null) {
+            for (int id : ids) {
+                rescuers.add(cache.get(id));
+            }
+        }
+        return rescuers;
+    }
+
+    /**
+     * @return the total number of assignments, all rescuers included
+     */
+    public int getAssignmentCount() {
+        if (config.lazy()) {
+            return dao.countAssignments();
+        }
+        return assignmentCount;
+    }
+
+    /**
+     * Generates a unique ID for a new rescuer based on the current maximum in the cache,
+     * or in the database in lazy mode.
      *
-     * @param cache the current list of rescuers
+     * @param cache the current rescuers, by ID
      * @return a new unique ID
      */
-    private int generateId(List<Rescuer> cache) {
+    private int generateId(Map<Integer, Rescuer> cache) {
+        if (config.lazy()) {
+            return dao.getMaxId() + 1;
+        }
         int maxId = 0;
-        for (Rescuer r : cache)
-            if (r.getId() > maxId)
-                maxId = r.getId();
+        for (int id : cache.keySet())
+            if (id > maxId)
+                maxId = id;
 
         return maxId + 1;
     }
@@ -88,7 +332,7 @@ public final class RescuerManager {
         }
 
         if (dao.insert(rescuer)) {
-            this.cache.add(rescuer);
+            index(rescuer);
             Logger.info("Rescuer inserted and cached with ID: " + rescuer.getId());
         } else {
             Logger.error("Failed to insert rescuer into database.");
@@ -108,14 +352,48 @@ public final class RescuerManager {
         }
 
         if (dao.update(updatedRescuer)) {
-            int index = cache.indexOf(existing);
-            cache.set(index, updatedRescuer);
+            index(updatedRescuer);
             Logger.info("Rescuer updated in DB and cache.");
         } else {
             Logger.error("Failed to update rescuer in database.");
         }
     }
 
+    /**
+     * Saves a set of assignment changes in one batched transaction. The cached rescuers are
+     * expected to already hold the new assignments.
+     *
+     * @param removed the assignment links to delete
+     * @param added   the assignment links to insert
+     * @return true if the changes were saved, false otherwise
+     */
+    public boolean updateAssignments(Collection<DAORescuer.AssignmentLink> removed,
+                                     Collection<DAORescuer.AssignmentLink> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return true;
+        }
+        if (dao.updateAssignments(removed, added)) {
+            for (DAORescuer.AssignmentLink link : removed) {
+                Set<Integer> assignments = indexedAssignments.get(link.idRescuer());
+                if (assignments != null && assignments.remove(link.idDPS())) {
+                    unindexAssignment(link.idRescuer(), link.idDPS());
+                    assignmentCount--;
+                }
+            }
+            for (DAORescuer.AssignmentLink link : added) {
+                Set<Integer> assignments = indexedAssignments.get(link.idRescuer());
+                if (assignments != null && assignments.add(link.idDPS())) {
+                    idsByDps.computeIfAbsent(link.idDPS(), k -> new LinkedHashSet<>()).add(link.idRescuer());
+                    assignmentCount++;
+                }
+            }
+            Logger.info("Assignments saved: " + added.size() + " added, " + removed.size() + " removed.");
+            return true;
+        }
+        Logger.error("Failed to save assignments in database.");
+        return false;
+    }
+
     /**
      * Removes a rescuer from the database and cache by ID.
      *
@@ -129,20 +407,58 @@ public final class RescuerManager {
         }
 
         if (dao.delete(id)) {
-            this.cache.remove(rescuerToRemove);
+            cache.remove(id);
+            unindex(rescuerToRemove);
             Logger.info("Rescuer with ID " + id + " has been removed.");
         } else {
             Logger.error("Failed to delete rescuer from database.");
         }
     }
 
+    /**
+     * Returns one page of rescuers, ordered by ID. In eager mode the page is taken from the
+     * cache; in lazy mode it is read from the database.
+     *
+     * @param afterId the last ID of the previous page, or {@link Integer#MIN_VALUE} for the first page
+     * @param limit the maximum number of rescuers to return
+     * @return the rescuers with an ID greater than afterId, at most limit of them
+     */
+    public List<Rescuer> getPage(int afterId, int limit) {
+        if (config.lazy()) {
+            return preferCached(dao.getPage(afterId, limit));
+        }
+        List<Rescuer> page = new ArrayList<>();
+        for (Rescuer rescuer : cache.values()) {
+            if (rescuer.getId() > afterId) {
+                page.add(rescuer);
+            }
+        }
+        page.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+        return page.size() > limit ? new ArrayList<>(page.subList(0, limit)) : page;
+    }
+
     /**
      * Returns all rescuers in the system (defensive copy).
+     * In lazy mode, they are read page by page and only the rescuers already in the
+     * working set are cached instances.
      *
      * @return list of all {@link Rescuer}
      */
     public List<Rescuer> getAll() {
-        return new ArrayList<>(this.cache); // copie défensive
+        if (!config.lazy()) {
+            return new ArrayList<>(this.cache.values()); // copie défensive
+        }
+        List<Rescuer> rescuers = new ArrayList<>();
+        List<Rescuer> page;
+        int afterId = Integer.MIN_VALUE;
+        do {
+            page = getPage(afterId, config.pageSize());
+            rescuers.addAll(page);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == config.pageSize());
+        return rescuers;
     }
 
     /**
@@ -152,7 +468,7 @@ public final class RescuerManager {
      * @param cache the new list of rescuers to use
      */
     public void setAll(List<Rescuer> cache) {
-        for (Rescuer resc : this.cache) {
+        for (Rescuer resc : getAll()) {
             remove(resc.getId());
         }
         for (Rescuer resc : cache) {
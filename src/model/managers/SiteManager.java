@@ -5,25 +5,29 @@ import model.persistence.Site;
 import util.Logger;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 /**
  * Manages operations related to Site objects: add, remove, update, and retrieve.
- * Uses a local cache to reduce database queries.
+ * Uses a local cache, indexed by site code, to reduce database queries.
  * All changes are synchronized with the database using a DAO.
  * 
  * Author: ResQ360
  */
 public class SiteManager {
-    private final List<Site> cache;
+    private final Map<String, Site> cache; // par code, dans l'ordre de chargement
     private final DAOSite dao;
 
     /**
      * Initializes the manager and loads all sites from the database into the cache.
      */
     SiteManager() {
-        cache = new ArrayList<>();
+        cache = new LinkedHashMap<>();
         dao = new DAOSite();
-        this.cache.addAll(dao.getAll());
+        for (Site site : dao.getAll()) {
+            cache.put(site.getCode(), site);
+        }
     }
 
     /**
@@ -33,12 +37,7 @@ public class SiteManager {
      * @return the matching Site, or null if not found
      */
     public Site get(String index) {
-        for(Site site: cache){
-            if(site.getCode().equals(index)){
-                return site;
-            }
-        }
-        return null;
+        return cache.get(index);
     }
 
     /**
@@ -70,7 +69,7 @@ public class SiteManager {
             return;
         }
         if (dao.insert(site)) {
-            this.cache.add(site);
+            this.cache.put(site.getCode(), site);
         }else {
             Logger.warn("SQL failed");
         }
@@ -87,17 +86,17 @@ public class SiteManager {
             return;
         }
         if (dao.delete(code)) {
-            this.cache.remove(get(code));
+            this.cache.remove(code);
         } else {Logger.warn("SQL failed");}
     }
 
     /**
      * Returns the full list of cached sites.
      * 
-     * @return the list of all sites
+     * @return a copy of the list of all sites
      */
     public List<Site> getAll(){
-        return cache;
+        return new ArrayList<>(cache.values());
     }
 
     /**
@@ -106,7 +105,7 @@ public class SiteManager {
      * @param cache the new list of sites
      */
     public void setAll(List<Site> cache) {
-        for (Site site:this.cache) {
+        for (Site site:getAll()) {
             remove(site.getCode());
         }
         for (Site site: cache) {
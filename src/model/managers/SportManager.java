@@ -5,23 +5,27 @@ import model.persistence.Sport;
 import util.Logger;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manager class for handling Sport entities.
- * Manages a local cache and ensures synchronization with the database through DAOSport.
+ * Manages a local cache, indexed by sport code, and ensures synchronization with the database through DAOSport.
  */
 public class SportManager {
-    private final List<Sport> cache;
+    private final Map<String, Sport> cache; // par code, dans l'ordre de chargement
     private final DAOSport dao;
 
      /**
      * Initializes the sport manager by loading all sports from the database into the cache.
      */
     SportManager() {
-        cache = new ArrayList<>();
+        cache = new LinkedHashMap<>();
         dao = new DAOSport();
-        this.cache.addAll(dao.getAll());
+        for (Sport sport : dao.getAll()) {
+            cache.put(sport.getCode(), sport);
+        }
     }
 
     /**
@@ -31,20 +35,15 @@ public class SportManager {
      * @return the matching Sport, or null if not found
      */
     public Sport getSport(String index){
-        for(Sport sport: cache){
-            if(sport.getCode().equals(index)){
-                return sport;
-            }
-        }
-        return null;
+        return cache.get(index);
     }
      /**
      * Returns the entire list of cached sports.
      *
-     * @return the list of sports
+     * @return a copy of the list of sports
      */
     public List<Sport> getCache(){
-        return cache;
+        return new ArrayList<>(cache.values());
     }
 
    /**
@@ -58,7 +57,7 @@ public class SportManager {
             return;
         }
         if(dao.insert(sport)){
-            this.cache.add(sport);
+            this.cache.put(sport.getCode(), sport);
         }else{
             Logger.warn("SQL failed");
         }
@@ -91,7 +90,7 @@ public class SportManager {
             return;
         }
         if(dao.delete(code)){
-            this.cache.remove(getSport(code));
+            this.cache.remove(code);
         }
     }
 
@@ -101,7 +100,7 @@ public class SportManager {
      * @param sports the new list of sports
      */
     public void setAll(List<Sport> sports) {
-        for(Sport sport:this.cache){
+        for(Sport sport:getCache()){
             removeSport(sport.getCode());
         }
         for(Sport sport:sports){
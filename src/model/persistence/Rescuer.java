@@ -95,6 +95,23 @@ public class Rescuer {
         this.fName = fName;
     }
 
+    /**
+     * Copy constructor: the copy has its own skill and assignment lists.
+     *
+     * @param other the rescuer to copy
+     */
+    public Rescuer(Rescuer other) {
+        this.id = other.id;
+        this.identifier = other.identifier;
+        this.email = other.email;
+        this.skills = new ArrayList<>(other.skills);
+        this.assignments = new ArrayList<>(other.assignments);
+        this.password = other.password;
+        this.admin = other.admin;
+        this.name = other.name;
+        this.fName = other.fName;
+    }
+
     // Getters and Setters
     public int getId() { 
         return id; 
@@ -143,7 +160,7 @@ public class Rescuer {
     }
 
     public void removeAssignment(int dpsId) {
-        this.assignments.remove(dpsId);
+        this.assignments.remove(Integer.valueOf(dpsId));
     }
 
     public String getPassword() { return password; }
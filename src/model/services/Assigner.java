@@ -1,17 +1,24 @@
 package model.services;
 
+import model.dao.DAORescuer;
 import model.graph.adaptation.BesoinsAdapter;
 import model.managers.RescuerManager;
 import model.persistence.Rescuer;
 import util.Logger;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * Service class that applies DPS-rescuer assignments based on an assignment matrix.
+ * Service class that applies DPS-rescuer assignments computed by the assignment engines.
  *
- * <p>This class uses data from {@link BesoinsAdapter.ResultatAdaptation} to
- * update rescuers with their assigned DPS based on a precomputed matrix.</p>
+ * <p>This class uses data from {@link BesoinsAdapter.ResultatAdaptationCompacte} to
+ * update rescuers with their assigned DPS, then saves the new assignments in a single
+ * batched transaction.</p>
  *
  * @author ResQ360
  */
@@ -29,34 +36,68 @@ public class Assigner {
     }
 
     /**
-     * Applies assignments from a matrix to the corresponding rescuers.
+     * Applies an assignment to the corresponding rescuers and saves them.
      *
-     * <p>The matrix indicates which rescuer (row) is assigned to which DPS (column).
-     * The mapping of column indices to DPS IDs is provided by the {@code correspondanceColonnes} list.</p>
+     * <p>The rows of the assignment follow the order of {@link RescuerManager#getAll()},
+     * which is the list the adaptation was built from.</p>
      *
-     * <p>If a rescuer is not found for a row index, a warning is logged and the row is skipped.</p>
+     * @param resultat the row of each column and the column-to-DPS mapping
+     * @return true if the new assignments were saved, false otherwise
+     */
+    public boolean applyAssignments(BesoinsAdapter.ResultatAdaptationCompacte resultat) {
+        return applyAssignments(resultat, rescuerManager.getAll());
+    }
+
+    /**
+     * Applies an assignment to the corresponding rescuers and saves them.
+     *
+     * <p>Column {@code j} is assigned to the rescuer at index {@code ligneParColonne[j]} of
+     * {@code rescuers}, and the mapping of column indices to DPS IDs is provided by the
+     * {@code correspondanceColonnes} list. Only the assigned columns are read, so the cost
+     * does not grow with rescuers x columns.</p>
+     *
+     * <p>Only the assignments the rescuers did not already have are written, in one batched
+     * transaction. If saving fails, they are removed from the rescuers again so that memory
+     * and database stay in sync.</p>
+     *
+     * <p>The rescuers of the list are updated directly, without looking them up again in the
+     * manager: in lazy mode, they may not all be in its working set.</p>
      *
-     * @param resultatAdaptation object containing the assignment matrix and column-to-DPS mapping
+     * @param resultat the row of each column and the column-to-DPS mapping
+     * @param rescuers the rescuers the rows were built from
+     * @return true if the new assignments were saved, false otherwise
      */
-    public void applyAssignments(BesoinsAdapter.ResultatAdaptation resultatAdaptation) {
-        int[][] assignmentMatrix = resultatAdaptation.matrice();
-        List<BesoinsAdapter.DPSColonneInfo> correspondanceColonnes = resultatAdaptation.correspondanceColonnes();
-
-        for (int i = 0; i < assignmentMatrix.length; i++) {
-            Rescuer rescuer = rescuerManager.get(i);
-            if (rescuer == null) {
-                Logger.warn("No rescuer found with ID " + i);
+    public boolean applyAssignments(BesoinsAdapter.ResultatAdaptationCompacte resultat, List<Rescuer> rescuers) {
+        int[] ligneParColonne = resultat.ligneParColonne();
+        List<BesoinsAdapter.DPSColonneInfo> correspondanceColonnes = resultat.correspondanceColonnes();
+        List<DAORescuer.AssignmentLink> added = new ArrayList<>();
+        List<Rescuer> addedTo = new ArrayList<>(); // secouriste de chaque lien ajouté
+        Map<Integer, Set<Integer>> currentByRow = new HashMap<>(); // affectations des lignes déjà vues
+
+        for (int j = 0; j < ligneParColonne.length; j++) {
+            int row = ligneParColonne[j];
+            if (row == BesoinsAdapter.ResultatAdaptationCompacte.LIBRE) {
                 continue;
             }
-            for (int j = 0; j < assignmentMatrix[i].length; j++) {
-                if (assignmentMatrix[i][j] == 1) {
-                    int idDPS = correspondanceColonnes.get(j).idDPS();
-
-                    rescuer.addAssignment(idDPS);
-
-                    Logger.info("Assigned DPS ID " + idDPS + " to rescuer " + i);
-                }
+            Rescuer rescuer = rescuers.get(row);
+            Set<Integer> current = currentByRow.computeIfAbsent(row, k -> new HashSet<>(rescuer.getAssignments()));
+            int idDPS = correspondanceColonnes.get(j).idDPS();
+            if (current.add(idDPS)) {
+                rescuer.addAssignment(idDPS);
+                added.add(new DAORescuer.AssignmentLink(rescuer.getId(), idDPS));
+                addedTo.add(rescuer);
+                Logger.debug("Assigned DPS ID " + idDPS + " to rescuer " + rescuer.getId());
             }
         }
+
+        if (rescuerManager.updateAssignments(List.of(), added)) {
+            Logger.info(added.size() + " new assignment(s) applied.");
+            return true;
+        }
+        // rien n'a été enregistré : on retire les affectations ajoutées en mémoire
+        for (int k = 0; k < added.size(); k++) {
+            addedTo.get(k).removeAssignment(added.get(k).idDPS());
+        }
+        return false;
     }
 }
@@ -0,0 +1,310 @@
+package model.services;
+
+import model.graph.adaptation.BesoinsAdapter;
+import model.graph.algorithme.SuiviRecherche;
+import model.persistence.DPS;
+import model.persistence.Rescuer;
+import util.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs an {@link AssignmentOrchestrator} in the background.
+ *
+ * <p>The run is submitted to a background executor so the caller's thread, typically the JavaFX
+ * Application Thread, is never blocked. While it runs, the job streams its {@link Progress}:
+ * slots solved, search nodes explored and the number of assignments of the best solution found
+ * so far. Progress and the result are handed to a publisher executor, so a controller passes
+ * {@code Platform::runLater} and can update its widgets directly; progress is coalesced and sent
+ * at most every {@value #PUBLISH_INTERVAL_MILLIS} ms.</p>
+ *
+ * <p>Cancellation is cooperative: {@link #cancel()} raises a flag that the engines check while
+ * they search. Slots not started yet are skipped, the running ones stop at their next check,
+ * and the future then fails with a {@link CancellationException}.</p>
+ *
+ * <p>Only one job runs at a time in the application, whichever screen started it: see
+ * {@link #running()}. The engines work on copies of the rescuers, so the screens can keep
+ * editing them; the result is checked again against the rescuers before it is returned.</p>
+ *
+ * <pre>{@code
+ * AssignmentJob job = new AssignmentJob(orchestrator, Platform::runLater, this::showProgress);
+ * job.start(rescuers, dpsList).whenComplete((report, error) -> ...); // runs on the FX thread
+ * }</pre>
+ *
+ * @author ResQ360
+ */
+public final class AssignmentJob {
+
+    /**
+     * Progress of a run.
+     *
+     * @param slotsSolved    the number of slots solved
+     * @param slotsTotal     the number of slots of the run, 0 before the DPS are partitioned
+     * @param nodesExplored  the search nodes explored by the exhaustive engine, 0 for the others
+     * @param bestMatchCount the number of assignments of the best solutions found so far, over all slots
+     */
+    public record Progress(int slotsSolved, int slotsTotal, long nodesExplored, int bestMatchCount) { }
+
+    /** Minimum delay between two progress updates sent to the publisher. */
+    public static final long PUBLISH_INTERVAL_MILLIS = 100;
+
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "assignment-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicReference<AssignmentJob> RUNNING = new AtomicReference<>();
+
+    private final AssignmentOrchestrator orchestrator;
+    private final Executor executor;
+    private final Executor publisher;
+    private final Consumer<Progress> onProgress;
+
+    private final CompletableFuture<AssignmentOrchestrator.Report> result = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean publishPending = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile long lastPublish;
+
+    private volatile SlotProgress slots = new SlotProgress(0); // remplacé au partitionnement
+    private final AtomicInteger solved = new AtomicInteger();
+
+    /**
+     * Nodes explored and best match count of each slot.
+     */
+    private record SlotProgress(AtomicLongArray nodes, AtomicIntegerArray best) {
+        SlotProgress(int nbSlots) {
+            this(new AtomicLongArray(nbSlots), new AtomicIntegerArray(nbSlots));
+        }
+    }
+
+    /**
+     * Creates a job running on the shared assignment thread.
+     *
+     * @param orchestrator the orchestrator to run
+     * @param publisher    the executor progress and the result are delivered on
+     * @param onProgress   receives the progress, on the publisher
+     */
+    public AssignmentJob(AssignmentOrchestrator orchestrator, Executor publisher, Consumer<Progress> onProgress) {
+        this(orchestrator, DEFAULT_EXECUTOR, publisher, onProgress);
+    }
+
+    /**
+     * Creates a job running on the given executor.
+     *
+     * @param orchestrator the orchestrator to run
+     * @param executor     the executor the run is submitted to
+     * @param publisher    the executor progress and the result are delivered on
+     * @param onProgress   receives the progress, on the publisher
+     */
+    public AssignmentJob(AssignmentOrchestrator orchestrator, Executor executor, Executor publisher,
+                         Consumer<Progress> onProgress) {
+        this.orchestrator = orchestrator;
+        this.executor = executor;
+        this.publisher = publisher;
+        this.onProgress = onProgress;
+    }
+
+    /**
+     * @return the job currently running in the application, or null
+     */
+    public static AssignmentJob running() {
+        return RUNNING.get();
+    }
+
+    /**
+     * Starts the run in the background. The final progress is published first, then the
+     * returned future completes on the publisher: actions attached to it with non-async methods
+     * run there. It fails with a {@link CancellationException} if the job was cancelled.
+     *
+     * <p>The run solves copies of the rescuers taken here, so this must be called on the thread
+     * that edits them. When it ends, an assignment is dropped if its rescuer, edited meanwhile,
+     * lost the skill or took another DPS of the same slot.</p>
+     *
+     * @param rescuers the rescuers available, rows of the result
+     * @param dpsList  the DPS to staff
+     * @return the report of the run
+     * @throws IllegalStateException if the job was already started, or another job is running
+     */
+    public CompletableFuture<AssignmentOrchestrator.Report> start(List<Rescuer> rescuers, List<DPS> dpsList) {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("Assignment job already started.");
+        }
+        if (!RUNNING.compareAndSet(null, this)) {
+            throw new IllegalStateException("Another assignment job is running.");
+        }
+        List<Rescuer> copies = new ArrayList<>(rescuers.size());
+        for (Rescuer rescuer : rescuers) {
+            copies.add(new Rescuer(rescuer));
+        }
+        CompletableFuture.supplyAsync(() -> orchestrator.run(copies, dpsList, new Monitor()), executor)
+                .whenComplete((report, error) -> publisher.execute(() -> {
+                    RUNNING.set(null);
+                    onProgress.accept(getProgress());
+                    if (error == null) {
+                        result.complete(retainEligible(report, rescuers));
+                    } else {
+                        result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error);
+                    }
+                }));
+        return result;
+    }
+
+    /**
+     * @return the result of the run, completed as described in {@link #start}
+     */
+    public CompletableFuture<AssignmentOrchestrator.Report> getResult() {
+        return result;
+    }
+
+    /**
+     * Asks the run to stop. The engines notice it at their next check.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if {@link #cancel()} was called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return the current progress of the run
+     */
+    public Progress getProgress() {
+        SlotProgress courant = slots;
+        long totalNoeuds = 0;
+        int totalMeilleurs = 0;
+        for (int i = 0; i < courant.best().length(); i++) {
+            totalNoeuds += courant.nodes().get(i);
+            totalMeilleurs += courant.best().get(i);
+        }
+        return new Progress(solved.get(), courant.best().length(), totalNoeuds, totalMeilleurs);
+    }
+
+    /**
+     * Drops the assignments the rescuers can no longer take: they were edited while the run
+     * solved their copies, and now lack the skill or hold another DPS of the same slot.
+     */
+    private static AssignmentOrchestrator.Report retainEligible(AssignmentOrchestrator.Report report,
+                                                                List<Rescuer> rescuers) {
+        Map<Integer, Set<Integer>> slotDps = new HashMap<>(); // DPS du créneau, par ID de DPS
+        for (AssignmentOrchestrator.SlotTiming timing : report.timings()) {
+            Set<Integer> ids = new HashSet<>();
+            for (DPS dps : timing.slot().dpsList()) {
+                ids.add(dps.getId());
+            }
+            for (int id : ids) {
+                slotDps.put(id, ids);
+            }
+        }
+
+        BesoinsAdapter.ResultatAdaptationCompacte resultat = report.resultat();
+        int[] ligneParColonne = resultat.ligneParColonne().clone();
+        int dropped = 0;
+        for (int j = 0; j < ligneParColonne.length; j++) {
+            if (ligneParColonne[j] == BesoinsAdapter.ResultatAdaptationCompacte.LIBRE) {
+                continue;
+            }
+            Rescuer rescuer = rescuers.get(ligneParColonne[j]);
+            BesoinsAdapter.DPSColonneInfo info = resultat.correspondanceColonnes().get(j);
+            boolean eligible = BesoinsAdapter.possedeCompetence(rescuer.getSkills(), info.idCompetence());
+            for (int held : rescuer.getAssignments()) {
+                if (held != info.idDPS() && slotDps.getOrDefault(info.idDPS(), Set.of()).contains(held)) {
+                    eligible = false;
+                }
+            }
+            if (!eligible) {
+                ligneParColonne[j] = BesoinsAdapter.ResultatAdaptationCompacte.LIBRE;
+                dropped++;
+            }
+        }
+        if (dropped == 0) {
+            return report;
+        }
+        Logger.warn(dropped + " assignment(s) dropped: their rescuers changed during the run.");
+        return new AssignmentOrchestrator.Report(new BesoinsAdapter.ResultatAdaptationCompacte(
+                resultat.nbLignes(), ligneParColonne, resultat.correspondanceColonnes()),
+                report.timings(), report.durationNanos());
+    }
+
+    /**
+     * Sends the progress to the publisher unless an update is already waiting there
+     * or the last one is too recent.
+     */
+    private void publish(boolean force) {
+        long now = System.nanoTime();
+        if (!force && now - lastPublish < PUBLISH_INTERVAL_MILLIS * 1_000_000) {
+            return;
+        }
+        if (publishPending.compareAndSet(false, true)) {
+            lastPublish = now;
+            publisher.execute(() -> {
+                publishPending.set(false);
+                onProgress.accept(getProgress());
+            });
+        }
+    }
+
+    /**
+     * Records the progress of each slot and passes the cancellation flag to the orchestrator.
+     */
+    private final class Monitor implements AssignmentOrchestrator.Monitor {
+        @Override
+        public void started(int nbSlots) {
+            slots = new SlotProgress(nbSlots);
+            publish(true);
+        }
+
+        @Override
+        public SuiviRecherche search(int slot) {
+            return new SuiviRecherche() {
+                @Override
+                public void progression(long noeudsExplores, int meilleurNombre) {
+                    slots.nodes().set(slot, noeudsExplores);
+                    slots.best().set(slot, meilleurNombre);
+                    publish(false);
+                }
+
+                @Override
+                public boolean estAnnulee() {
+                    return cancelled;
+                }
+            };
+        }
+
+        @Override
+        public void solved(int slot, AssignmentOrchestrator.SlotTiming timing) {
+            slots.best().set(slot, timing.nbAssignments());
+            solved.incrementAndGet();
+            publish(false);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
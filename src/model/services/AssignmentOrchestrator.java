@@ -0,0 +1,222 @@
+package model.services;
+
+import model.graph.adaptation.BesoinsAdapter;
+import model.graph.algorithme.SuiviRecherche;
+import model.persistence.DPS;
+import model.persistence.Rescuer;
+import util.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves the time slots of a {@link TimeSlotAssigner} in parallel.
+ *
+ * <p>Once DPS are grouped into time slots, the matching problems of the slots are independent:
+ * each slot is solved as a separate task on a work-stealing {@link ForkJoinPool}, then the
+ * slot results are merged, in slot order, into a single {@link BesoinsAdapter.ResultatAdaptationCompacte}.
+ * The result is identical to {@link TimeSlotAssigner#assign(List, List)}.</p>
+ *
+ * <p>Slots are read-only while they are solved: rescuers are only updated afterwards,
+ * by {@link Assigner}.</p>
+ *
+ * <p>A {@link Monitor} can follow a run slot by slot and cancel it; {@link AssignmentJob} uses it
+ * to run the orchestrator in the background.</p>
+ *
+ * @author ResQ360
+ */
+public final class AssignmentOrchestrator {
+
+    /**
+     * Timing of one solved slot.
+     *
+     * @param slot          the solved slot
+     * @param nbRescuers    the number of eligible rescuers (rows)
+     * @param nbColumns     the number of need units (columns)
+     * @param nbAssignments the number of assignments found
+     * @param durationNanos the time spent building and solving the slot
+     */
+    public record SlotTiming(TimeSlotAssigner.TimeSlot slot, int nbRescuers, int nbColumns,
+                             int nbAssignments, long durationNanos) { }
+
+    /**
+     * Result of a parallel run.
+     *
+     * @param resultat      the merged assignment, its rows being the rescuers
+     * @param timings       the timing of each slot, in slot order
+     * @param durationNanos the total wall-clock time
+     */
+    public record Report(BesoinsAdapter.ResultatAdaptationCompacte resultat, List<SlotTiming> timings, long durationNanos) { }
+
+    /**
+     * Follows a run. Its methods are called from the threads solving the slots.
+     */
+    public interface Monitor {
+        /**
+         * Monitor that ignores the run and never cancels it.
+         */
+        Monitor NONE = new Monitor() { };
+
+        /**
+         * Called once the DPS are partitioned, before any slot is solved.
+         *
+         * @param nbSlots the number of slots to solve
+         */
+        default void started(int nbSlots) { }
+
+        /**
+         * @param slot the index of the slot about to be solved
+         * @return the listener given to the engine of that slot
+         */
+        default SuiviRecherche search(int slot) {
+            return SuiviRecherche.AUCUN;
+        }
+
+        /**
+         * Called when a slot is solved.
+         *
+         * @param slot   the index of the slot
+         * @param timing the timing of the slot
+         */
+        default void solved(int slot, SlotTiming timing) { }
+
+        /**
+         * @return true to stop the run: slots not started yet are skipped and
+         *         {@link #run(List, List, Monitor)} throws a {@link CancellationException}
+         */
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    private final TimeSlotAssigner timeSlotAssigner;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an orchestrator running on the common pool.
+     *
+     * @param timeSlotAssigner the pipeline used to partition, solve and merge
+     */
+    public AssignmentOrchestrator(TimeSlotAssigner timeSlotAssigner) {
+        this(timeSlotAssigner, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an orchestrator running on the given pool.
+     *
+     * @param timeSlotAssigner the pipeline used to partition, solve and merge
+     * @param pool             the pool the slots are solved on
+     */
+    public AssignmentOrchestrator(TimeSlotAssigner timeSlotAssigner, ForkJoinPool pool) {
+        this.timeSlotAssigner = timeSlotAssigner;
+        this.pool = pool;
+    }
+
+    /**
+     * Partitions the DPS, solves every slot in parallel and merges the results.
+     *
+     * @param rescuers the rescuers available (rows of the merged result)
+     * @param dpsList  the DPS to staff
+     * @return the merged assignment with the timing of each slot
+     */
+    public Report run(List<Rescuer> rescuers, List<DPS> dpsList) {
+        return run(rescuers, dpsList, Monitor.NONE);
+    }
+
+    /**
+     * Partitions the DPS, solves every slot in parallel and merges the results,
+     * reporting each slot to {@code monitor}.
+     *
+     * @param rescuers the rescuers available (rows of the merged result)
+     * @param dpsList  the DPS to staff
+     * @param monitor  follows the run and may cancel it
+     * @return the merged assignment with the timing of each slot
+     * @throws CancellationException if the monitor cancelled the run
+     */
+    public Report run(List<Rescuer> rescuers, List<DPS> dpsList, Monitor monitor) {
+        long debut = System.nanoTime();
+        List<TimeSlotAssigner.TimeSlot> slots = timeSlotAssigner.partition(dpsList);
+        monitor.started(slots.size());
+
+        TimeSlotAssigner.SlotResult[] results = new TimeSlotAssigner.SlotResult[slots.size()];
+        SlotTiming[] timings = new SlotTiming[slots.size()];
+        if (!slots.isEmpty()) {
+            pool.invoke(new SolveSlots(slots, rescuers, monitor, results, timings, 0, slots.size()));
+        }
+        // Un créneau interrompu garde une solution partielle : elle est abandonnée avec les autres
+        if (monitor.isCancelled()) {
+            Logger.info("Assignment run cancelled.");
+            throw new CancellationException("Assignment run cancelled.");
+        }
+
+        BesoinsAdapter.ResultatAdaptationCompacte resultat = timeSlotAssigner.merge(Arrays.asList(results), rescuers);
+        long duree = System.nanoTime() - debut;
+
+        for (SlotTiming timing : timings) {
+            Logger.debug(String.format("Slot of %d DPS (%dx%d): %d assignments in %.2f ms",
+                    timing.slot().dpsList().size(), timing.nbRescuers(), timing.nbColumns(),
+                    timing.nbAssignments(), timing.durationNanos() / 1e6));
+        }
+        Logger.info(String.format("%d slots solved on %d threads in %.2f ms",
+                slots.size(), pool.getParallelism(), duree / 1e6));
+
+        return new Report(resultat, new ArrayList<>(Arrays.asList(timings)), duree);
+    }
+
+    /**
+     * Solves the slots of a range, splitting it in two until a single slot remains.
+     */
+    private final class SolveSlots extends RecursiveAction {
+        private final List<TimeSlotAssigner.TimeSlot> slots;
+        private final List<Rescuer> rescuers;
+        private final Monitor monitor;
+        private final TimeSlotAssigner.SlotResult[] results;
+        private final SlotTiming[] timings;
+        private final int from;
+        private final int to;
+
+        SolveSlots(List<TimeSlotAssigner.TimeSlot> slots, List<Rescuer> rescuers, Monitor monitor,
+                   TimeSlotAssigner.SlotResult[] results, SlotTiming[] timings, int from, int to) {
+            this.slots = slots;
+            this.rescuers = rescuers;
+            this.monitor = monitor;
+            this.results = results;
+            this.timings = timings;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int milieu = (from + to) >>> 1;
+                invokeAll(new SolveSlots(slots, rescuers, monitor, results, timings, from, milieu),
+                        new SolveSlots(slots, rescuers, monitor, results, timings, milieu, to));
+                return;
+            }
+            if (monitor.isCancelled()) {
+                return;
+            }
+            long debut = System.nanoTime();
+            TimeSlotAssigner.SlotResult result = timeSlotAssigner.solve(slots.get(from), rescuers, monitor.search(from));
+            long duree = System.nanoTime() - debut;
+
+            int nbAffectations = 0;
+            for (int[] ligne : result.resultat().matrice()) {
+                for (int val : ligne) {
+                    nbAffectations += val;
+                }
+            }
+            results[from] = result;
+            timings[from] = new SlotTiming(result.slot(), result.rescuers().size(),
+                    result.resultat().correspondanceColonnes().size(), nbAffectations, duree);
+            if (!monitor.isCancelled()) {
+                monitor.solved(from, timings[from]);
+            }
+        }
+    }
+}
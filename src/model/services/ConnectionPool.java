@@ -0,0 +1,436 @@
+package model.services;
+
+import util.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of JDBC connections.
+ *
+ * <p>{@link #borrow()} hands out a connection whose {@code close()} gives it back to the pool
+ * instead of closing it, so DAOs can use one connection per operation with try-with-resources.
+ * At most {@link Config#maxSize()} connections exist at the same time; when all are in use,
+ * callers wait up to {@link Config#borrowTimeoutMillis()}.</p>
+ *
+ * <ul>
+ *     <li>an idle connection is validated before being handed out, and replaced if it is broken;</li>
+ *     <li>a background task closes connections idle for longer than {@link Config#idleTimeoutMillis()},
+ *     keeping {@link Config#minIdle()} of them;</li>
+ *     <li>a connection older than {@link Config#maxLifetimeMillis()} is closed when it comes back
+ *     or is found idle;</li>
+ *     <li>each connection keeps its prepared statements in a {@link StatementCache} of
+ *     {@link Config#statementCacheSize()} entries, keyed by SQL text;</li>
+ *     <li>wait times, pool events and statement cache hits are counted in {@link Stats}.</li>
+ * </ul>
+ *
+ * @author ResQ360
+ */
+public final class ConnectionPool {
+
+    /**
+     * Opens a new physical connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        /**
+         * @return a new open connection
+         * @throws SQLException if the connection cannot be opened
+         */
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * Pool settings.
+     *
+     * @param maxSize                   the maximum number of connections, idle or in use
+     * @param minIdle                   the number of idle connections kept by the eviction task
+     * @param borrowTimeoutMillis       the maximum time to wait for a free connection
+     * @param idleTimeoutMillis         the time after which an idle connection is closed
+     * @param maxLifetimeMillis         the age after which a connection is closed
+     * @param validationTimeoutSeconds  the timeout of the validity check done on borrow
+     * @param statementCacheSize        the number of prepared statements cached per connection, 0 to disable
+     */
+    public record Config(int maxSize, int minIdle, long borrowTimeoutMillis, long idleTimeoutMillis,
+                         long maxLifetimeMillis, int validationTimeoutSeconds, int statementCacheSize) {
+        /**
+         * @throws IllegalArgumentException if a setting is out of range
+         */
+        public Config {
+            if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+                throw new IllegalArgumentException("Invalid pool size: max=" + maxSize + ", minIdle=" + minIdle);
+            }
+            if (borrowTimeoutMillis < 0 || idleTimeoutMillis <= 0 || maxLifetimeMillis <= 0
+                    || validationTimeoutSeconds < 0 || statementCacheSize < 0) {
+                throw new IllegalArgumentException("Pool timeouts must be positive.");
+            }
+        }
+
+        /**
+         * @return the default settings: 8 connections, 5 s wait, 5 min idle, 30 min lifetime,
+         *         64 cached statements per connection
+         */
+        public static Config defaults() {
+            return new Config(8, 1, 5_000, 5 * 60_000, 30 * 60_000, 2, 64);
+        }
+    }
+
+    /**
+     * Snapshot of the pool counters.
+     *
+     * @param total          the number of open connections
+     * @param idle           the number of idle connections
+     * @param borrows        the number of successful borrows
+     * @param timeouts       the number of borrows that gave up waiting
+     * @param totalWaitNanos the total time spent waiting in {@link #borrow()}
+     * @param maxWaitNanos   the longest wait in {@link #borrow()}
+     * @param created        the number of connections opened
+     * @param destroyed      the number of connections closed (broken, idle, too old)
+     * @param statementHits   the number of prepared statements reused from a cache
+     * @param statementMisses the number of prepared statements actually prepared
+     */
+    public record Stats(int total, int idle, long borrows, long timeouts, long totalWaitNanos,
+                        long maxWaitNanos, long created, long destroyed, long statementHits, long statementMisses) {
+        /**
+         * @return the mean wait of a borrow, in milliseconds
+         */
+        public double meanWaitMillis() {
+            return borrows == 0 ? 0 : totalWaitNanos / 1e6 / borrows;
+        }
+    }
+
+    /**
+     * A physical connection, its statement cache and its timestamps.
+     */
+    private static final class Pooled {
+        private final Connection physical;
+        private final StatementCache statements; // null if disabled
+        private final long createdAt;
+        private long lastUsedAt;
+
+        Pooled(Connection physical, StatementCache statements, long now) {
+            this.physical = physical;
+            this.statements = statements;
+            this.createdAt = now;
+            this.lastUsedAt = now;
+        }
+    }
+
+    private final ConnectionFactory factory;
+    private final Config config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<Pooled> idle = new ArrayDeque<>(); // most recently used first
+    private final ScheduledExecutorService evictor;
+    private int total;
+    private boolean closed;
+
+    private long borrows;
+    private long timeouts;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private long created;
+    private long destroyed;
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    /**
+     * Creates a pool and starts its eviction task. No connection is opened until the first borrow.
+     *
+     * @param factory opens the physical connections
+     * @param config  the pool settings
+     */
+    public ConnectionPool(ConnectionFactory factory, Config config) {
+        this.factory = factory;
+        this.config = config;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1_000, config.idleTimeoutMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting if all are in use. Closing it returns it to the pool.
+     *
+     * @return a valid connection
+     * @throws SQLTransientConnectionException if no connection became free in time
+     * @throws SQLException                    if a new connection cannot be opened, or the pool is closed
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.borrowTimeoutMillis());
+        while (true) {
+            Pooled candidate = null;
+            boolean create = false;
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("The connection pool is closed.");
+                    }
+                    candidate = idle.pollFirst();
+                    if (candidate != null) {
+                        break;
+                    }
+                    if (total < config.maxSize()) {
+                        total++;
+                        create = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeouts++;
+                        throw new SQLTransientConnectionException("No connection available after "
+                                + config.borrowTimeoutMillis() + " ms (" + total + " in use).");
+                    }
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a connection.", e);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                candidate = open();
+            } else if (!isUsable(candidate)) {
+                discard(candidate);
+                continue;
+            }
+            recordBorrow(System.nanoTime() - start);
+            return wrap(candidate);
+        }
+    }
+
+    /**
+     * @return a snapshot of the pool counters
+     */
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(total, idle.size(), borrows, timeouts, totalWaitNanos, maxWaitNanos, created, destroyed,
+                    statementHits.get(), statementMisses.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the idle connections and stops the eviction task.
+     * Connections still in use are closed when they are returned.
+     */
+    public void close() {
+        Deque<Pooled> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        evictor.shutdownNow();
+        toClose.forEach(this::discard);
+        Logger.info("Connection pool closed: " + getStats());
+    }
+
+    /**
+     * Closes idle connections that are too old or idle for too long, keeping {@code minIdle} of them.
+     */
+    void evictIdle() {
+        Deque<Pooled> toClose = new ArrayDeque<>();
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            // least recently used connections are at the end
+            Iterator<Pooled> iterator = idle.descendingIterator();
+            while (iterator.hasNext()) {
+                Pooled pooled = iterator.next();
+                boolean tooOld = now - pooled.createdAt >= config.maxLifetimeMillis();
+                boolean idleTooLong = now - pooled.lastUsedAt >= config.idleTimeoutMillis()
+                        && idle.size() > config.minIdle();
+                if (tooOld || idleTooLong) {
+                    iterator.remove();
+                    toClose.add(pooled);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        toClose.forEach(this::discard);
+        if (!toClose.isEmpty()) {
+            Logger.debug("Connection pool evicted " + toClose.size() + " idle connection(s).");
+        }
+    }
+
+    /**
+     * Opens a physical connection for a slot already counted in {@code total}.
+     */
+    private Pooled open() throws SQLException {
+        try {
+            Connection physical = factory.create();
+            StatementCache statements = config.statementCacheSize() == 0 ? null
+                    : new StatementCache(physical, config.statementCacheSize(), statementHits, statementMisses);
+            Pooled pooled = new Pooled(physical, statements, System.currentTimeMillis());
+            lock.lock();
+            try {
+                created++;
+            } finally {
+                lock.unlock();
+            }
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks an idle connection before handing it out.
+     */
+    private boolean isUsable(Pooled pooled) {
+        if (System.currentTimeMillis() - pooled.createdAt >= config.maxLifetimeMillis()) {
+            return false;
+        }
+        try {
+            return pooled.physical.isValid(config.validationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gives a connection back after use, or closes it if it is too old or broken.
+     */
+    private void release(Pooled pooled) {
+        boolean keep;
+        try {
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            keep = !pooled.physical.isClosed();
+        } catch (SQLException e) {
+            keep = false;
+        }
+        long now = System.currentTimeMillis();
+        keep &= now - pooled.createdAt < config.maxLifetimeMillis();
+
+        lock.lock();
+        try {
+            if (keep && !closed) {
+                pooled.lastUsedAt = now;
+                idle.addFirst(pooled);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        discard(pooled);
+    }
+
+    /**
+     * Closes a physical connection and frees its slot.
+     */
+    private void discard(Pooled pooled) {
+        try {
+            if (pooled.statements != null) {
+                pooled.statements.closeAll();
+            }
+            pooled.physical.close();
+        } catch (SQLException e) {
+            Logger.debug("Error while closing a pooled connection: " + e.getMessage());
+        }
+        lock.lock();
+        try {
+            total--;
+            destroyed++;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordBorrow(long waitNanos) {
+        lock.lock();
+        try {
+            borrows++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wraps a physical connection so that {@code close()} returns it to the pool, once.
+     */
+    private Connection wrap(Pooled pooled) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Pooled[" + pooled.physical + "]";
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            release(pooled);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || pooled.physical.isClosed();
+                    default:
+                        if (returned) {
+                            throw new SQLException("Connection already returned to the pool.");
+                        }
+                        if (pooled.statements != null && method.getName().equals("prepareStatement")
+                                && args.length == 1) {
+                            return pooled.statements.prepare((String) args[0], (Connection) proxy);
+                        }
+                        try {
+                            return method.invoke(pooled.physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+}
@@ -7,6 +7,7 @@ import core.exception.DatabaseNotInitializedException;
 import util.Logger;
 
 import java.sql.*;
+import java.util.Properties;
 
 /**
  * Singleton class that manages the connection to a MySQL database.
@@ -18,6 +19,12 @@ import java.sql.*;
  * <p>Use {@code DatabaseConnector.initialize(...)} once to set up the connection,
  * then access the instance via {@code DatabaseConnector.get()}.</p>
  *
+ * <p>Once connected to the database, connections come from a bounded {@link ConnectionPool}:
+ * {@link #getConnection()} borrows one, and closing it gives it back. DAOs borrow a connection
+ * per operation, so several threads can query the database at the same time. Writes that must
+ * succeed or fail together run in a {@link UnitOfWork}, which shares one connection and one
+ * transaction between them.</p>
+ *
  * @author ResQ360
  */
 public class DatabaseConnector {
@@ -31,7 +38,8 @@ public class DatabaseConnector {
     private String user;
     private String password;
 
-    private Connection connection;
+    private Connection connection; // connexion au serveur, utilisée avant la création du pool
+    private ConnectionPool pool;
 
     private DatabaseConnector() {}
 
@@ -139,10 +147,24 @@ public class DatabaseConnector {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
             }
+            connection = null;
+            if (pool != null) {
+                pool.close();
+            }
 
             String separator = urlServer.endsWith("/") ? "" : "/";
             String urlDB = urlServer + separator + databaseName;
-            connection = DriverManager.getConnection(urlDB, user, password);
+            Properties properties = new Properties();
+            properties.setProperty("user", user);
+            properties.setProperty("password", password);
+            // Requêtes préparées côté serveur : la mise en cache des PreparedStatement évite alors le re-parsing
+            properties.setProperty("useServerPrepStmts", "true");
+            // Les lots d'INSERT sont réécrits en une seule requête multi-lignes par le driver
+            properties.setProperty("rewriteBatchedStatements", "true");
+            pool = new ConnectionPool(() -> DriverManager.getConnection(urlDB, properties),
+                    ConnectionPool.Config.defaults());
+            // Première connexion ouverte tout de suite pour échouer au démarrage si la base est injoignable
+            pool.borrow().close();
             Logger.info("Connecté à la base '" + databaseName + "'");
             return true;
         } catch (SQLException e) {
@@ -151,26 +173,52 @@ public class DatabaseConnector {
     }
 
     /**
-     * Returns the current SQL connection object.
+     * Borrows a connection from the pool. It must be closed after use to give it back,
+     * typically with try-with-resources. Inside a {@link UnitOfWork}, returns the connection of
+     * the running transaction instead; closing it then does nothing.
      *
-     * @return the JDBC connection
+     * @return a JDBC connection
+     * @throws SQLException if no connection is available in time or it cannot be opened
+     * @throws DatabaseNotInitializedException if the database is not connected yet
+     */
+    public Connection getConnection() throws SQLException {
+        Connection transaction = UnitOfWork.currentConnection();
+        if (transaction != null) {
+            return transaction;
+        }
+        if (pool == null) {
+            throw new DatabaseNotInitializedException();
+        }
+        return pool.borrow();
+    }
+
+    /**
+     * @return the counters of the connection pool (wait times, connections opened and closed)
+     * @throws DatabaseNotInitializedException if the database is not connected yet
      */
-    public Connection getConnection() {
-        return connection;
+    public ConnectionPool.Stats getPoolStats() {
+        if (pool == null) {
+            throw new DatabaseNotInitializedException();
+        }
+        return pool.getStats();
     }
 
     /**
-     * Closes the current SQL connection if open.
+     * Closes the connection pool and the server connection if open.
      */
     public void close() {
         try {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
-                Logger.info("Connexion fermée.");
             }
         } catch (SQLException e) {
             Logger.error("Erreur lors de la fermeture de la connexion : " + e.getMessage());
         }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+        Logger.info("Connexion fermée.");
     }
 
     /**
@@ -0,0 +1,526 @@
+package model.services;
+
+import model.graph.adaptation.BesoinsAdapter;
+import model.graph.adaptation.MatriceCreuse;
+import model.graph.algorithme.CouplageIncremental;
+import model.persistence.DPS;
+import model.persistence.Rescuer;
+import util.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the current automatic assignment in memory and repairs it when a single rescuer or DPS changes.
+ *
+ * <p>The matching of each time slot (see {@link TimeSlotAssigner}) is held in a
+ * {@link CouplageIncremental}. Editing a rescuer or a DPS only triggers augmenting-path searches
+ * from the vertices it touches, instead of rebuilding the whole graph and solving it again.
+ * The assignments that change are applied to the rescuers.</p>
+ *
+ * <p>The service only manages the assignments it made: it is seeded with the result of a full
+ * assignment run ({@link #initialize}), and a rescuer holding another assignment on a DPS of a slot
+ * is left out of that slot. When the seed is a maximum matching, it stays maximum after each repair.</p>
+ *
+ * @author ResQ360
+ */
+public final class IncrementalAssignmentService {
+
+    /**
+     * The matching of one time slot and the mapping between its vertices and the model.
+     */
+    private static final class Slot {
+        private long start;
+        private long end;
+        private final Map<Integer, DPS> dps = new LinkedHashMap<>();
+        private final CouplageIncremental couplage = new CouplageIncremental();
+        private final Map<Integer, Integer> rowByRescuer = new HashMap<>();
+        private final List<Rescuer> rescuerByRow = new ArrayList<>();   // null once removed
+        private final Map<Integer, List<Integer>> columnsByDps = new HashMap<>();
+        private final List<BesoinsAdapter.DPSColonneInfo> infoByColumn = new ArrayList<>(); // null once removed
+        private final Map<Integer, Integer> dpsByRescuer = new HashMap<>(); // assignment made by the service
+
+        Slot(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean overlaps(long otherStart, long otherEnd) {
+            return start < otherEnd && otherStart < end;
+        }
+    }
+
+    private final TimeSlotAssigner timeSlotAssigner;
+    private final Supplier<List<Rescuer>> rescuerSource;
+    private final Consumer<Rescuer> rescuerSaver;
+    private final List<Slot> slots = new ArrayList<>();
+    private boolean initialized;
+
+    /**
+     * Creates an empty service; nothing is repaired until {@link #initialize} is called.
+     *
+     * @param timeSlotAssigner the pipeline used to group DPS into time slots
+     * @param rescuerSource    gives the rescuers to consider when a new slot is built
+     * @param rescuerSaver     persists a rescuer whose assignments changed
+     */
+    public IncrementalAssignmentService(TimeSlotAssigner timeSlotAssigner, Supplier<List<Rescuer>> rescuerSource,
+                                        Consumer<Rescuer> rescuerSaver) {
+        this.timeSlotAssigner = timeSlotAssigner;
+        this.rescuerSource = rescuerSource;
+        this.rescuerSaver = rescuerSaver;
+    }
+
+    /**
+     * Loads an assignment that has just been applied, so that later edits can repair it.
+     *
+     * @param rescuers the rescuers the result was built from (its rows)
+     * @param dpsList  the DPS the result was built from
+     * @param applied  the applied assignment
+     */
+    public void initialize(List<Rescuer> rescuers, List<DPS> dpsList, BesoinsAdapter.ResultatAdaptationCompacte applied) {
+        // DPS assigned to each rescuer ID by the applied result
+        Map<Integer, List<Integer>> assigned = new HashMap<>();
+        List<BesoinsAdapter.DPSColonneInfo> columns = applied.correspondanceColonnes();
+        for (int j = 0; j < applied.ligneParColonne().length; j++) {
+            int row = applied.ligneParColonne()[j];
+            if (row != BesoinsAdapter.ResultatAdaptationCompacte.LIBRE) {
+                assigned.computeIfAbsent(rescuers.get(row).getId(), k -> new ArrayList<>()).add(columns.get(j).idDPS());
+            }
+        }
+
+        slots.clear();
+        for (TimeSlotAssigner.TimeSlot timeSlot : timeSlotAssigner.partition(dpsList)) {
+            Map<Integer, Integer> seed = new HashMap<>();
+            Set<Integer> slotDps = new HashSet<>();
+            for (DPS dps : timeSlot.dpsList()) {
+                slotDps.add(dps.getId());
+            }
+            for (Map.Entry<Integer, List<Integer>> entry : assigned.entrySet()) {
+                for (int idDPS : entry.getValue()) {
+                    if (slotDps.contains(idDPS)) {
+                        seed.put(entry.getKey(), idDPS);
+                    }
+                }
+            }
+            slots.add(buildSlot(timeSlot.start(), timeSlot.end(), timeSlot.dpsList(), rescuers, seed));
+        }
+        initialized = true;
+        Logger.info("Incremental assignment loaded: " + slots.size() + " slots, " + getAssignmentCount() + " assignments.");
+    }
+
+    /**
+     * @return true once an assignment has been loaded
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * @return the number of assignments currently held by the service
+     */
+    public int getAssignmentCount() {
+        int count = 0;
+        for (Slot slot : slots) {
+            count += slot.couplage.getTaille();
+        }
+        return count;
+    }
+
+    /**
+     * Repairs the assignment after a rescuer was created or edited (skills, assignments).
+     *
+     * @param rescuer the new state of the rescuer
+     */
+    public void rescuerChanged(Rescuer rescuer) {
+        if (!initialized) {
+            Logger.debug("Incremental assignment not loaded, rescuer change ignored.");
+            return;
+        }
+        for (Slot slot : slots) {
+            Integer row = slot.rowByRescuer.get(rescuer.getId());
+            boolean eligible = isEligible(slot, rescuer);
+            if (row != null) {
+                slot.rescuerByRow.set(row, rescuer);
+                if (eligible) {
+                    slot.couplage.remplacerVoisinsLigne(row, compatibleColumns(slot, rescuer));
+                } else {
+                    slot.couplage.supprimerLigne(row);
+                }
+                applyChanges(slot);
+                if (!eligible) {
+                    forgetRow(slot, row, rescuer.getId());
+                }
+            } else if (eligible) {
+                int newRow = slot.couplage.ajouterLigne();
+                slot.rowByRescuer.put(rescuer.getId(), newRow);
+                slot.rescuerByRow.add(rescuer);
+                for (int column : compatibleColumns(slot, rescuer)) {
+                    slot.couplage.relier(newRow, column);
+                }
+                slot.couplage.augmenterDepuisLigne(newRow);
+                applyChanges(slot);
+            }
+        }
+    }
+
+    /**
+     * Repairs the assignment after a rescuer was deleted.
+     *
+     * @param idRescuer the ID of the deleted rescuer
+     */
+    public void rescuerRemoved(int idRescuer) {
+        if (!initialized) {
+            return;
+        }
+        for (Slot slot : slots) {
+            Integer row = slot.rowByRescuer.get(idRescuer);
+            if (row != null) {
+                slot.couplage.supprimerLigne(row);
+                applyChanges(slot);
+                forgetRow(slot, row, idRescuer);
+            }
+        }
+    }
+
+    /**
+     * Repairs the assignment after a DPS was created or edited (day, needs).
+     * The DPS joins the slot its day overlaps; slots it bridges are merged. When its day still
+     * covers the same hours, only the units added or removed are repaired and the others keep
+     * their rescuers.
+     *
+     * @param dps the new state of the DPS
+     */
+    public void dpsChanged(DPS dps) {
+        if (!initialized) {
+            Logger.debug("Incremental assignment not loaded, DPS change ignored.");
+            return;
+        }
+        TimeSlotAssigner.TimeSlot window = timeSlotAssigner.partition(List.of(dps)).get(0);
+        Slot current = slotOf(dps.getId());
+        if (current != null && sameWindow(current.dps.get(dps.getId()), window)) {
+            updateDpsColumns(current, dps);
+            return;
+        }
+        removeDpsColumns(dps.getId());
+
+        List<Slot> overlapping = new ArrayList<>();
+        for (Slot slot : slots) {
+            if (slot.overlaps(window.start(), window.end())) {
+                overlapping.add(slot);
+            }
+        }
+
+        if (overlapping.isEmpty()) {
+            Slot created = buildSlot(window.start(), window.end(), List.of(dps), rescuerSource.get(), Map.of());
+            for (int column : created.columnsByDps.get(dps.getId())) {
+                created.couplage.augmenterDepuisColonne(column);
+            }
+            applyChanges(created);
+            slots.add(created);
+            return;
+        }
+        Slot target = overlapping.size() == 1 ? overlapping.get(0) : mergeSlots(overlapping);
+        target.start = Math.min(target.start, window.start());
+        target.end = Math.max(target.end, window.end());
+        target.dps.put(dps.getId(), dps);
+
+        // les sauveteurs affectés à la main au DPS quittent le créneau avant l'ajout de ses colonnes
+        List<Rescuer> excluded = new ArrayList<>();
+        for (int row = 0; row < target.rescuerByRow.size(); row++) {
+            Rescuer rescuer = target.rescuerByRow.get(row);
+            if (rescuer != null && !isEligible(target, rescuer)) {
+                target.couplage.supprimerLigne(row);
+                excluded.add(rescuer);
+            }
+        }
+        target.columnsByDps.put(dps.getId(), new ArrayList<>());
+        addDpsColumns(target, dps, Map.of());
+        applyChanges(target);
+        for (Rescuer rescuer : excluded) {
+            forgetRow(target, target.rowByRescuer.get(rescuer.getId()), rescuer.getId());
+        }
+    }
+
+    /**
+     * Applies new needs to a DPS that stays in its slot: the units it no longer needs are removed,
+     * the new ones are added, and the units kept keep their rescuers.
+     */
+    private void updateDpsColumns(Slot slot, DPS dps) {
+        slot.dps.put(dps.getId(), dps);
+        Map<Integer, Integer> kept = new HashMap<>(); // unités conservées par compétence
+        Iterator<Integer> iterator = slot.columnsByDps.get(dps.getId()).iterator();
+        while (iterator.hasNext()) {
+            int column = iterator.next();
+            BesoinsAdapter.DPSColonneInfo info = slot.infoByColumn.get(column);
+            if (info.index() < dps.getBesoins().getOrDefault(info.idCompetence(), 0)) {
+                kept.merge(info.idCompetence(), 1, Integer::sum);
+            } else {
+                slot.couplage.supprimerColonne(column);
+                slot.infoByColumn.set(column, null);
+                iterator.remove();
+            }
+        }
+        addDpsColumns(slot, dps, kept);
+        applyChanges(slot);
+    }
+
+    /**
+     * Adds the missing units of a DPS to its slot, linked to the eligible rescuers having the skill,
+     * and repairs the matching from each of them.
+     *
+     * @param kept the number of units of each skill already in the slot
+     */
+    private void addDpsColumns(Slot slot, DPS dps, Map<Integer, Integer> kept) {
+        List<Integer> eligibleRows = new ArrayList<>();
+        for (int row = 0; row < slot.rescuerByRow.size(); row++) {
+            Rescuer rescuer = slot.rescuerByRow.get(row);
+            if (rescuer != null && isEligible(slot, rescuer)) {
+                eligibleRows.add(row);
+            }
+        }
+        List<Integer> columns = slot.columnsByDps.get(dps.getId());
+        for (Map.Entry<Integer, Integer> besoin : dps.getBesoins().entrySet()) {
+            for (int index = kept.getOrDefault(besoin.getKey(), 0); index < besoin.getValue(); index++) {
+                int column = slot.couplage.ajouterColonne();
+                slot.infoByColumn.add(new BesoinsAdapter.DPSColonneInfo(dps.getId(), besoin.getKey(), index));
+                for (int row : eligibleRows) {
+                    if (BesoinsAdapter.possedeCompetence(slot.rescuerByRow.get(row).getSkills(), besoin.getKey())) {
+                        slot.couplage.relier(row, column);
+                    }
+                }
+                slot.couplage.augmenterDepuisColonne(column);
+                columns.add(column);
+            }
+        }
+    }
+
+    /**
+     * @return the slot holding the DPS, or null
+     */
+    private Slot slotOf(int idDPS) {
+        for (Slot slot : slots) {
+            if (slot.dps.containsKey(idDPS)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the previous state of a DPS covers the same hours as the new one
+     */
+    private boolean sameWindow(DPS previous, TimeSlotAssigner.TimeSlot window) {
+        TimeSlotAssigner.TimeSlot before = timeSlotAssigner.partition(List.of(previous)).get(0);
+        return before.start() == window.start() && before.end() == window.end();
+    }
+
+    /**
+     * Repairs the assignment after a DPS was deleted.
+     *
+     * @param idDPS the ID of the deleted DPS
+     */
+    public void dpsRemoved(int idDPS) {
+        if (initialized) {
+            removeDpsColumns(idDPS);
+        }
+    }
+
+    /**
+     * Removes the columns of a DPS from its slot, repairing the matching for each freed rescuer.
+     */
+    private void removeDpsColumns(int idDPS) {
+        Iterator<Slot> iterator = slots.iterator();
+        while (iterator.hasNext()) {
+            Slot slot = iterator.next();
+            if (slot.dps.remove(idDPS) == null) {
+                continue;
+            }
+            for (int column : slot.columnsByDps.remove(idDPS)) {
+                slot.couplage.supprimerColonne(column);
+                slot.infoByColumn.set(column, null);
+            }
+            applyChanges(slot);
+            if (slot.dps.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Replaces several slots by a single one, keeping the assignments of the first slot when a rescuer
+     * was assigned in more than one, then completes the matching with augmenting paths.
+     */
+    private Slot mergeSlots(List<Slot> toMerge) {
+        List<DPS> dpsList = new ArrayList<>();
+        Map<Integer, Integer> seed = new HashMap<>();
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        for (Slot slot : toMerge) {
+            dpsList.addAll(slot.dps.values());
+            start = Math.min(start, slot.start);
+            end = Math.max(end, slot.end);
+            for (Map.Entry<Integer, Integer> entry : slot.dpsByRescuer.entrySet()) {
+                Integer kept = seed.putIfAbsent(entry.getKey(), entry.getValue());
+                if (kept != null) {
+                    // the rescuer would be double-booked in the merged slot
+                    Rescuer rescuer = slot.rescuerByRow.get(slot.rowByRescuer.get(entry.getKey()));
+                    rescuer.removeAssignment(entry.getValue());
+                    rescuerSaver.accept(rescuer);
+                }
+            }
+        }
+        slots.removeAll(toMerge);
+
+        Slot merged = buildSlot(start, end, dpsList, rescuerSource.get(), seed);
+        for (int row = 0; row < merged.rescuerByRow.size(); row++) {
+            merged.couplage.augmenterDepuisLigne(row);
+        }
+        applyChanges(merged);
+        slots.add(merged);
+        Logger.info("Merged " + toMerge.size() + " time slots.");
+        return merged;
+    }
+
+    /**
+     * Builds the matching of a slot from scratch and seeds it with existing assignments.
+     *
+     * @param seed the DPS already assigned to each rescuer ID in this slot
+     */
+    private Slot buildSlot(long start, long end, Collection<DPS> dpsList, List<Rescuer> rescuers,
+                           Map<Integer, Integer> seed) {
+        Slot slot = new Slot(start, end);
+        for (DPS dps : dpsList) {
+            slot.dps.put(dps.getId(), dps);
+            slot.columnsByDps.put(dps.getId(), new ArrayList<>());
+        }
+        slot.dpsByRescuer.putAll(seed);
+
+        List<Rescuer> eligibles = new ArrayList<>();
+        for (Rescuer rescuer : rescuers) {
+            if (isEligible(slot, rescuer)) {
+                eligibles.add(rescuer);
+            }
+        }
+        BesoinsAdapter.ResultatAdaptationCreuse graphe = BesoinsAdapter.buildSparseGraph(eligibles, List.copyOf(slot.dps.values()));
+        MatriceCreuse matrice = graphe.graphe();
+
+        for (BesoinsAdapter.DPSColonneInfo info : graphe.correspondanceColonnes()) {
+            int column = slot.couplage.ajouterColonne();
+            slot.infoByColumn.add(info);
+            slot.columnsByDps.get(info.idDPS()).add(column);
+        }
+        for (Rescuer rescuer : eligibles) {
+            int row = slot.couplage.ajouterLigne();
+            slot.rowByRescuer.put(rescuer.getId(), row);
+            slot.rescuerByRow.add(rescuer);
+            for (int k = matrice.getDebuts()[row]; k < matrice.getDebuts()[row + 1]; k++) {
+                slot.couplage.relier(row, matrice.getVoisins()[k]);
+            }
+        }
+
+        // Seed: each assigned rescuer takes a free compatible unit of its DPS
+        for (Rescuer rescuer : eligibles) {
+            Integer idDPS = seed.get(rescuer.getId());
+            if (idDPS == null) {
+                continue;
+            }
+            int row = slot.rowByRescuer.get(rescuer.getId());
+            boolean seeded = false;
+            for (int column : slot.columnsByDps.getOrDefault(idDPS, List.of())) {
+                if (slot.couplage.getLigne(column) == CouplageIncremental.LIBRE
+                        && matrice.contient(row, column)) {
+                    slot.couplage.coupler(row, column);
+                    seeded = true;
+                    break;
+                }
+            }
+            if (!seeded) {
+                slot.dpsByRescuer.remove(rescuer.getId());
+            }
+        }
+        slot.couplage.extraireModifications();
+        return slot;
+    }
+
+    /**
+     * Applies to the rescuers the assignments changed by the last repair of a slot, and saves them.
+     */
+    private void applyChanges(Slot slot) {
+        int changes = 0;
+        for (int row : slot.couplage.extraireModifications()) {
+            Rescuer rescuer = slot.rescuerByRow.get(row);
+            if (rescuer == null) {
+                continue;
+            }
+            int column = slot.couplage.getColonne(row);
+            Integer before = slot.dpsByRescuer.get(rescuer.getId());
+            Integer after = column == CouplageIncremental.LIBRE ? null : slot.infoByColumn.get(column).idDPS();
+            if (Objects.equals(before, after)) {
+                continue;
+            }
+            if (before != null) {
+                rescuer.removeAssignment(before);
+                slot.dpsByRescuer.remove(rescuer.getId());
+            }
+            if (after != null) {
+                rescuer.addAssignment(after);
+                slot.dpsByRescuer.put(rescuer.getId(), after);
+            }
+            rescuerSaver.accept(rescuer);
+            changes++;
+        }
+        if (changes > 0) {
+            Logger.info("Incremental assignment: " + changes + " rescuer(s) reassigned.");
+        }
+    }
+
+    /**
+     * Forgets a row once its rescuer left the slot.
+     */
+    private void forgetRow(Slot slot, int row, int idRescuer) {
+        slot.rescuerByRow.set(row, null);
+        slot.rowByRescuer.remove(idRescuer);
+        slot.dpsByRescuer.remove(idRescuer);
+    }
+
+    /**
+     * A rescuer can take part in a slot unless it holds, on a DPS of the slot,
+     * an assignment that the service did not make.
+     */
+    private static boolean isEligible(Slot slot, Rescuer rescuer) {
+        Integer owned = slot.dpsByRescuer.get(rescuer.getId());
+        for (int idDPS : rescuer.getAssignments()) {
+            if (slot.dps.containsKey(idDPS) && !Objects.equals(owned, idDPS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the active columns of the slot whose skill the rescuer has
+     */
+    private static int[] compatibleColumns(Slot slot, Rescuer rescuer) {
+        List<String> skills = rescuer.getSkills();
+        int[] columns = new int[slot.infoByColumn.size()];
+        int count = 0;
+        for (int column = 0; column < slot.infoByColumn.size(); column++) {
+            BesoinsAdapter.DPSColonneInfo info = slot.infoByColumn.get(column);
+            if (info != null && BesoinsAdapter.possedeCompetence(skills, info.idCompetence())) {
+                columns[count++] = column;
+            }
+        }
+        return Arrays.copyOf(columns, count);
+    }
+}
@@ -0,0 +1,184 @@
+package model.services;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least-recently-used cache of the prepared statements of one pooled connection, keyed by SQL text.
+ *
+ * <p>The statements handed out are proxies: their {@code close()} clears the parameters and keeps
+ * the statement open for the next caller preparing the same SQL, so DAOs keep using
+ * try-with-resources unchanged. When the cache is full, the least recently used statement is closed.
+ * A statement already in use when the same SQL is prepared again (nested use) is not shared: the
+ * second caller gets a plain statement.</p>
+ *
+ * <p>A connection is used by one thread at a time, so the cache is not synchronized.</p>
+ *
+ * @author ResQ360
+ */
+final class StatementCache {
+
+    /**
+     * A cached physical statement and its state.
+     */
+    private static final class Entry {
+        private final PreparedStatement physical;
+        private boolean inUse;
+        private boolean evicted;
+
+        Entry(PreparedStatement physical) {
+            this.physical = physical;
+        }
+    }
+
+    private final Connection physical;
+    private final Map<String, Entry> entries;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    /**
+     * @param physical the connection the statements are prepared on
+     * @param capacity the maximum number of cached statements
+     * @param hits     counter incremented when a cached statement is reused
+     * @param misses   counter incremented when a statement has to be prepared
+     */
+    StatementCache(Connection physical, int capacity, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                Entry entry = eldest.getValue();
+                entry.evicted = true;
+                if (!entry.inUse) {
+                    closeQuietly(entry.physical);
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached statement for this SQL, preparing it on first use.
+     *
+     * @param sql   the SQL text
+     * @param owner the connection returned by {@link PreparedStatement#getConnection()}
+     * @return a statement whose {@code close()} gives it back to the cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        Entry entry = entries.get(sql);
+        if (entry != null && entry.inUse) {
+            misses.incrementAndGet();
+            return physical.prepareStatement(sql);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            entry = new Entry(physical.prepareStatement(sql));
+            entries.put(sql, entry);
+        } else {
+            hits.incrementAndGet();
+        }
+        entry.inUse = true;
+        return wrap(entry, owner);
+    }
+
+    /**
+     * @return the number of cached statements
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Closes every cached statement.
+     */
+    void closeAll() {
+        List<Entry> toClose = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : toClose) {
+            closeQuietly(entry.physical);
+        }
+    }
+
+    /**
+     * Wraps a cached statement so that {@code close()} only releases it.
+     */
+    private PreparedStatement wrap(Entry entry, Connection owner) {
+        boolean[] released = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Cached[" + entry.physical + "]";
+                        case "close":
+                            if (!released[0]) {
+                                released[0] = true;
+                                release(entry);
+                            }
+                            return null;
+                        case "isClosed":
+                            return released[0] || entry.physical.isClosed();
+                        case "getConnection":
+                            return owner;
+                        default:
+                            if (released[0]) {
+                                throw new SQLException("Statement already closed.");
+                            }
+                            try {
+                                return method.invoke(entry.physical, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    /**
+     * Resets a statement after use so the next caller starts clean.
+     */
+    private void release(Entry entry) {
+        entry.inUse = false;
+        if (entry.evicted) {
+            closeQuietly(entry.physical);
+            return;
+        }
+        try {
+            ResultSet resultSet = entry.physical.getResultSet();
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            entry.physical.clearParameters();
+            entry.physical.clearBatch();
+        } catch (SQLException e) {
+            // statement unusable: drop it
+            entries.values().remove(entry);
+            closeQuietly(entry.physical);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // already closed with its connection
+        }
+    }
+}
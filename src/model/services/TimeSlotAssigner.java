@@ -0,0 +1,297 @@
+package model.services;
+
+import model.graph.adaptation.BesoinsAdapter;
+import model.graph.adaptation.PonderationAffectation;
+import model.graph.algorithme.GraphCoutMinimal;
+import model.graph.algorithme.GraphExaustif;
+import model.graph.algorithme.GraphFlotCapacitaire;
+import model.graph.algorithme.GraphGloutton;
+import model.graph.algorithme.SuiviRecherche;
+import model.managers.DayManager;
+import model.persistence.DPS;
+import model.persistence.Day;
+import model.persistence.Rescuer;
+import util.Logger;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+/**
+ * Time-aware assignment pipeline.
+ *
+ * <p>DPS are grouped into independent time slots: two DPS belong to the same slot when the
+ * time windows of their days ({@link Day#getStartTime()} / {@link Day#getEndTime()}) overlap,
+ * directly or through other DPS. A rescuer can be matched at most once per slot, so no rescuer
+ * is double-booked on overlapping DPS, while slots that do not overlap are solved separately
+ * on much smaller graphs and then merged.</p>
+ *
+ * <p>Rescuers that already hold an assignment on a DPS of a slot are left out of that slot.</p>
+ *
+ * @author ResQ360
+ */
+public final class TimeSlotAssigner {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Matching engine used to solve each slot.
+     */
+    public enum Mode {
+        /** Maximum matching, needs grouped by (DPS, skill) and solved as a maximum flow. */
+        OPTIMAL,
+        /** Minimum-degree greedy matching. */
+        GREEDY,
+        /** Maximum matching of minimum total cost, weighted by a {@link PonderationAffectation}. */
+        MIN_COST,
+        /**
+         * Maximum matching found by exhaustive search, split across the cores of the common pool;
+         * exponential, meant to be run as an {@link AssignmentJob}.
+         */
+        EXHAUSTIVE,
+        /** Maximum matching found by branch and bound, starting from the greedy matching. */
+        BRANCH_AND_BOUND
+    }
+
+    /**
+     * A group of DPS whose time windows overlap.
+     *
+     * @param start   start of the slot, in minutes since the epoch
+     * @param end     end of the slot, in minutes since the epoch
+     * @param dpsList the DPS of the slot
+     */
+    public record TimeSlot(long start, long end, List<DPS> dpsList) { }
+
+    /**
+     * The solution of one slot.
+     *
+     * @param slot      the solved slot
+     * @param rescuers  the rescuers eligible in this slot (rows of the result)
+     * @param resultat  the assignment matrix of the slot and its column mapping
+     */
+    public record SlotResult(TimeSlot slot, List<Rescuer> rescuers, BesoinsAdapter.ResultatAdaptation resultat) { }
+
+    private final IntFunction<Day> dayLookup;
+    private final Mode mode;
+    private final PonderationAffectation ponderation;
+
+    /**
+     * Creates a pipeline reading day times from the given {@link DayManager}.
+     *
+     * @param dayManager the manager used to find the day of each DPS
+     * @param mode       the engine used to solve each slot
+     */
+    public TimeSlotAssigner(DayManager dayManager, Mode mode) {
+        this(dayManager::getDayById, mode);
+    }
+
+    /**
+     * Creates a pipeline reading day times from a lookup function.
+     *
+     * @param dayLookup returns the day with the given ID, or {@code null}
+     * @param mode      the engine used to solve each slot
+     */
+    public TimeSlotAssigner(IntFunction<Day> dayLookup, Mode mode) {
+        this(dayLookup, mode, null);
+    }
+
+    /**
+     * Creates a pipeline reading day times from a lookup function.
+     *
+     * @param dayLookup   returns the day with the given ID, or {@code null}
+     * @param mode        the engine used to solve each slot
+     * @param ponderation the edge costs, required by {@link Mode#MIN_COST}
+     * @throws IllegalArgumentException if {@link Mode#MIN_COST} is used without costs
+     */
+    public TimeSlotAssigner(IntFunction<Day> dayLookup, Mode mode, PonderationAffectation ponderation) {
+        if (mode == Mode.MIN_COST && ponderation == null) {
+            throw new IllegalArgumentException("The MIN_COST mode needs a PonderationAffectation.");
+        }
+        this.dayLookup = dayLookup;
+        this.mode = mode;
+        this.ponderation = ponderation;
+    }
+
+    /**
+     * Partitions, solves each slot and merges the results.
+     *
+     * @param rescuers the rescuers available (rows of the merged result)
+     * @param dpsList  the DPS to staff
+     * @return the merged assignment, its rows being the rescuers in {@code rescuers} order
+     */
+    public BesoinsAdapter.ResultatAdaptationCompacte assign(List<Rescuer> rescuers, List<DPS> dpsList) {
+        List<SlotResult> results = new ArrayList<>();
+        for (TimeSlot slot : partition(dpsList)) {
+            results.add(solve(slot, rescuers));
+        }
+        return merge(results, rescuers);
+    }
+
+    /**
+     * Groups the DPS into slots of overlapping time windows, sorted by start time.
+     * DPS whose day is unknown are grouped by day ID and logged.
+     *
+     * @param dpsList the DPS to partition
+     * @return the independent time slots
+     */
+    public List<TimeSlot> partition(List<DPS> dpsList) {
+        // Every DPS of a day shares the day's window: group by day first
+        Map<Integer, List<DPS>> parJournee = new LinkedHashMap<>();
+        for (DPS dps : dpsList) {
+            parJournee.computeIfAbsent(dps.getIdJournee(), k -> new ArrayList<>()).add(dps);
+        }
+
+        List<TimeSlot> journees = new ArrayList<>();
+        List<TimeSlot> slots = new ArrayList<>();
+        for (Map.Entry<Integer, List<DPS>> entry : parJournee.entrySet()) {
+            Day day = dayLookup.apply(entry.getKey());
+            if (day == null) {
+                Logger.warn("No Day found with ID " + entry.getKey() + ", its DPS are solved as a separate slot.");
+                slots.add(new TimeSlot(Long.MIN_VALUE, Long.MIN_VALUE, entry.getValue()));
+                continue;
+            }
+            long start = toMinutes(day, day.getStartTime());
+            long end = toMinutes(day, day.getEndTime());
+            if (end <= start) {
+                end += MINUTES_PER_DAY; // the day ends after midnight
+            }
+            journees.add(new TimeSlot(start, end, entry.getValue()));
+        }
+
+        // Sweep by start time: a window starting before the current slot ends joins it
+        journees.sort(Comparator.comparingLong(TimeSlot::start));
+        TimeSlot courant = null;
+        for (TimeSlot journee : journees) {
+            if (courant != null && journee.start() < courant.end()) {
+                List<DPS> fusion = new ArrayList<>(courant.dpsList());
+                fusion.addAll(journee.dpsList());
+                courant = new TimeSlot(courant.start(), Math.max(courant.end(), journee.end()), fusion);
+            } else {
+                if (courant != null) {
+                    slots.add(courant);
+                }
+                courant = journee;
+            }
+        }
+        if (courant != null) {
+            slots.add(courant);
+        }
+        return slots;
+    }
+
+    /**
+     * Solves the matching of one slot with the rescuers that are still free during it.
+     *
+     * @param slot     the slot to solve
+     * @param rescuers all the rescuers
+     * @return the slot solution, its rows being the eligible rescuers
+     */
+    public SlotResult solve(TimeSlot slot, List<Rescuer> rescuers) {
+        return solve(slot, rescuers, SuiviRecherche.AUCUN);
+    }
+
+    /**
+     * Solves the matching of one slot, reporting the progress of the search to {@code suivi}.
+     * Only the exhaustive engines ({@link Mode#EXHAUSTIVE}, {@link Mode#BRANCH_AND_BOUND}) report
+     * progress and stop early when {@code suivi} asks for it; the other engines are polynomial
+     * and run to the end.
+     *
+     * @param slot     the slot to solve
+     * @param rescuers all the rescuers
+     * @param suivi    the progress listener and cancellation check of the search
+     * @return the slot solution, its rows being the eligible rescuers
+     */
+    public SlotResult solve(TimeSlot slot, List<Rescuer> rescuers, SuiviRecherche suivi) {
+        Set<Integer> dpsIds = new HashSet<>();
+        for (DPS dps : slot.dpsList()) {
+            dpsIds.add(dps.getId());
+        }
+        List<Rescuer> eligibles = new ArrayList<>();
+        for (Rescuer rescuer : rescuers) {
+            if (Collections.disjoint(rescuer.getAssignments(), dpsIds)) {
+                eligibles.add(rescuer);
+            }
+        }
+
+        BesoinsAdapter.ResultatAdaptation resultat;
+        if (mode == Mode.OPTIMAL) {
+            BesoinsAdapter.ResultatAdaptationCapacitee graphe = BesoinsAdapter.buildCapacitatedGraph(eligibles, slot.dpsList());
+            int[][] solution = new GraphFlotCapacitaire(graphe.graphe(), graphe.capacites()).assign();
+            resultat = graphe.developper(solution);
+        } else if (mode == Mode.MIN_COST) {
+            BesoinsAdapter.ResultatAdaptationCreuse graphe = BesoinsAdapter.buildSparseGraph(eligibles, slot.dpsList());
+            int[] couts = ponderation.calculerCouts(eligibles, graphe.graphe(), graphe.correspondanceColonnes());
+            int[][] solution = new GraphCoutMinimal(graphe.graphe(), couts).assign();
+            resultat = new BesoinsAdapter.ResultatAdaptation(solution, graphe.correspondanceColonnes());
+        } else if (mode == Mode.EXHAUSTIVE || mode == Mode.BRANCH_AND_BOUND) {
+            BesoinsAdapter.ResultatAdaptationCreuse graphe = BesoinsAdapter.buildSparseGraph(eligibles, slot.dpsList());
+            GraphExaustif exhaustif = new GraphExaustif(graphe.graphe(), mode == Mode.EXHAUSTIVE
+                    ? GraphExaustif.Strategie.COMPLETE : GraphExaustif.Strategie.SEPARATION_EVALUATION);
+            exhaustif.setSuivi(suivi);
+            exhaustif.setPool(ForkJoinPool.commonPool());
+            int[][] solution = exhaustif.assign();
+            resultat = new BesoinsAdapter.ResultatAdaptation(solution, graphe.correspondanceColonnes());
+        } else {
+            BesoinsAdapter.ResultatAdaptationCreuse graphe = BesoinsAdapter.buildSparseGraph(eligibles, slot.dpsList());
+            int[][] solution = new GraphGloutton(graphe.graphe()).assign();
+            resultat = new BesoinsAdapter.ResultatAdaptation(solution, graphe.correspondanceColonnes());
+        }
+        return new SlotResult(slot, eligibles, resultat);
+    }
+
+    /**
+     * Merges slot solutions into a single result: rows follow {@code rescuers},
+     * columns are the columns of each slot one after the other. The result keeps the row of
+     * each column only, so its size does not grow with rescuers x columns.
+     *
+     * @param results  the slot solutions
+     * @param rescuers all the rescuers
+     * @return the merged assignment
+     */
+    public BesoinsAdapter.ResultatAdaptationCompacte merge(List<SlotResult> results, List<Rescuer> rescuers) {
+        Map<Rescuer, Integer> ligneParSauveteur = new IdentityHashMap<>();
+        for (int i = 0; i < rescuers.size(); i++) {
+            ligneParSauveteur.put(rescuers.get(i), i);
+        }
+
+        List<BesoinsAdapter.DPSColonneInfo> colonnes = new ArrayList<>();
+        for (SlotResult result : results) {
+            colonnes.addAll(result.resultat().correspondanceColonnes());
+        }
+
+        int[] ligneParColonne = new int[colonnes.size()];
+        Arrays.fill(ligneParColonne, BesoinsAdapter.ResultatAdaptationCompacte.LIBRE);
+        int decalage = 0;
+        for (SlotResult result : results) {
+            int[][] solution = result.resultat().matrice();
+            for (int i = 0; i < solution.length; i++) {
+                int ligne = ligneParSauveteur.get(result.rescuers().get(i));
+                for (int j = 0; j < solution[i].length; j++) {
+                    if (solution[i][j] == 1) {
+                        ligneParColonne[decalage + j] = ligne;
+                    }
+                }
+            }
+            decalage += result.resultat().correspondanceColonnes().size();
+        }
+        return new BesoinsAdapter.ResultatAdaptationCompacte(rescuers.size(), ligneParColonne, colonnes);
+    }
+
+    /**
+     * Converts a time of a day to minutes since the epoch.
+     */
+    private static long toMinutes(Day day, int[] time) {
+        long date = LocalDate.of(day.getYear(), day.getMonth(), day.getDay()).toEpochDay();
+        return date * MINUTES_PER_DAY + time[0] * 60L + time[1];
+    }
+}
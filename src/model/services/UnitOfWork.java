@@ -0,0 +1,198 @@
+package model.services;
+
+import util.Logger;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Groups database writes into a single transaction.
+ *
+ * <p>{@link #run(Work)} borrows one connection, turns auto-commit off and binds it to the current
+ * thread for the duration of the work: while it is bound, {@link DatabaseConnector#getConnection()}
+ * returns it, so every DAO called from the work writes in the same transaction. Closing that
+ * connection inside the work does nothing; it is committed once at the end, or rolled back if the
+ * work throws.</p>
+ *
+ * <p>Units of work can be nested: an inner {@link #run(Work)} joins the outer transaction. If the
+ * inner work fails, the whole transaction is marked rollback-only and the outer unit rolls it back
+ * instead of committing, even if the failure was caught in between.</p>
+ *
+ * <pre>{@code
+ * UnitOfWork.run(() -> {
+ *     dao.update(dps);
+ *     rescuerDao.update(rescuer);
+ *     return null;
+ * });
+ * }</pre>
+ *
+ * @author ResQ360
+ */
+public final class UnitOfWork {
+
+    /**
+     * Database work run inside a transaction.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        /**
+         * @return the result of the work
+         * @throws SQLException if a database error occurs, the transaction is then rolled back
+         */
+        T execute() throws SQLException;
+    }
+
+    /**
+     * Transaction bound to the current thread.
+     */
+    private static final class Bound {
+        private final Connection shared;
+        private boolean rollbackOnly;
+
+        Bound(Connection connection) {
+            this.shared = unclosable(connection);
+        }
+    }
+
+    private static final ThreadLocal<Bound> CURRENT = new ThreadLocal<>();
+
+    private UnitOfWork() {}
+
+    /**
+     * Runs the work in a transaction on a connection borrowed from the {@link DatabaseConnector}.
+     *
+     * @param work the work to run
+     * @param <T>  the type of the result
+     * @return the result of the work
+     * @throws SQLException if the work fails or the commit fails; the transaction is rolled back
+     */
+    public static <T> T run(Work<T> work) throws SQLException {
+        return run(() -> DatabaseConnector.get().getConnection(), work);
+    }
+
+    /**
+     * Runs the work in a transaction on a connection taken from the given source.
+     * If a transaction is already bound to this thread, the work joins it and the source is not used.
+     *
+     * @param source opens or borrows the connection; it is closed at the end of the transaction
+     * @param work   the work to run
+     * @param <T>    the type of the result
+     * @return the result of the work
+     * @throws SQLException if the work fails or the commit fails; the transaction is rolled back
+     */
+    public static <T> T run(ConnectionPool.ConnectionFactory source, Work<T> work) throws SQLException {
+        Bound outer = CURRENT.get();
+        if (outer != null) {
+            try {
+                return work.execute();
+            } catch (SQLException | RuntimeException e) {
+                outer.rollbackOnly = true;
+                throw e;
+            }
+        }
+
+        try (Connection connection = source.create()) {
+            Bound bound = new Bound(connection);
+            connection.setAutoCommit(false);
+            CURRENT.set(bound);
+            try {
+                T result = work.execute();
+                if (bound.rollbackOnly) {
+                    throw new SQLException("Transaction rolled back: a nested unit of work failed.");
+                }
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(connection, e);
+                throw e;
+            } finally {
+                CURRENT.remove();
+                restoreAutoCommit(connection);
+            }
+        }
+    }
+
+    /**
+     * @return the connection of the transaction bound to this thread, whose {@code close()} does
+     *         nothing, or null if no unit of work is running
+     */
+    public static Connection currentConnection() {
+        Bound bound = CURRENT.get();
+        return bound == null ? null : bound.shared;
+    }
+
+    /**
+     * @return true if a unit of work is running on this thread
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Marks the transaction bound to this thread so that it is rolled back instead of committed.
+     * Used by code that catches a database error it cannot recover from.
+     *
+     * @throws IllegalStateException if no unit of work is running
+     */
+    public static void setRollbackOnly() {
+        Bound bound = CURRENT.get();
+        if (bound == null) {
+            throw new IllegalStateException("No unit of work is running.");
+        }
+        bound.rollbackOnly = true;
+    }
+
+    private static void rollbackQuietly(Connection connection, Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Turns auto-commit back on before the connection is closed. If this fails, the pool finds the
+     * connection still in a transaction when it comes back and rolls it back itself.
+     */
+    private static void restoreAutoCommit(Connection connection) {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            Logger.warn("Impossible de rétablir l'auto-commit : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Wraps the transaction's connection so that DAOs can keep closing it with try-with-resources.
+     * Transaction control is reserved to the unit of work.
+     */
+    private static Connection unclosable(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Transaction[" + connection + "]";
+                        case "close":
+                            return null;
+                        case "commit":
+                        case "rollback":
+                        case "setAutoCommit":
+                            throw new SQLException("Transaction is managed by the unit of work.");
+                        default:
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+}
@@ -0,0 +1,318 @@
+package tests;
+
+import model.graph.adaptation.BesoinsAdapter;
+import model.graph.algorithme.CompetenceGraph;
+import model.graph.algorithme.GraphExaustif;
+import model.graph.algorithme.GraphGloutton;
+import model.persistence.DPS;
+import model.persistence.Rescuer;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+/**
+ * Benchmark suite for the assignment hot path: {@link GraphGloutton#assign()},
+ * {@link GraphExaustif#assign()}, {@link BesoinsAdapter#buildExtendedMatrix} and
+ * {@link CompetenceGraph#isAcyclic}.
+ *
+ * <p>Unlike {@link TestGraphComplexiter}, which times a single call, each case is run
+ * for several warmup iterations before being measured, and every iteration repeats the
+ * operation until a minimum duration is reached. Inputs are generated from a seed outside
+ * of the measured code, and results are consumed so the JIT cannot discard the work.
+ * For each (size, density, seed) the suite reports the mean time per operation with its
+ * standard deviation, the bytes allocated per operation and the GC activity. Only the calling
+ * thread's allocations are counted, which leaves out the workers of {@code exaustif-parallele}.</p>
+ *
+ * <p>Options, all optional: {@code --bench=gloutton,exaustif,exaustif-parallele,adapter,acyclique},
+ * {@code --gloutton=500,1000,2000} (and the same for each benchmark: the sizes),
+ * {@code --densites=0.1,0.5}, {@code --graines=360}, {@code --warmup=5},
+ * {@code --iterations=10}, {@code --duree-ms=200}. Use {@code bench.sh} to run it.</p>
+ *
+ * @author ResQ360
+ */
+public class BenchmarkGraphes {
+    private static final Map<String, String> TAILLES_DEFAUT = new LinkedHashMap<>();
+    static {
+        TAILLES_DEFAUT.put("gloutton", "500,1000,2000");
+        TAILLES_DEFAUT.put("exaustif", "6,8,10");
+        TAILLES_DEFAUT.put("exaustif-parallele", "6,8,10");
+        TAILLES_DEFAUT.put("adapter", "500,1000,2000");
+        TAILLES_DEFAUT.put("acyclique", "50,100,200");
+    }
+    private static final int NB_COMPETENCES = 10;
+
+    /** Keeps the results alive so the measured code is not eliminated. */
+    private static volatile int puits;
+
+    /**
+     * Result of one benchmark case.
+     *
+     * @param nom          the name of the benchmark
+     * @param taille       the size of the input
+     * @param densite      the density of the input
+     * @param graine       the seed of the input
+     * @param moyenneNs    the mean time per operation, in nanoseconds
+     * @param ecartTypeNs  the standard deviation between iterations, in nanoseconds
+     * @param octetsParOp  the bytes allocated per operation, or -1 if not supported
+     * @param nbGc         the number of collections during the measurement
+     * @param tempsGcMs    the time spent in collections during the measurement
+     */
+    private record Mesure(String nom, int taille, double densite, long graine, double moyenneNs,
+                          double ecartTypeNs, long octetsParOp, long nbGc, long tempsGcMs) { }
+
+    /**
+     * Main method that runs the selected benchmarks.
+     *
+     * @param args the options described in the class documentation
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = lireOptions(args);
+        Set<String> benchs = new LinkedHashSet<>(Arrays.asList(
+                options.getOrDefault("bench", String.join(",", TAILLES_DEFAUT.keySet())).split(",")));
+        double[] densites = Arrays.stream(options.getOrDefault("densites", "0.1,0.5").split(","))
+                .mapToDouble(Double::parseDouble).toArray();
+        long[] graines = Arrays.stream(options.getOrDefault("graines", "360").split(","))
+                .mapToLong(Long::parseLong).toArray();
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "10"));
+        long dureeNs = Long.parseLong(options.getOrDefault("duree-ms", "200")) * 1_000_000;
+
+        System.out.println(" ====== Benchmark des graphes ====== ");
+        System.out.println("warmup = " + warmup + ", iterations = " + iterations
+                + ", durée min. par itération = " + dureeNs / 1_000_000 + " ms");
+        System.out.println();
+        System.out.printf("%-10s %7s %8s %8s %16s %14s %14s %6s %8s%n", "bench", "taille", "densite", "graine",
+                "temps/op (us)", "ecart (us)", "alloc/op (o)", "gc", "gc (ms)");
+
+        List<Mesure> mesures = new ArrayList<>();
+        for (String bench : benchs) {
+            if (!TAILLES_DEFAUT.containsKey(bench)) {
+                System.out.println("Benchmark inconnu : " + bench);
+                continue;
+            }
+            int[] tailles = Arrays.stream(options.getOrDefault(bench, TAILLES_DEFAUT.get(bench)).split(","))
+                    .mapToInt(Integer::parseInt).toArray();
+            for (int taille : tailles) {
+                for (double densite : densites) {
+                    for (long graine : graines) {
+                        Supplier<Object> cas = preparer(bench, taille, densite, graine);
+                        Mesure mesure = mesurer(bench, taille, densite, graine, cas, warmup, iterations, dureeNs);
+                        afficher(mesure);
+                        mesures.add(mesure);
+                    }
+                }
+            }
+        }
+        System.out.println();
+        System.out.println(mesures.size() + " cas mesurés.");
+    }
+    /**
+     * Builds the input of a benchmark and returns the operation to measure.
+     *
+     * @param bench   the name of the benchmark
+     * @param taille  the size of the input
+     * @param densite the probability of each edge (or skill)
+     * @param graine  the seed of the random generator
+     * @return the measured operation
+     */
+    private static Supplier<Object> preparer(String bench, int taille, double densite, long graine) {
+        Random random = new Random(graine);
+        switch (bench) {
+            case "gloutton": {
+                int[][] matrice = genererMatrice(taille, taille, densite, random);
+                return () -> new GraphGloutton(matrice).assign();
+            }
+            case "exaustif": {
+                int[][] matrice = genererMatrice(taille, taille, densite, random);
+                return () -> new GraphExaustif(matrice).assign();
+            }
+            case "exaustif-parallele": {
+                int[][] matrice = genererMatrice(taille, taille, densite, random);
+                return () -> {
+                    GraphExaustif exaustif = new GraphExaustif(matrice);
+                    exaustif.setPool(ForkJoinPool.commonPool());
+                    return exaustif.assign();
+                };
+            }
+            case "adapter": {
+                List<Rescuer> sauveteurs = genererSauveteurs(taille, densite, random);
+                List<DPS> dpsList = genererDPS(Math.max(1, taille / 4), random);
+                return () -> BesoinsAdapter.buildExtendedMatrix(sauveteurs, dpsList);
+            }
+            default: {
+                int[][] matrice = genererDAG(taille, densite, random);
+                return () -> CompetenceGraph.isAcyclic(matrice);
+            }
+        }
+    }
+    /**
+     * Runs the warmup iterations, then the measured ones, and collects time, allocation and GC figures.
+     *
+     * @return the measure of the case
+     */
+    private static Mesure mesurer(String nom, int taille, double densite, long graine, Supplier<Object> cas,
+                                  int warmup, int iterations, long dureeNs) {
+        for (int i = 0; i < warmup; i++) {
+            iterer(cas, dureeNs);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocations = threads instanceof com.sun.management.ThreadMXBean sun
+                && sun.isThreadAllocatedMemorySupported() ? sun : null;
+        long idThread = Thread.currentThread().getId();
+        long gcAvant = compterGc();
+        long tempsGcAvant = tempsGc();
+        long octetsAvant = allocations != null ? allocations.getThreadAllocatedBytes(idThread) : 0;
+
+        double[] tempsParOp = new double[iterations];
+        long nbOperations = 0;
+        for (int i = 0; i < iterations; i++) {
+            long[] res = iterer(cas, dureeNs);
+            tempsParOp[i] = (double) res[0] / res[1];
+            nbOperations += res[1];
+        }
+
+        long octets = allocations != null ? allocations.getThreadAllocatedBytes(idThread) - octetsAvant : -1;
+        double moyenne = Arrays.stream(tempsParOp).average().orElse(0);
+        double variance = Arrays.stream(tempsParOp).map(t -> (t - moyenne) * (t - moyenne)).sum()
+                / Math.max(1, iterations - 1);
+        return new Mesure(nom, taille, densite, graine, moyenne, Math.sqrt(variance),
+                octets < 0 ? -1 : octets / Math.max(1, nbOperations),
+                compterGc() - gcAvant, tempsGc() - tempsGcAvant);
+    }
+    /**
+     * Repeats the operation until the minimum duration is reached.
+     *
+     * @return the elapsed time in nanoseconds and the number of operations
+     */
+    private static long[] iterer(Supplier<Object> cas, long dureeNs) {
+        long debut = System.nanoTime();
+        long ecoule;
+        long nbOperations = 0;
+        do {
+            consommer(cas.get());
+            nbOperations++;
+            ecoule = System.nanoTime() - debut;
+        } while (ecoule < dureeNs);
+        return new long[]{ecoule, nbOperations};
+    }
+    /**
+     * Folds a result into {@link #puits}.
+     */
+    private static void consommer(Object resultat) {
+        if (resultat instanceof int[][] matrice) {
+            puits += matrice.length == 0 ? 0 : matrice[0].length + matrice.length;
+        } else if (resultat instanceof BesoinsAdapter.ResultatAdaptation res) {
+            puits += res.correspondanceColonnes().size();
+        } else {
+            puits += Boolean.TRUE.equals(resultat) ? 1 : 0;
+        }
+    }
+    /**
+     * @return the total number of collections since the start of the JVM
+     */
+    private static long compterGc() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+    /**
+     * @return the total time spent in collections since the start of the JVM, in milliseconds
+     */
+    private static long tempsGc() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+    /**
+     * Prints one line of the result table.
+     */
+    private static void afficher(Mesure m) {
+        System.out.printf("%-10s %7d %8.2f %8d %16.1f %14.1f %14d %6d %8d%n", m.nom(), m.taille(), m.densite(),
+                m.graine(), m.moyenneNs() / 1000, m.ecartTypeNs() / 1000, m.octetsParOp(), m.nbGc(), m.tempsGcMs());
+    }
+    /**
+     * Reads options of the form {@code --nom=valeur}.
+     */
+    private static Map<String, String> lireOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int egal = arg.indexOf('=');
+            if (arg.startsWith("--") && egal > 2) {
+                options.put(arg.substring(2, egal), arg.substring(egal + 1));
+            }
+        }
+        return options;
+    }
+    /**
+     * Creates a random compatibility matrix.
+     */
+    private static int[][] genererMatrice(int lignes, int colonnes, double densite, Random random) {
+        int[][] matrice = new int[lignes][colonnes];
+        for (int i = 0; i < lignes; i++) {
+            for (int j = 0; j < colonnes; j++) {
+                matrice[i][j] = random.nextDouble() < densite ? 1 : 0;
+            }
+        }
+        return matrice;
+    }
+    /**
+     * Creates a random acyclic graph (edges only from i to j with i &lt; j), the worst case of
+     * {@link CompetenceGraph#isAcyclic} since no early cycle can be found.
+     */
+    private static int[][] genererDAG(int n, double densite, Random random) {
+        int[][] matrice = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                matrice[i][j] = random.nextDouble() < densite ? 1 : 0;
+            }
+        }
+        return matrice;
+    }
+    /**
+     * Creates rescuers owning each skill with the given probability.
+     */
+    private static List<Rescuer> genererSauveteurs(int nombre, double densite, Random random) {
+        List<Rescuer> sauveteurs = new ArrayList<>();
+        for (int id = 1; id <= nombre; id++) {
+            Rescuer rescuer = new Rescuer(id);
+            for (int competence = 1; competence <= NB_COMPETENCES; competence++) {
+                if (random.nextDouble() < densite) {
+                    rescuer.addSkill(String.valueOf(competence));
+                }
+            }
+            sauveteurs.add(rescuer);
+        }
+        return sauveteurs;
+    }
+    /**
+     * Creates DPS needing one to three rescuers for one to three random skills.
+     */
+    private static List<DPS> genererDPS(int nombre, Random random) {
+        List<DPS> dpsList = new ArrayList<>();
+        for (int id = 1; id <= nombre; id++) {
+            DPS dps = new DPS(id, 1, "S" + id);
+            int nbBesoins = 1 + random.nextInt(3);
+            for (int b = 0; b < nbBesoins; b++) {
+                dps.setBesoins(1 + random.nextInt(NB_COMPETENCES), 1 + random.nextInt(3));
+            }
+            dpsList.add(dps);
+        }
+        return dpsList;
+    }
+}
@@ -0,0 +1,275 @@
+package tests;
+
+import model.services.ConnectionPool;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+/**
+ * Test class for the {@link ConnectionPool}.
+ *
+ * <p>This class uses fake connections, so no database is needed. It checks that connections
+ * are reused, that the pool never hands out more than its maximum, that broken, idle and
+ * too old connections are replaced, and that a returned connection can no longer be used.
+ * It also checks the per-connection cache of prepared statements.</p>
+ *
+ * @author ResQ360
+ */
+public class TestConnectionPool {
+    /**
+     * Main method that runs all the test cases.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println(" ====== Test Pool de connexions ====== ");
+        System.out.println("");
+        testReutilisation();
+        testTailleMaximale();
+        testValidation();
+        testDureeDeVie();
+        testEvictionInactives();
+        testConnexionRendue();
+        testConcurrence();
+        testCacheRequetes();
+        testCacheLRU();
+        testCacheRequeteImbriquee();
+    }
+    /**
+     * A returned connection is handed out again instead of opening a new one.
+     */
+    private static void testReutilisation() throws SQLException {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique, config(2, 1_000, 60_000));
+        pool.borrow().close();
+        pool.borrow().close();
+        System.out.println("Test réutilisation d'une connexion :");
+        afficher(fabrique.ouvertes.get(), 1);
+        pool.close();
+    }
+    /**
+     * When all connections are in use, borrow waits then gives up.
+     */
+    private static void testTailleMaximale() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(new FabriqueFactice(), config(2, 50, 60_000));
+        Connection c1 = pool.borrow();
+        Connection c2 = pool.borrow();
+        boolean expire = false;
+        try {
+            pool.borrow();
+        } catch (SQLTransientConnectionException e) {
+            expire = true;
+        }
+        c1.close();
+        c2.close();
+        System.out.println("Test taille maximale :");
+        afficher(expire ? (int) pool.getStats().timeouts() : -1, 1);
+        pool.close();
+    }
+    /**
+     * A broken idle connection is closed and replaced on borrow.
+     */
+    private static void testValidation() throws SQLException {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique, config(2, 1_000, 60_000));
+        pool.borrow().close();
+        fabrique.valides.set(false);
+        fabrique.nouvellesValides = true;
+        pool.borrow().close();
+        System.out.println("Test validation à l'emprunt :");
+        afficher((int) pool.getStats().destroyed(), 1);
+        pool.close();
+    }
+    /**
+     * A connection older than its maximum lifetime is not kept when it comes back.
+     */
+    private static void testDureeDeVie() throws Exception {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique,
+                new ConnectionPool.Config(2, 0, 1_000, 60_000, 20, 1, 0));
+        Connection connexion = pool.borrow();
+        Thread.sleep(40);
+        connexion.close();
+        pool.borrow().close();
+        System.out.println("Test durée de vie maximale :");
+        afficher(fabrique.ouvertes.get(), 2);
+        pool.close();
+    }
+    /**
+     * The background task closes connections idle for too long.
+     */
+    private static void testEvictionInactives() throws Exception {
+        ConnectionPool pool = new ConnectionPool(new FabriqueFactice(),
+                new ConnectionPool.Config(2, 0, 1_000, 10, 60_000, 1, 0));
+        pool.borrow().close();
+        Thread.sleep(1_500);
+        System.out.println("Test éviction des connexions inactives :");
+        afficher(pool.getStats().total(), 0);
+        pool.close();
+    }
+    /**
+     * A connection that was given back can no longer run statements.
+     */
+    private static void testConnexionRendue() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(new FabriqueFactice(), config(1, 1_000, 60_000));
+        Connection connexion = pool.borrow();
+        connexion.close();
+        connexion.close(); // sans effet
+        boolean refuse = false;
+        try {
+            connexion.prepareStatement("SELECT 1");
+        } catch (SQLException e) {
+            refuse = true;
+        }
+        System.out.println("Test connexion rendue au pool :");
+        afficher(refuse && connexion.isClosed() ? pool.getStats().idle() : -1, 1);
+        pool.close();
+    }
+    /**
+     * Many threads share a small pool: every borrow succeeds and the bound is never exceeded.
+     */
+    private static void testConcurrence() throws Exception {
+        ConnectionPool pool = new ConnectionPool(new FabriqueFactice(), config(3, 5_000, 60_000));
+        AtomicInteger enCours = new AtomicInteger();
+        AtomicInteger maxEnCours = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> taches = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            taches.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    try (Connection connexion = pool.borrow()) {
+                        maxEnCours.accumulateAndGet(enCours.incrementAndGet(), Math::max);
+                        Thread.yield();
+                        enCours.decrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> tache : taches) {
+            tache.get();
+        }
+        executor.shutdown();
+        ConnectionPool.Stats stats = pool.getStats();
+        System.out.println("Test accès concurrents :");
+        System.out.println(" - Attente moyenne : " + stats.meanWaitMillis() + " ms");
+        afficher(maxEnCours.get() <= 3 && stats.total() <= 3 ? (int) stats.borrows() : -1, 1600);
+        pool.close();
+    }
+    /**
+     * Preparing the same SQL twice on a connection reuses the statement, even across borrows.
+     */
+    private static void testCacheRequetes() throws SQLException {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique, config(1, 1_000, 60_000));
+        for (int i = 0; i < 3; i++) {
+            try (Connection connexion = pool.borrow();
+                 PreparedStatement requete = connexion.prepareStatement("SELECT * FROM DPS WHERE idDPS = ?")) {
+                requete.setInt(1, i);
+            }
+        }
+        System.out.println("Test cache des requêtes préparées :");
+        afficher(fabrique.preparees.get() == 1 ? (int) pool.getStats().statementHits() : -1, 2);
+        pool.close();
+    }
+    /**
+     * When the cache is full, the least recently used statement is closed.
+     */
+    private static void testCacheLRU() throws SQLException {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique, config(1, 1_000, 60_000));
+        try (Connection connexion = pool.borrow()) {
+            for (String sql : new String[]{"A", "B", "A", "C", "A"}) {
+                connexion.prepareStatement(sql).close();
+            }
+        }
+        System.out.println("Test éviction LRU des requêtes :");
+        // B est la moins récemment utilisée quand C arrive : A reste en cache
+        afficher(fabrique.requetesFermees.get() == 1 ? fabrique.preparees.get() : -1, 3);
+        pool.close();
+    }
+    /**
+     * A statement still open is not handed out a second time.
+     */
+    private static void testCacheRequeteImbriquee() throws SQLException {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique, config(1, 1_000, 60_000));
+        try (Connection connexion = pool.borrow();
+             PreparedStatement externe = connexion.prepareStatement("A");
+             PreparedStatement interne = connexion.prepareStatement("A")) {
+            System.out.println("Test requête imbriquée :");
+            afficher(externe != interne ? fabrique.preparees.get() : -1, 2);
+        }
+        pool.close();
+    }
+    /**
+     * @return a configuration with no idle connection kept and a 1 s validation timeout
+     */
+    private static ConnectionPool.Config config(int taille, long attenteMs, long inactiviteMs) {
+        return new ConnectionPool.Config(taille, 0, attenteMs, inactiviteMs, 600_000, 1, 2);
+    }
+    /**
+     * Prints the result of a test.
+     */
+    private static void afficher(int obtenu, int attendu) {
+        System.out.println(" - Obtenu : " + obtenu + " / attendu : " + attendu);
+        if (obtenu == attendu) {
+            System.out.println("    TEST OK");
+        } else {
+            System.out.println("    ECHEC DU TEST");
+        }
+        System.out.println();
+    }
+    /**
+     * Opens fake connections that only answer isValid, isClosed, close, the auto-commit methods
+     * and prepareStatement, which returns a fake statement.
+     */
+    private static final class FabriqueFactice implements ConnectionPool.ConnectionFactory {
+        private final AtomicInteger ouvertes = new AtomicInteger();
+        private final AtomicInteger preparees = new AtomicInteger();
+        private final AtomicInteger requetesFermees = new AtomicInteger();
+        private final AtomicBoolean valides = new AtomicBoolean(true);
+        private boolean nouvellesValides;
+
+        @Override
+        public Connection create() {
+            ouvertes.incrementAndGet();
+            AtomicBoolean valide = nouvellesValides ? new AtomicBoolean(true) : valides;
+            AtomicBoolean fermee = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "isValid" -> valide.get() && !fermee.get();
+                        case "isClosed" -> fermee.get();
+                        case "close" -> {
+                            fermee.set(true);
+                            yield null;
+                        }
+                        case "getAutoCommit" -> true;
+                        case "prepareStatement" -> requete();
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    });
+        }
+
+        private PreparedStatement requete() {
+            preparees.incrementAndGet();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("close")) {
+                            requetesFermees.incrementAndGet();
+                        }
+                        return method.getName().equals("isClosed") ? Boolean.FALSE : null;
+                    });
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package tests;
+
+import model.graph.algorithme.CouplageIncremental;
+import model.graph.algorithme.GraphHopcroftKarp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+/**
+ * Test class for the {@link CouplageIncremental} matching.
+ *
+ * <p>This class applies additions, removals and neighbour changes one at a time and checks,
+ * after each of them, that the repaired matching is valid and as large as the maximum
+ * matching computed from scratch by {@link GraphHopcroftKarp}.</p>
+ *
+ * @author ResQ360
+ */
+public class TestCouplageIncremental {
+    /**
+     * Main method that runs all the test cases.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) {
+        System.out.println(" ====== Test Couplage Incrémental ====== ");
+        System.out.println("");
+        testAjoutColonne();
+        testSuppressionLigne();
+        testChangementVoisins();
+        testVoisinsInchanges();
+        testComparaisonHopcroftKarp();
+    }
+    /**
+     * A new column is taken by moving a rescuer along an augmenting path.
+     */
+    private static void testAjoutColonne() {
+        CouplageIncremental couplage = new CouplageIncremental();
+        int l0 = couplage.insererLigne(new int[0]);
+        int l1 = couplage.insererLigne(new int[0]);
+        int c0 = couplage.insererColonne(new int[]{l0, l1});
+        couplage.insererColonne(new int[]{l0});
+        System.out.println("Test ajout d'une colonne :");
+        afficher(couplage.getTaille() == 2 && couplage.getLigne(c0) == l1 ? 2 : -1, 2);
+    }
+    /**
+     * Removing a matched rescuer lets another one take its column.
+     */
+    private static void testSuppressionLigne() {
+        CouplageIncremental couplage = new CouplageIncremental();
+        int l0 = couplage.insererLigne(new int[0]);
+        int c0 = couplage.insererColonne(new int[]{l0});
+        int l1 = couplage.insererLigne(new int[]{c0});
+        couplage.supprimerLigne(l0);
+        System.out.println("Test suppression d'une ligne :");
+        afficher(couplage.getLigne(c0) == l1 ? couplage.getTaille() : -1, 1);
+    }
+    /**
+     * A rescuer losing a skill is replaced, and the change is reported.
+     */
+    private static void testChangementVoisins() {
+        CouplageIncremental couplage = new CouplageIncremental();
+        int c0 = couplage.ajouterColonne();
+        int c1 = couplage.ajouterColonne();
+        int l0 = couplage.insererLigne(new int[]{c0});
+        int l1 = couplage.insererLigne(new int[]{c0, c1});
+        couplage.extraireModifications();
+        couplage.remplacerVoisinsLigne(l0, new int[]{c1});
+        int nbModifiees = couplage.extraireModifications().length;
+        System.out.println("Test changement des voisins d'une ligne :");
+        afficher(couplage.getColonne(l0) == c1 && couplage.getColonne(l1) == c0 ? nbModifiees : -1, 2);
+    }
+    /**
+     * Giving a matched rescuer the same neighbours again keeps its column: the free rescuer
+     * compatible with it does not take it, and nothing is reported.
+     */
+    private static void testVoisinsInchanges() {
+        CouplageIncremental couplage = new CouplageIncremental();
+        int l0 = couplage.ajouterLigne();
+        int l1 = couplage.ajouterLigne();
+        int c0 = couplage.ajouterColonne();
+        couplage.relier(l0, c0);
+        couplage.relier(l1, c0);
+        couplage.coupler(l1, c0);
+        couplage.extraireModifications();
+        couplage.remplacerVoisinsLigne(l1, new int[]{c0});
+        int nbModifiees = couplage.extraireModifications().length;
+        System.out.println("Test voisins inchangés :");
+        afficher(couplage.getLigne(c0) == l1 && couplage.getColonne(l0) == CouplageIncremental.LIBRE
+                ? nbModifiees : -1, 0);
+    }
+    /**
+     * Random sequences of modifications compared with a full recomputation after each step.
+     */
+    private static void testComparaisonHopcroftKarp() {
+        Random random = new Random(360);
+        for (int t = 0; t < 5; t++) {
+            CouplageIncremental couplage = new CouplageIncremental();
+            List<boolean[]> aretes = new ArrayList<>(); // aretes.get(ligne)[colonne]
+            List<Boolean> lignes = new ArrayList<>();
+            List<Boolean> colonnes = new ArrayList<>();
+            int maxColonnes = 400;
+            boolean ok = true;
+
+            for (int etape = 0; etape < 300 && ok; etape++) {
+                int operation = random.nextInt(6);
+                if (operation == 0 || lignes.isEmpty()) {
+                    aretes.add(new boolean[maxColonnes]);
+                    lignes.add(true);
+                    couplage.insererLigne(tirerVoisins(random, colonnes, aretes.get(aretes.size() - 1)));
+                } else if ((operation == 1 || colonnes.isEmpty()) && colonnes.size() < maxColonnes) {
+                    int colonne = colonnes.size();
+                    colonnes.add(true);
+                    List<Integer> voisins = new ArrayList<>();
+                    for (int ligne = 0; ligne < lignes.size(); ligne++) {
+                        if (lignes.get(ligne) && random.nextInt(4) == 0) {
+                            aretes.get(ligne)[colonne] = true;
+                            voisins.add(ligne);
+                        }
+                    }
+                    couplage.insererColonne(voisins.stream().mapToInt(Integer::intValue).toArray());
+                } else if (operation == 2) {
+                    int ligne = tirerActif(random, lignes);
+                    if (ligne >= 0) {
+                        lignes.set(ligne, false);
+                        couplage.supprimerLigne(ligne);
+                    }
+                } else if (operation == 3) {
+                    int colonne = tirerActif(random, colonnes);
+                    if (colonne >= 0) {
+                        colonnes.set(colonne, false);
+                        for (boolean[] ligne : aretes) {
+                            ligne[colonne] = false;
+                        }
+                        couplage.supprimerColonne(colonne);
+                    }
+                } else {
+                    int ligne = tirerActif(random, lignes);
+                    if (ligne >= 0) {
+                        aretes.set(ligne, new boolean[maxColonnes]);
+                        couplage.remplacerVoisinsLigne(ligne, tirerVoisins(random, colonnes, aretes.get(ligne)));
+                    }
+                }
+                ok = verifier(couplage, aretes, lignes, colonnes);
+            }
+            System.out.println("Test comparaison avec Hopcroft-Karp n°" + (t + 1) + " :");
+            afficher(ok ? 1 : 0, 1);
+        }
+    }
+    /**
+     * Checks that the matching only uses existing edges and has the maximum size.
+     *
+     * @return true if the matching is valid and maximum
+     */
+    private static boolean verifier(CouplageIncremental couplage, List<boolean[]> aretes,
+                                    List<Boolean> lignes, List<Boolean> colonnes) {
+        List<Integer> lignesActives = new ArrayList<>();
+        List<Integer> colonnesActives = new ArrayList<>();
+        for (int ligne = 0; ligne < lignes.size(); ligne++) {
+            if (lignes.get(ligne)) {
+                lignesActives.add(ligne);
+                int colonne = couplage.getColonne(ligne);
+                if (colonne != CouplageIncremental.LIBRE
+                        && (!aretes.get(ligne)[colonne] || couplage.getLigne(colonne) != ligne)) {
+                    return false;
+                }
+            }
+        }
+        for (int colonne = 0; colonne < colonnes.size(); colonne++) {
+            if (colonnes.get(colonne)) {
+                colonnesActives.add(colonne);
+            }
+        }
+        if (lignesActives.isEmpty() || colonnesActives.isEmpty()) {
+            return couplage.getTaille() == 0;
+        }
+        int[][] matrice = new int[lignesActives.size()][colonnesActives.size()];
+        for (int i = 0; i < matrice.length; i++) {
+            for (int j = 0; j < matrice[i].length; j++) {
+                matrice[i][j] = aretes.get(lignesActives.get(i))[colonnesActives.get(j)] ? 1 : 0;
+            }
+        }
+        return couplage.getTaille() == new GraphHopcroftKarp(matrice).calculerMaximum();
+    }
+    /**
+     * Picks random neighbours among the active columns and records them in {@code ligne}.
+     */
+    private static int[] tirerVoisins(Random random, List<Boolean> colonnes, boolean[] ligne) {
+        List<Integer> voisins = new ArrayList<>();
+        for (int colonne = 0; colonne < colonnes.size(); colonne++) {
+            if (colonnes.get(colonne) && random.nextInt(4) == 0) {
+                ligne[colonne] = true;
+                voisins.add(colonne);
+            }
+        }
+        return voisins.stream().mapToInt(Integer::intValue).toArray();
+    }
+    /**
+     * @return a random active index, or -1 if none is active
+     */
+    private static int tirerActif(Random random, List<Boolean> actifs) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < actifs.size(); i++) {
+            if (actifs.get(i)) {
+                indices.add(i);
+            }
+        }
+        return indices.isEmpty() ? -1 : indices.get(random.nextInt(indices.size()));
+    }
+    /**
+     * Prints the result of a test.
+     */
+    private static void afficher(int obtenu, int attendu) {
+        System.out.println(" - Obtenu : " + obtenu + " / attendu : " + attendu);
+        if (obtenu == attendu) {
+            System.out.println("    TEST OK");
+        } else {
+            System.out.println("    ECHEC DU TEST");
+        }
+        System.out.println();
+    }
+}
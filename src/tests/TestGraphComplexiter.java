@@ -2,11 +2,13 @@ package tests;
 
 import model.graph.algorithme.GraphExaustif;
 import model.graph.algorithme.GraphGloutton;
+import model.graph.algorithme.GraphHopcroftKarp;
 
 import java.util.Random;
 /**
- * Test class to compare the performance of two graph algorithms:
- * a greedy algorithm (GraphGloutton) and an exhaustive one (GraphExaustif).
+ * Test class to compare the performance of the graph algorithms:
+ * a greedy algorithm (GraphGloutton), an exhaustive one (GraphExaustif)
+ * and the Hopcroft-Karp maximum matching (GraphHopcroftKarp).
  *
  * <p>It tests them on different matrices and measures execution time
  * and how many cells are covered.</p>
@@ -117,6 +119,19 @@ public class TestGraphComplexiter {
             System.out.println("Tps = " + tpsE + " ms");
             System.out.println("couv/n² = " + ratioE);
             System.out.println();
+
+            /** testHopcroftKarpComplexité **/
+            System.out.println("HOPCROFT-KARP");
+            long t1H = System.nanoTime();
+            GraphHopcroftKarp h = new GraphHopcroftKarp(matrice);
+            int[][] resH = h.assign();
+            long t2H = System.nanoTime();
+            long tpsH = (t2H - t1H) / 1_000_000;
+            int couvH = compterCasesActives(resH);
+            double ratioH = (double) couvH / (n * n);
+            System.out.println("Tps = " + tpsH + " ms");
+            System.out.println("couv/n² = " + ratioH);
+            System.out.println();
         }
     }
     /**
@@ -142,6 +157,21 @@ public class TestGraphComplexiter {
         System.out.println("Tps = " + tps + " ms");
         System.out.println("couv/n² = " + ratio);
         System.out.println();
+
+        System.out.println("====== TEST HOPCROFT-KARP SUR MATRICE 2000 x 2000 ======");
+
+        t1 = System.nanoTime();
+        GraphHopcroftKarp h = new GraphHopcroftKarp(matrice);
+        res = h.assign();
+        t2 = System.nanoTime();
+
+        tps = (t2 - t1) / 1_000_000;
+        couverture = compterCasesActives(res);
+        ratio = (double) couverture / (n * n);
+
+        System.out.println("Tps = " + tps + " ms");
+        System.out.println("couv/n² = " + ratio);
+        System.out.println();
     }
     /**
      * Counts how many cells in the matrix have the value 1.
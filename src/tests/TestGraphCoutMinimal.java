@@ -0,0 +1,172 @@
+package tests;
+
+import model.graph.adaptation.MatriceCreuse;
+import model.graph.algorithme.GraphCoutMinimal;
+
+import java.util.Random;
+/**
+ * Test class for the {@link GraphCoutMinimal} (weighted) algorithm.
+ *
+ * <p>This class checks that the weighted assignment finds a maximum matching and,
+ * among all maximum matchings, one of minimum total cost. Random cases are compared
+ * with a brute-force search.</p>
+ *
+ * @author ResQ360
+ */
+public class TestGraphCoutMinimal {
+    /**
+     * Main method that runs all the test cases.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) {
+        System.out.println(" ====== Test Coût Minimal ====== ");
+        System.out.println("");
+        testSimple();
+        testCardinaliteAvantCout();
+        testAucuneAffectationPossible();
+        testVide();
+        testComparaisonForceBrute();
+    }
+    /**
+     * Test where the cheapest perfect matching is the anti-diagonal.
+     */
+    private static void testSimple() {
+        int[][] matrice = {
+                {1, 1},
+                {1, 1}
+        };
+        int[][] couts = {
+                {5, 1},
+                {1, 5}
+        };
+        System.out.println("Test simple (2x2, anti-diagonale moins chère) :");
+        lancerTest(matrice, couts, 2, 2);
+    }
+    /**
+     * Test where the cheapest edge must be left out to keep a maximum matching.
+     */
+    private static void testCardinaliteAvantCout() {
+        int[][] matrice = {
+                {1, 1},
+                {1, 0}
+        };
+        int[][] couts = {
+                {0, 9},
+                {9, 0}
+        };
+        System.out.println("Test cardinalité avant coût :");
+        lancerTest(matrice, couts, 2, 18);
+    }
+    /**
+     * Test with a matrix where no assignment is possible.
+     */
+    private static void testAucuneAffectationPossible() {
+        int[][] matrice = {
+                {0, 0},
+                {0, 0}
+        };
+        System.out.println("Test aucune affectation possible :");
+        lancerTest(matrice, new int[2][2], 0, 0);
+    }
+    /**
+     * Test with an empty matrix.
+     */
+    private static void testVide() {
+        int[][] matrice = {};
+        System.out.println("Test vide :");
+        lancerTest(matrice, matrice, 0, 0);
+    }
+    /**
+     * Compares the size and cost with a brute-force search on random 7x7 matrices.
+     */
+    private static void testComparaisonForceBrute() {
+        Random random = new Random(360);
+        for (int t = 0; t < 5; t++) {
+            int[][] matrice = new int[7][7];
+            int[][] couts = new int[7][7];
+            for (int i = 0; i < 7; i++) {
+                for (int j = 0; j < 7; j++) {
+                    matrice[i][j] = random.nextInt(3) == 0 ? 1 : 0;
+                    couts[i][j] = random.nextInt(20);
+                }
+            }
+            long[] attendu = forceBrute(matrice, couts, 0, new boolean[7], 0, 0, new long[]{-1, 0});
+            System.out.println("Test comparaison avec la force brute n°" + (t + 1) + " :");
+            lancerTest(matrice, couts, (int) attendu[0], attendu[1]);
+        }
+    }
+    /**
+     * Runs a test by applying the weighted algorithm and checking the result.
+     *
+     * @param matrice the input compatibility matrix
+     * @param couts the cost of each (rescuer, diploma) pair
+     * @param expectedAffectations the expected number of assignments
+     * @param expectedCout the expected total cost
+     */
+    private static void lancerTest(int[][] matrice, int[][] couts, int expectedAffectations, long expectedCout) {
+        MatriceCreuse graphe = MatriceCreuse.depuisMatrice(matrice);
+        int[] debuts = graphe.getDebuts();
+        int[] voisins = graphe.getVoisins();
+        int[] coutsAretes = new int[voisins.length];
+        for (int i = 0; i < matrice.length; i++) {
+            for (int k = debuts[i]; k < debuts[i + 1]; k++) {
+                coutsAretes[k] = couts[i][voisins[k]];
+            }
+        }
+        GraphCoutMinimal algo = new GraphCoutMinimal(graphe, coutsAretes);
+        int[][] res = algo.assign();
+
+        int total = 0;
+        long cout = 0;
+        boolean estValide = true;
+        boolean[] diplomePris = new boolean[matrice.length == 0 ? 0 : matrice[0].length];
+        for (int i = 0; i < res.length; i++) {
+            for (int j = 0; j < res[i].length; j++) {
+                if (res[i][j] == 1) {
+                    if (matrice[i][j] != 1 || diplomePris[j]) {
+                        estValide = false;
+                    }
+                    diplomePris[j] = true;
+                    total++;
+                    cout += couts[i][j];
+                }
+            }
+        }
+        boolean ok = total == expectedAffectations && cout == expectedCout
+                && algo.calculerCout() == expectedCout && estValide;
+
+        System.out.println(" - Affectations trouvées : " + total + " / attendu : " + expectedAffectations);
+        System.out.println(" - Coût trouvé : " + cout + " / attendu : " + expectedCout);
+        if (ok) {
+            System.out.println("    TEST OK");
+        } else {
+            System.out.println("    ECHEC DU TEST");
+        }
+        System.out.println();
+    }
+    /**
+     * Enumerates every matching and keeps the largest one of minimum cost.
+     *
+     * @return the best {size, cost} found
+     */
+    private static long[] forceBrute(int[][] matrice, int[][] couts, int i, boolean[] pris,
+                                     int taille, long cout, long[] meilleur) {
+        if (i == matrice.length) {
+            if (taille > meilleur[0] || (taille == meilleur[0] && cout < meilleur[1])) {
+                meilleur[0] = taille;
+                meilleur[1] = cout;
+            }
+            return meilleur;
+        }
+        forceBrute(matrice, couts, i + 1, pris, taille, cout, meilleur);
+        for (int j = 0; j < matrice[i].length; j++) {
+            if (matrice[i][j] == 1 && !pris[j]) {
+                pris[j] = true;
+                forceBrute(matrice, couts, i + 1, pris, taille + 1, cout + couts[i][j], meilleur);
+                pris[j] = false;
+            }
+        }
+        return meilleur;
+    }
+}
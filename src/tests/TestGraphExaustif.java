@@ -1,13 +1,23 @@
 package tests;
 
+import model.graph.adaptation.MatriceCreuse;
 import model.graph.algorithme.GraphExaustif;
+import model.graph.algorithme.GraphHopcroftKarp;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 /**
  * Test class for the {@link GraphExaustif} algorithm.
  *
  * <p>This class checks that the exhaustive assignment algorithm works correctly
  * in different scenarios: perfect match, no match, more rescuers than diplomas, etc.</p>
  *
- * <p>Each test verifies if the number of assignments and their validity match expectations.</p>
+ * <p>Each test verifies if the number of assignments and their validity match expectations,
+ * with both search strategies. The branch-and-bound strategy is also compared with
+ * {@link GraphHopcroftKarp} on matrices too large for the complete search, a time budget
+ * is checked to return the best solution found so far, and the search split across a pool
+ * must give the same number of assignments.</p>
  *
  * @author ResQ360
  */
@@ -25,6 +35,10 @@ public class TestGraphExaustif {
         testPlusDeSauveteursQueDiplomes();
         testPlusDeDiplomesQueSauveteurs();
         testVide();
+        testComparaisonHopcroftKarp();
+        testBudget();
+        testParallele();
+        testFormeCompacte();
     }
      /**
      * Test with a simple 2x2 matrix where a perfect assignment is possible.
@@ -80,20 +94,133 @@ public class TestGraphExaustif {
         lancerTest(matrice, 0);
     }
     /**
-     * Runs a test by applying the exhaustive algorithm and checking the result.
+     * Compares the branch-and-bound strategy with Hopcroft-Karp on random 30x30 matrices,
+     * far too large for the complete search.
+     */
+    private static void testComparaisonHopcroftKarp() {
+        Random random = new Random(360);
+        for (int t = 0; t < 5; t++) {
+            int[][] matrice = new int[30][30];
+            for (int i = 0; i < 30; i++) {
+                for (int j = 0; j < 30; j++) {
+                    matrice[i][j] = random.nextInt(8) == 0 ? 1 : 0;
+                }
+            }
+            int attendu = compterAffectations(new GraphHopcroftKarp(matrice).assign());
+            System.out.println("Test séparation-évaluation contre Hopcroft-Karp n°" + (t + 1) + " :");
+            lancerTest(matrice, attendu, GraphExaustif.Strategie.SEPARATION_EVALUATION);
+        }
+    }
+    /**
+     * Runs both strategies split across a pool of 4 threads and compares them with Hopcroft-Karp.
+     */
+    private static void testParallele() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Random random = new Random(360);
+        for (GraphExaustif.Strategie strategie : GraphExaustif.Strategie.values()) {
+            int taille = strategie == GraphExaustif.Strategie.COMPLETE ? 10 : 30;
+            int[][] matrice = new int[taille][taille];
+            for (int i = 0; i < taille; i++) {
+                for (int j = 0; j < taille; j++) {
+                    matrice[i][j] = random.nextInt(4) == 0 ? 1 : 0;
+                }
+            }
+            int attendu = compterAffectations(new GraphHopcroftKarp(matrice).assign());
+            GraphExaustif algo = new GraphExaustif(MatriceCreuse.depuisMatrice(matrice), strategie);
+            algo.setPool(pool);
+            int[][] res = algo.assign();
+            int total = verifierValidite(matrice, res) ? compterAffectations(res) : -1;
+
+            System.out.println("Test recherche parallèle (" + strategie + ") :");
+            System.out.println(" - Affectations trouvées : " + total + " / attendu : " + attendu);
+            if (total == attendu) {
+                System.out.println("    TEST OK");
+            } else {
+                System.out.println("    ECHEC DU TEST");
+            }
+            System.out.println();
+        }
+        pool.shutdown();
+    }
+    /**
+     * The compact result gives, for each diploma, the rescuer of the matrix returned by {@code assign()}.
+     */
+    private static void testFormeCompacte() {
+        int[][] matrice = {
+                {1, 1, 0},
+                {1, 0, 0},
+                {0, 1, 1}
+        };
+        GraphExaustif algo = new GraphExaustif(matrice);
+        int[] vecteur = algo.assignCompact();
+        int[][] res = algo.assign();
+        int total = 0;
+        for (int j = 0; j < vecteur.length; j++) {
+            if (vecteur[j] != -1 && res[vecteur[j]][j] == 1) {
+                total++;
+            }
+        }
+        total = total == compterAffectations(res) && verifierValidite(matrice, res) ? total : -1;
+
+        System.out.println("Test forme compacte :");
+        System.out.println(" - Affectations trouvées : " + total + " / attendu : " + 3);
+        if (total == 3) {
+            System.out.println("    TEST OK");
+        } else {
+            System.out.println("    ECHEC DU TEST");
+        }
+        System.out.println();
+    }
+    /**
+     * Stops a complete search that cannot finish with a time budget: the best solution
+     * found so far is returned.
+     */
+    private static void testBudget() {
+        int[][] matrice = new int[40][30];
+        for (int[] ligne : matrice) {
+            Arrays.fill(ligne, 1);
+        }
+        GraphExaustif algo = new GraphExaustif(MatriceCreuse.depuisMatrice(matrice), GraphExaustif.Strategie.COMPLETE);
+        algo.setBudget(50);
+        int[][] res = algo.assign();
+        int total = algo.estInterrompue() && verifierValidite(matrice, res) ? compterAffectations(res) : -1;
+
+        System.out.println("Test budget de temps (anytime) :");
+        System.out.println(" - Affectations trouvées : " + total + " / attendu : " + 30);
+        if (total == 30) {
+            System.out.println("    TEST OK");
+        } else {
+            System.out.println("    ECHEC DU TEST");
+        }
+        System.out.println();
+    }
+    /**
+     * Runs a test with both search strategies.
      *
      * @param matrice the input compatibility matrix
      * @param expectedAffectations the expected number of assignments
      */
     private static void lancerTest(int[][] matrice, int expectedAffectations) {
-        GraphExaustif algo = new GraphExaustif(matrice);
+        for (GraphExaustif.Strategie strategie : GraphExaustif.Strategie.values()) {
+            lancerTest(matrice, expectedAffectations, strategie);
+        }
+    }
+    /**
+     * Runs a test by applying the exhaustive algorithm and checking the result.
+     *
+     * @param matrice the input compatibility matrix
+     * @param expectedAffectations the expected number of assignments
+     * @param strategie the search strategy
+     */
+    private static void lancerTest(int[][] matrice, int expectedAffectations, GraphExaustif.Strategie strategie) {
+        GraphExaustif algo = new GraphExaustif(MatriceCreuse.depuisMatrice(matrice), strategie);
         int[][] res = algo.assign();
 
         int total = compterAffectations(res);
         boolean estValide = verifierValidite(matrice, res);
         boolean ok = (total == expectedAffectations) && estValide;
 
-        System.out.println(" - Affectations trouvées : " + total + " / attendu : " + expectedAffectations);
+        System.out.println(" - " + strategie + " : affectations trouvées : " + total + " / attendu : " + expectedAffectations);
         if (ok) {
             System.out.println("    TEST OK");
         } else {
@@ -0,0 +1,205 @@
+package tests;
+
+import model.graph.adaptation.MatriceCreuse;
+import model.graph.algorithme.GraphFlotCapacitaire;
+import model.graph.algorithme.GraphHopcroftKarp;
+
+import java.util.Random;
+/**
+ * Test class for the {@link GraphFlotCapacitaire} algorithm.
+ *
+ * <p>This class checks that the capacitated assignment (one column per need class,
+ * with a capacity) works correctly: capacities are respected, each rescuer gets at most
+ * one class, and the number of assignments equals the maximum matching found by
+ * {@link GraphHopcroftKarp} on the equivalent expanded matrix (one column per unit).</p>
+ *
+ * @author ResQ360
+ */
+public class TestGraphFlotCapacitaire {
+    /**
+     * Main method that runs all the test cases.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) {
+        System.out.println(" ====== Test Flot Capacitaire ====== ");
+        System.out.println("");
+        testSimple();
+        testCapaciteSaturee();
+        testAucuneAffectationPossible();
+        testVide();
+        testComparaisonMatriceEtendue();
+    }
+    /**
+     * Test with one class needing two rescuers and another needing one.
+     */
+    private static void testSimple() {
+        int[][] matrice = {
+                {1, 0},
+                {1, 1},
+                {0, 1}
+        };
+        int[] capacites = {2, 1};
+        System.out.println("Test simple (3 sauveteurs, capacités 2 et 1) :");
+        lancerTest(matrice, capacites, 3);
+    }
+    /**
+     * Test where more rescuers qualify than the class capacity allows.
+     */
+    private static void testCapaciteSaturee() {
+        int[][] matrice = {
+                {1},
+                {1},
+                {1},
+                {1}
+        };
+        int[] capacites = {3};
+        System.out.println("Test capacité saturée :");
+        lancerTest(matrice, capacites, 3);
+    }
+    /**
+     * Test with a matrix where no assignment is possible.
+     */
+    private static void testAucuneAffectationPossible() {
+        int[][] matrice = {
+                {0, 0},
+                {0, 0}
+        };
+        int[] capacites = {2, 2};
+        System.out.println("Test aucune affectation possible :");
+        lancerTest(matrice, capacites, 0);
+    }
+    /**
+     * Test with an empty matrix.
+     */
+    private static void testVide() {
+        int[][] matrice = {};
+        int[] capacites = {};
+        System.out.println("Test vide :");
+        lancerTest(matrice, capacites, 0);
+    }
+    /**
+     * Compares the result with Hopcroft-Karp on the expanded matrix, for random class matrices.
+     */
+    private static void testComparaisonMatriceEtendue() {
+        Random random = new Random(360);
+        for (int t = 0; t < 5; t++) {
+            int nbSauveteurs = 20 + random.nextInt(20);
+            int nbClasses = 3 + random.nextInt(5);
+            int[][] matrice = new int[nbSauveteurs][nbClasses];
+            int[] capacites = new int[nbClasses];
+            for (int c = 0; c < nbClasses; c++) {
+                capacites[c] = 1 + random.nextInt(6);
+            }
+            for (int i = 0; i < nbSauveteurs; i++) {
+                for (int c = 0; c < nbClasses; c++) {
+                    matrice[i][c] = random.nextInt(3) == 0 ? 1 : 0;
+                }
+            }
+            int attendu = new GraphHopcroftKarp(etendre(matrice, capacites)).calculerMaximum();
+            System.out.println("Test comparaison avec la matrice étendue n°" + (t + 1) + " :");
+            lancerTest(matrice, capacites, attendu);
+        }
+    }
+    /**
+     * Runs a test by applying the capacitated algorithm and checking the result.
+     *
+     * @param matrice the rescuer x class compatibility matrix
+     * @param capacites the capacity of each class
+     * @param expectedAffectations the expected number of assignments
+     */
+    private static void lancerTest(int[][] matrice, int[] capacites, int expectedAffectations) {
+        GraphFlotCapacitaire algo = new GraphFlotCapacitaire(MatriceCreuse.depuisMatrice(matrice), capacites);
+        int[][] res = algo.assign();
+
+        int total = compterAffectations(res);
+        boolean estValide = verifierValidite(matrice, capacites, res);
+        boolean ok = (total == expectedAffectations) && estValide;
+
+        System.out.println(" - Affectations trouvées : " + total + " / attendu : " + expectedAffectations);
+        if (ok) {
+            System.out.println("    TEST OK");
+        } else {
+            System.out.println("    ECHEC DU TEST");
+        }
+        System.out.println();
+    }
+    /**
+     * Expands each class into as many identical columns as its capacity.
+     *
+     * @param matrice the rescuer x class matrix
+     * @param capacites the capacity of each class
+     * @return the expanded rescuer x unit matrix
+     */
+    private static int[][] etendre(int[][] matrice, int[] capacites) {
+        int total = 0;
+        for (int c : capacites) {
+            total += c;
+        }
+        int[][] etendue = new int[matrice.length][total];
+        for (int i = 0; i < matrice.length; i++) {
+            int colonne = 0;
+            for (int c = 0; c < capacites.length; c++) {
+                for (int k = 0; k < capacites[c]; k++) {
+                    etendue[i][colonne++] = matrice[i][c];
+                }
+            }
+        }
+        return etendue;
+    }
+    /**
+     * Counts how many 1s are in the result matrix.
+     *
+     * @param matrice the result matrix
+     * @return number of assignments (value 1)
+     */
+    private static int compterAffectations(int[][] matrice) {
+        int count = 0;
+        for (int[] ligne : matrice) {
+            for (int val : ligne) {
+                if (val == 1) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    /**
+     * Checks that the result matrix is valid: only allowed assignments,
+     * at most one class per rescuer and no class above its capacity.
+     *
+     * @param compatibilite the input compatibility matrix
+     * @param capacites the capacity of each class
+     * @param affectation the result matrix from the algorithm
+     * @return true if the result is valid, false otherwise
+     */
+    private static boolean verifierValidite(int[][] compatibilite, int[] capacites, int[][] affectation) {
+        if (compatibilite.length == 0 || affectation.length == 0) {
+            return true;
+        }
+        boolean valide = true;
+        int[] charge = new int[capacites.length];
+
+        for (int i = 0; i < compatibilite.length; i++) {
+            int parSauveteur = 0;
+            for (int c = 0; c < capacites.length; c++) {
+                if (affectation[i][c] == 1) {
+                    if (compatibilite[i][c] != 1) {
+                        valide = false;
+                    }
+                    charge[c]++;
+                    parSauveteur++;
+                }
+            }
+            if (parSauveteur > 1) {
+                valide = false;
+            }
+        }
+        for (int c = 0; c < capacites.length; c++) {
+            if (charge[c] > capacites[c]) {
+                valide = false;
+            }
+        }
+        return valide;
+    }
+}
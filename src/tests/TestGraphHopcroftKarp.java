@@ -0,0 +1,187 @@
+package tests;
+
+import model.graph.algorithme.GraphExaustif;
+import model.graph.algorithme.GraphHopcroftKarp;
+
+import java.util.Random;
+/**
+ * Test class for the {@link GraphHopcroftKarp} algorithm.
+ *
+ * <p>This class checks that the Hopcroft-Karp assignment algorithm works correctly
+ * in different scenarios: perfect match, no match, more rescuers than diplomas, etc.
+ * It also compares its result with {@link GraphExaustif} on random matrices,
+ * since both must find the same maximum number of assignments.</p>
+ *
+ * <p>Each test verifies if the number of assignments and their validity match expectations.</p>
+ *
+ * @author ResQ360
+ */
+public class TestGraphHopcroftKarp {
+    /**
+     * Main method that runs all the test cases.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) {
+		System.out.println(" ====== Test Hopcroft-Karp ====== ");
+		System.out.println("");
+        testSimple();
+        testAucuneAffectationPossible();
+        testPlusDeSauveteursQueDiplomes();
+        testPlusDeDiplomesQueSauveteurs();
+        testVide();
+        testCheminAugmentant();
+        testComparaisonExaustif();
+    }
+     /**
+     * Test with a simple 2x2 matrix where a perfect assignment is possible.
+     */
+    private static void testSimple() {
+        int[][] matrice = {
+                {1, 0},
+                {0, 1}
+        };
+        System.out.println("Test simple (2x2, affectation parfaite) :");
+        lancerTest(matrice, 2);
+    }
+    /**
+     * Test with a matrix where no assignment is possible.
+     */
+    private static void testAucuneAffectationPossible() {
+        int[][] matrice = {
+                {0, 0},
+                {0, 0}
+        };
+        System.out.println("Test aucune affectation possible :");
+        lancerTest(matrice, 0);
+    }
+    /**
+     * Test with more rescuers than diplomas.
+     */
+    private static void testPlusDeSauveteursQueDiplomes() {
+        int[][] matrice = {
+                {1, 0},
+                {0, 1},
+                {1, 1}
+        };
+        System.out.println("Test avec plus de sauveteurs que de diplômes :");
+        lancerTest(matrice, 2);
+    }
+    /**
+     * Test with more diplomas than rescuers.
+     */
+    private static void testPlusDeDiplomesQueSauveteurs() {
+        int[][] matrice = {
+                {1, 1, 0},
+                {0, 1, 1}
+        };
+        System.out.println("Test avec plus de diplômes que de sauveteurs :");
+        lancerTest(matrice, 2);
+    }
+     /**
+     * Test with an empty matrix.
+     */
+    private static void testVide() {
+        int[][] matrice = {};
+        System.out.println("Test vide :");
+        lancerTest(matrice, 0);
+    }
+    /**
+     * Test where the first greedy choice must be undone through an augmenting path.
+     */
+    private static void testCheminAugmentant() {
+        int[][] matrice = {
+                {1, 1, 0},
+                {1, 0, 0},
+                {0, 1, 1}
+        };
+        System.out.println("Test avec chemin augmentant :");
+        lancerTest(matrice, 3);
+    }
+    /**
+     * Compares the result with the exhaustive algorithm on random 9x9 matrices.
+     */
+    private static void testComparaisonExaustif() {
+        Random random = new Random(360);
+        for (int t = 0; t < 5; t++) {
+            int[][] matrice = new int[9][9];
+            for (int i = 0; i < 9; i++) {
+                for (int j = 0; j < 9; j++) {
+                    matrice[i][j] = random.nextInt(4) == 0 ? 1 : 0;
+                }
+            }
+            int attendu = compterAffectations(new GraphExaustif(matrice).assign());
+            System.out.println("Test comparaison avec l'exhaustif n°" + (t + 1) + " :");
+            lancerTest(matrice, attendu);
+        }
+    }
+    /**
+     * Runs a test by applying the Hopcroft-Karp algorithm and checking the result.
+     *
+     * @param matrice the input compatibility matrix
+     * @param expectedAffectations the expected number of assignments
+     */
+    private static void lancerTest(int[][] matrice, int expectedAffectations) {
+        GraphHopcroftKarp algo = new GraphHopcroftKarp(matrice);
+        int[][] res = algo.assign();
+
+        int total = compterAffectations(res);
+        boolean estValide = verifierValidite(matrice, res);
+        boolean ok = (total == expectedAffectations) && estValide;
+
+        System.out.println(" - Affectations trouvées : " + total + " / attendu : " + expectedAffectations);
+        if (ok) {
+            System.out.println("    TEST OK");
+        } else {
+            System.out.println("    ECHEC DU TEST");
+        }
+        System.out.println();
+    }
+     /**
+     * Counts how many 1s are in the result matrix.
+     *
+     * @param matrice the result matrix
+     * @return number of assignments (value 1)
+     */
+    private static int compterAffectations(int[][] matrice) {
+        int count = 0;
+        for (int[] ligne : matrice) {
+            for (int val : ligne) {
+                if (val == 1) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+     /**
+     * Checks that the result matrix is valid: only allowed assignments,
+     * and no diploma is assigned more than once.
+     *
+     * @param compatibilite the input compatibility matrix
+     * @param affectation the result matrix from the algorithm
+     * @return true if the result is valid, false otherwise
+     */
+    private static boolean verifierValidite(int[][] compatibilite, int[][] affectation) {
+        if (compatibilite.length == 0 || affectation.length == 0) {
+            return true;
+        }
+        boolean valide = true;
+        int lenX = compatibilite.length;
+        int lenY = compatibilite[0].length;
+        boolean[] diplomePris = new boolean[lenY];
+
+        for (int i = 0; i < lenX; i++) {
+            for (int j = 0; j < lenY; j++) {
+                if (affectation[i][j] == 1) {
+                    if (compatibilite[i][j] != 1 || diplomePris[j]) {
+                        valide = false;
+                    }
+                    diplomePris[j] = true;
+                }
+            }
+        }
+
+        return valide;
+    }
+}
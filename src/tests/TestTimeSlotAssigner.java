@@ -0,0 +1,451 @@
+package tests;
+
+import model.graph.adaptation.BesoinsAdapter;
+import model.graph.adaptation.PonderationAffectation;
+import model.persistence.DPS;
+import model.persistence.Day;
+import model.persistence.Rescuer;
+import model.services.AssignmentJob;
+import model.services.AssignmentOrchestrator;
+import model.services.IncrementalAssignmentService;
+import model.services.TimeSlotAssigner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+/**
+ * Test class for the {@link TimeSlotAssigner} pipeline.
+ *
+ * <p>This class checks that DPS are grouped into the right time slots, that
+ * a rescuer is never assigned twice on DPS whose days overlap, and that the
+ * parallel {@link AssignmentOrchestrator} gives the same result, also when run in the background
+ * by an {@link AssignmentJob}, which can be cancelled. It also checks that the
+ * {@link IncrementalAssignmentService} repairs the assignment after a single change.</p>
+ *
+ * @author ResQ360
+ */
+public class TestTimeSlotAssigner {
+    private static final Map<Integer, Day> JOURS = new HashMap<>();
+    private static final PonderationAffectation PONDERATION = new PonderationAffectation(code -> null, id -> null);
+
+    /**
+     * Main method that runs all the test cases.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) {
+        System.out.println(" ====== Test Créneaux ====== ");
+        System.out.println("");
+        JOURS.put(1, new Day(1, 10, 7, 2025, new int[]{8, 0}, new int[]{12, 0}));
+        JOURS.put(2, new Day(2, 10, 7, 2025, new int[]{10, 0}, new int[]{14, 0}));
+        JOURS.put(3, new Day(3, 10, 7, 2025, new int[]{14, 0}, new int[]{18, 0}));
+        JOURS.put(4, new Day(4, 11, 7, 2025, new int[]{8, 0}, new int[]{12, 0}));
+
+        testPartition();
+        testChevauchement();
+        testSansChevauchement();
+        testDejaAffecte();
+        for (TimeSlotAssigner.Mode mode : TimeSlotAssigner.Mode.values()) {
+            testPlusieursSauveteurs(mode);
+        }
+        testMoindreCharge();
+        testOrchestrateur();
+        testTache();
+        testTacheAnnulee();
+        testTacheSauveteurModifie();
+        testIncremental();
+        testSauveteurInchange();
+        testDpsModifie();
+        testDpsAffectationManuelle();
+    }
+    /**
+     * Days 1 and 2 overlap, day 3 starts when day 2 ends, day 4 is another date.
+     */
+    private static void testPartition() {
+        List<DPS> dpsList = List.of(dps(1, 1, 1), dps(2, 2, 1), dps(3, 3, 1), dps(4, 4, 1));
+        int nbCreneaux = new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.OPTIMAL).partition(dpsList).size();
+        System.out.println("Test partition en créneaux :");
+        afficher(nbCreneaux, 3);
+    }
+    /**
+     * A single rescuer cannot take two DPS whose days overlap.
+     */
+    private static void testChevauchement() {
+        List<DPS> dpsList = List.of(dps(1, 1, 1), dps(2, 2, 1));
+        System.out.println("Test DPS qui se chevauchent :");
+        lancerTest(List.of(sauveteur(1)), dpsList, TimeSlotAssigner.Mode.OPTIMAL, 1);
+    }
+    /**
+     * A single rescuer can take DPS on days that do not overlap.
+     */
+    private static void testSansChevauchement() {
+        List<DPS> dpsList = List.of(dps(1, 1, 1), dps(3, 3, 1), dps(4, 4, 1));
+        System.out.println("Test DPS sans chevauchement :");
+        lancerTest(List.of(sauveteur(1)), dpsList, TimeSlotAssigner.Mode.OPTIMAL, 3);
+    }
+    /**
+     * A rescuer already assigned to a DPS of the slot is left out of the slot.
+     */
+    private static void testDejaAffecte() {
+        Rescuer rescuer = sauveteur(1);
+        rescuer.addAssignment(1);
+        List<DPS> dpsList = List.of(dps(1, 1, 1), dps(2, 2, 1), dps(4, 4, 1));
+        System.out.println("Test sauveteur déjà affecté :");
+        lancerTest(List.of(rescuer), dpsList, TimeSlotAssigner.Mode.OPTIMAL, 1);
+    }
+    /**
+     * Two rescuers, two overlapping DPS needing two rescuers in total, and one DPS on another date.
+     */
+    private static void testPlusieursSauveteurs(TimeSlotAssigner.Mode mode) {
+        List<DPS> dpsList = List.of(dps(1, 1, 1), dps(2, 2, 1), dps(4, 4, 2));
+        System.out.println("Test plusieurs sauveteurs (" + mode + ") :");
+        lancerTest(List.of(sauveteur(1), sauveteur(2)), dpsList, mode, 4);
+    }
+    /**
+     * In MIN_COST mode, the rescuer with the fewest existing assignments is preferred.
+     */
+    private static void testMoindreCharge() {
+        Rescuer charge = sauveteur(1);
+        charge.addAssignment(99);
+        Rescuer libre = sauveteur(2);
+        BesoinsAdapter.ResultatAdaptationCompacte res = new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.MIN_COST,
+                PONDERATION).assign(List.of(charge, libre), List.of(dps(4, 4, 1)));
+        System.out.println("Test coût minimal, sauveteur le moins chargé :");
+        afficher(res.ligneParColonne()[0] == 1 ? 2 : 1, 2);
+    }
+    /**
+     * Checks that the parallel orchestrator gives the same result as the sequential pipeline.
+     */
+    private static void testOrchestrateur() {
+        List<DPS> dpsList = new ArrayList<>();
+        for (int id = 1; id <= 40; id++) {
+            dpsList.add(dps(id, 1 + id % 4, 1 + id % 3));
+        }
+        List<Rescuer> rescuers = new ArrayList<>();
+        for (int id = 1; id <= 30; id++) {
+            rescuers.add(sauveteur(id));
+        }
+        TimeSlotAssigner timeSlotAssigner = new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.OPTIMAL);
+        BesoinsAdapter.ResultatAdaptationCompacte sequentiel = timeSlotAssigner.assign(rescuers, dpsList);
+        AssignmentOrchestrator.Report parallele = new AssignmentOrchestrator(timeSlotAssigner, new ForkJoinPool(4))
+                .run(rescuers, dpsList);
+
+        boolean identique = Arrays.equals(sequentiel.ligneParColonne(), parallele.resultat().ligneParColonne())
+                && sequentiel.correspondanceColonnes().equals(parallele.resultat().correspondanceColonnes());
+        System.out.println("Test orchestrateur parallèle :");
+        afficher(identique ? parallele.timings().size() : -1, 3);
+    }
+    /**
+     * Runs the orchestrator as a background job: the result is delivered on the publisher
+     * after the final progress, which counts every assignment.
+     */
+    private static void testTache() {
+        List<DPS> dpsList = List.of(dps(1, 1, 1), dps(2, 2, 1), dps(4, 4, 2));
+        List<Rescuer> rescuers = List.of(sauveteur(1), sauveteur(2));
+        AssignmentOrchestrator orchestrator = new AssignmentOrchestrator(
+                new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.EXHAUSTIVE));
+        ExecutorService executeur = Executors.newSingleThreadExecutor();
+        AtomicReference<AssignmentJob.Progress> derniere = new AtomicReference<>();
+        AssignmentJob job = new AssignmentJob(orchestrator, executeur, Runnable::run, derniere::set);
+
+        int obtenu;
+        try {
+            AssignmentOrchestrator.Report report = job.start(rescuers, dpsList).get(10, TimeUnit.SECONDS);
+            AssignmentJob.Progress progression = derniere.get();
+            boolean complete = progression.slotsSolved() == 2 && progression.slotsTotal() == 2
+                    && progression.bestMatchCount() == 4;
+            obtenu = complete ? report.timings().size() : -1;
+        } catch (Exception e) {
+            obtenu = -1;
+        }
+        executeur.shutdown();
+        System.out.println("Test tâche d'affectation en arrière-plan :");
+        afficher(obtenu, 2);
+    }
+    /**
+     * Cancels an exhaustive search far too large to finish: the job stops quickly and fails
+     * with a {@link CancellationException}.
+     */
+    private static void testTacheAnnulee() {
+        List<DPS> dpsList = List.of(dps(1, 1, 30));
+        List<Rescuer> rescuers = new ArrayList<>();
+        for (int id = 1; id <= 40; id++) {
+            rescuers.add(sauveteur(id));
+        }
+        AssignmentOrchestrator orchestrator = new AssignmentOrchestrator(
+                new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.EXHAUSTIVE));
+        ExecutorService executeur = Executors.newSingleThreadExecutor();
+        AtomicReference<AssignmentJob.Progress> derniere = new AtomicReference<>();
+        AssignmentJob job = new AssignmentJob(orchestrator, executeur, Runnable::run, derniere::set);
+
+        boolean annulee = false;
+        try {
+            var future = job.start(rescuers, dpsList);
+            // attendre que la recherche ait commencé avant d'annuler
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (job.getProgress().nodesExplored() == 0 && System.nanoTime() < limite) {
+                Thread.sleep(5);
+            }
+            job.cancel();
+            future.get(10, TimeUnit.SECONDS);
+        } catch (CancellationException e) {
+            annulee = true;
+        } catch (Exception e) {
+            annulee = false;
+        }
+        executeur.shutdown();
+        System.out.println("Test annulation d'une recherche exhaustive :");
+        afficher(annulee && derniere.get().nodesExplored() > 0 ? derniere.get().slotsSolved() : -1, 0);
+    }
+    /**
+     * Edits the rescuers while a job runs: a second job cannot start, and the assignments
+     * the edited rescuers can no longer take are dropped from the result.
+     */
+    private static void testTacheSauveteurModifie() {
+        List<DPS> dpsList = List.of(dps(1, 1, 2), dps(2, 2, 0));
+        Rescuer r1 = sauveteur(1);
+        Rescuer r2 = sauveteur(2);
+        List<Rescuer> rescuers = List.of(r1, r2);
+        AssignmentOrchestrator orchestrator = new AssignmentOrchestrator(
+                new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.OPTIMAL));
+        List<Runnable> file = new ArrayList<>(); // la recherche attend qu'on la lance
+        AssignmentJob job = new AssignmentJob(orchestrator, file::add, Runnable::run, p -> { });
+
+        var future = job.start(rescuers, dpsList);
+        boolean refusee;
+        try {
+            new AssignmentJob(orchestrator, file::add, Runnable::run, p -> { }).start(rescuers, dpsList);
+            refusee = false;
+        } catch (IllegalStateException e) {
+            refusee = true;
+        }
+        // r1 prend le DPS 2, qui chevauche le DPS 1, et r2 perd la compétence
+        r1.addAssignment(2);
+        r2.removeSkill("1");
+        file.forEach(Runnable::run);
+
+        int obtenu;
+        try {
+            boolean libre = refusee && AssignmentJob.running() == null;
+            obtenu = libre ? future.get().resultat().getNombreAffectations() : -1;
+        } catch (Exception e) {
+            obtenu = -1;
+        }
+        System.out.println("Test tâche avec des sauveteurs modifiés pendant la recherche :");
+        afficher(obtenu, 0);
+    }
+    /**
+     * Applies an assignment, then changes one rescuer and adds one DPS: the service must
+     * move the assignments without double-booking anyone.
+     */
+    private static void testIncremental() {
+        Rescuer r1 = sauveteur(1);
+        Rescuer r2 = sauveteur(2);
+        r2.removeSkill("1");
+        List<Rescuer> rescuers = List.of(r1, r2);
+        List<DPS> dpsList = new ArrayList<>(List.of(dps(1, 1, 1), dps(4, 4, 1)));
+        TimeSlotAssigner timeSlotAssigner = new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.OPTIMAL);
+        BesoinsAdapter.ResultatAdaptationCompacte res = appliquer(timeSlotAssigner, rescuers, dpsList);
+        List<Rescuer> sauvegardes = new ArrayList<>();
+        IncrementalAssignmentService service = new IncrementalAssignmentService(timeSlotAssigner,
+                () -> rescuers, sauvegardes::add);
+        service.initialize(rescuers, dpsList, res);
+
+        // r2 obtient la compétence : tout est déjà pris, rien ne change
+        r2.addSkill("1");
+        service.rescuerChanged(r2);
+        boolean etape0 = r1.getAssignments().equals(List.of(1, 4)) && sauvegardes.isEmpty();
+
+        // r1 perd sa compétence : r2 reprend les deux DPS, qui ne se chevauchent pas
+        r1.removeSkill("1");
+        service.rescuerChanged(r1);
+        boolean etape1 = r1.getAssignments().isEmpty() && r2.getAssignments().containsAll(List.of(1, 4))
+                && !sauvegardes.isEmpty();
+
+        // un DPS qui chevauche le DPS 1 : personne de libre
+        service.dpsChanged(dps(5, 2, 1));
+        boolean etape2 = service.getAssignmentCount() == 2;
+
+        // r1 retrouve sa compétence : il prend le DPS restant du créneau
+        r1.addSkill("1");
+        service.rescuerChanged(r1);
+        boolean etape3 = r1.getAssignments().size() == 1 && !r1.getAssignments().contains(4)
+                && r2.getAssignments().size() == 2;
+
+        System.out.println("Test réaffectation incrémentale :");
+        afficher(etape0 && etape1 && etape2 && etape3 ? service.getAssignmentCount() : -1, 3);
+    }
+    /**
+     * Saving a rescuer without changing its skills keeps every assignment and saves nobody.
+     */
+    private static void testSauveteurInchange() {
+        List<Rescuer> rescuers = List.of(sauveteur(1), sauveteur(2));
+        List<DPS> dpsList = List.of(dps(4, 4, 1));
+        TimeSlotAssigner timeSlotAssigner = new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.OPTIMAL);
+        BesoinsAdapter.ResultatAdaptationCompacte res = appliquer(timeSlotAssigner, rescuers, dpsList);
+        Rescuer affecte = rescuers.get(0).getAssignments().isEmpty() ? rescuers.get(1) : rescuers.get(0);
+        List<Rescuer> sauvegardes = new ArrayList<>();
+        IncrementalAssignmentService service = new IncrementalAssignmentService(timeSlotAssigner,
+                () -> rescuers, sauvegardes::add);
+        service.initialize(rescuers, dpsList, res);
+
+        service.rescuerChanged(affecte);
+
+        System.out.println("Test sauveteur enregistré sans changement :");
+        afficher(affecte.getAssignments().equals(List.of(4)) ? sauvegardes.size() : -1, 0);
+    }
+    /**
+     * Editing a DPS alone in its slot without changing its day keeps the rescuers already assigned.
+     */
+    private static void testDpsModifie() {
+        Rescuer r1 = sauveteur(1);
+        Rescuer r2 = sauveteur(2);
+        List<Rescuer> rescuers = List.of(r1, r2);
+        List<DPS> dpsList = List.of(dps(4, 4, 1));
+        TimeSlotAssigner timeSlotAssigner = new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.OPTIMAL);
+        BesoinsAdapter.ResultatAdaptationCompacte res = appliquer(timeSlotAssigner, rescuers, dpsList);
+        Rescuer affecte = r1.getAssignments().isEmpty() ? r2 : r1;
+        Rescuer libre = affecte == r1 ? r2 : r1;
+        List<Rescuer> sauvegardes = new ArrayList<>();
+        IncrementalAssignmentService service = new IncrementalAssignmentService(timeSlotAssigner,
+                () -> rescuers, sauvegardes::add);
+        service.initialize(rescuers, dpsList, res);
+
+        // même journée, mêmes besoins : rien n'est défait ni sauvegardé
+        service.dpsChanged(dps(4, 4, 1));
+        boolean etape0 = affecte.getAssignments().equals(List.of(4)) && sauvegardes.isEmpty();
+
+        // un besoin de plus : seul le sauveteur libre est affecté
+        service.dpsChanged(dps(4, 4, 2));
+        boolean etape1 = affecte.getAssignments().equals(List.of(4)) && libre.getAssignments().equals(List.of(4))
+                && sauvegardes.equals(List.of(libre));
+
+        System.out.println("Test DPS modifié, affectations conservées :");
+        afficher(etape0 && etape1 ? service.getAssignmentCount() : -1, 2);
+    }
+    /**
+     * A rescuer assigned by hand to a DPS added to its slot leaves the slot instead of being
+     * double-booked; another rescuer takes the DPS it held.
+     */
+    private static void testDpsAffectationManuelle() {
+        Rescuer r1 = sauveteur(1);
+        Rescuer r2 = sauveteur(2);
+        List<Rescuer> rescuers = List.of(r1, r2);
+        List<DPS> dpsList = List.of(dps(1, 1, 1));
+        TimeSlotAssigner timeSlotAssigner = new TimeSlotAssigner(JOURS::get, TimeSlotAssigner.Mode.OPTIMAL);
+        BesoinsAdapter.ResultatAdaptationCompacte res = appliquer(timeSlotAssigner, rescuers, dpsList);
+        Rescuer affecte = r1.getAssignments().isEmpty() ? r2 : r1;
+        Rescuer libre = affecte == r1 ? r2 : r1;
+        IncrementalAssignmentService service = new IncrementalAssignmentService(timeSlotAssigner,
+                () -> rescuers, rescuer -> { });
+        service.initialize(rescuers, dpsList, res);
+
+        // affectation manuelle au DPS 5, qui chevauche le DPS 1, puis création du DPS 5
+        affecte.addAssignment(5);
+        service.dpsChanged(dps(5, 2, 1));
+
+        System.out.println("Test DPS ajouté avec une affectation manuelle :");
+        boolean valide = affecte.getAssignments().equals(List.of(5)) && libre.getAssignments().equals(List.of(1));
+        afficher(valide ? service.getAssignmentCount() : -1, 1);
+    }
+    /**
+     * Runs the pipeline and adds the assignments of the result to the rescuers.
+     *
+     * @return the result of the pipeline
+     */
+    private static BesoinsAdapter.ResultatAdaptationCompacte appliquer(TimeSlotAssigner timeSlotAssigner,
+                                                                      List<Rescuer> rescuers, List<DPS> dpsList) {
+        BesoinsAdapter.ResultatAdaptationCompacte res = timeSlotAssigner.assign(rescuers, dpsList);
+        for (int j = 0; j < res.ligneParColonne().length; j++) {
+            if (res.ligneParColonne()[j] != BesoinsAdapter.ResultatAdaptationCompacte.LIBRE) {
+                rescuers.get(res.ligneParColonne()[j]).addAssignment(res.correspondanceColonnes().get(j).idDPS());
+            }
+        }
+        return res;
+    }
+    /**
+     * Runs the pipeline and checks the number of assignments and that nobody is double-booked.
+     *
+     * @param rescuers the rescuers
+     * @param dpsList the DPS
+     * @param mode the engine used for each slot
+     * @param expectedAffectations the expected number of assignments
+     */
+    private static void lancerTest(List<Rescuer> rescuers, List<DPS> dpsList, TimeSlotAssigner.Mode mode,
+                                   int expectedAffectations) {
+        BesoinsAdapter.ResultatAdaptation res = new TimeSlotAssigner(JOURS::get, mode, PONDERATION)
+                .assign(rescuers, dpsList).versResultatAdaptation();
+
+        int total = 0;
+        boolean valide = true;
+        for (int i = 0; i < res.matrice().length; i++) {
+            for (int j = 0; j < res.matrice()[i].length; j++) {
+                if (res.matrice()[i][j] != 1) {
+                    continue;
+                }
+                total++;
+                int idJournee = journee(dpsList, res.correspondanceColonnes().get(j).idDPS());
+                for (int k = j + 1; k < res.matrice()[i].length; k++) {
+                    if (res.matrice()[i][k] == 1 && seChevauchent(idJournee,
+                            journee(dpsList, res.correspondanceColonnes().get(k).idDPS()))) {
+                        valide = false;
+                    }
+                }
+            }
+        }
+        afficher(valide ? total : -1, expectedAffectations);
+    }
+    /**
+     * Prints the result of a test.
+     */
+    private static void afficher(int obtenu, int attendu) {
+        System.out.println(" - Obtenu : " + obtenu + " / attendu : " + attendu);
+        if (obtenu == attendu) {
+            System.out.println("    TEST OK");
+        } else {
+            System.out.println("    ECHEC DU TEST");
+        }
+        System.out.println();
+    }
+    /**
+     * Indicates whether two test days overlap (days 1 and 2 only, or the same day).
+     */
+    private static boolean seChevauchent(int jour1, int jour2) {
+        return jour1 == jour2 || (Math.min(jour1, jour2) == 1 && Math.max(jour1, jour2) == 2);
+    }
+    /**
+     * Returns the day ID of a DPS.
+     */
+    private static int journee(List<DPS> dpsList, int idDPS) {
+        for (DPS dps : dpsList) {
+            if (dps.getId() == idDPS) {
+                return dps.getIdJournee();
+            }
+        }
+        return -1;
+    }
+    /**
+     * Creates a DPS needing {@code nombre} rescuers with skill 1.
+     */
+    private static DPS dps(int id, int idJournee, int nombre) {
+        DPS dps = new DPS(id, idJournee, "S" + id);
+        dps.setBesoins(1, nombre);
+        return dps;
+    }
+    /**
+     * Creates a rescuer having skill 1.
+     */
+    private static Rescuer sauveteur(int id) {
+        Rescuer rescuer = new Rescuer(id);
+        rescuer.addSkill("1");
+        return rescuer;
+    }
+}
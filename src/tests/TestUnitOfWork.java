@@ -0,0 +1,170 @@
+package tests;
+
+import model.services.ConnectionPool;
+import model.services.UnitOfWork;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+/**
+ * Test class for the {@link UnitOfWork}.
+ *
+ * <p>This class uses a {@link ConnectionPool} of fake connections that count commits and
+ * rollbacks, so no database is needed. It checks that the writes of a unit of work share one
+ * connection and one commit, that a failure rolls everything back, including a failure in a
+ * nested unit, and that the connection goes back to the pool afterwards.</p>
+ *
+ * @author ResQ360
+ */
+public class TestUnitOfWork {
+    /**
+     * Main method that runs all the test cases.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println(" ====== Test Unité de travail ====== ");
+        System.out.println("");
+        testValidationUnique();
+        testAnnulation();
+        testEchecImbrique();
+        testControleReserve();
+    }
+    /**
+     * Several writes share the same connection and are committed once.
+     */
+    private static void testValidationUnique() throws SQLException {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique, config());
+        boolean memeConnexion = UnitOfWork.run(pool::borrow, () -> {
+            Connection premiere = UnitOfWork.currentConnection();
+            premiere.close(); // sans effet dans l'unité de travail
+            Connection seconde = UnitOfWork.run(pool::borrow, UnitOfWork::currentConnection);
+            return premiere == seconde && !premiere.isClosed();
+        });
+        System.out.println("Test validation unique :");
+        afficher(memeConnexion && fabrique.annulations.get() == 0 && pool.getStats().idle() == 1
+                ? fabrique.validations.get() : -1, 1);
+        pool.close();
+    }
+    /**
+     * A failing work is rolled back and the error is passed on.
+     */
+    private static void testAnnulation() {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique, config());
+        boolean propagee = false;
+        try {
+            UnitOfWork.run(pool::borrow, () -> {
+                throw new SQLException("écriture refusée");
+            });
+        } catch (SQLException e) {
+            propagee = true;
+        }
+        System.out.println("Test annulation sur erreur :");
+        afficher(propagee && !UnitOfWork.isActive() && fabrique.validations.get() == 0
+                ? fabrique.annulations.get() : -1, 1);
+        pool.close();
+    }
+    /**
+     * A nested failure caught by the outer work still rolls the transaction back.
+     */
+    private static void testEchecImbrique() {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique, config());
+        boolean propagee = false;
+        try {
+            UnitOfWork.run(pool::borrow, () -> {
+                try {
+                    UnitOfWork.run(pool::borrow, () -> {
+                        throw new SQLException("écriture refusée");
+                    });
+                } catch (SQLException e) {
+                    // erreur ignorée par l'appelant, comme dans les DAO
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            propagee = true;
+        }
+        System.out.println("Test échec d'une unité imbriquée :");
+        afficher(propagee && fabrique.validations.get() == 0 ? fabrique.annulations.get() : -1, 1);
+        pool.close();
+    }
+    /**
+     * Code inside the unit of work cannot commit on its own.
+     */
+    private static void testControleReserve() throws SQLException {
+        FabriqueFactice fabrique = new FabriqueFactice();
+        ConnectionPool pool = new ConnectionPool(fabrique, config());
+        boolean refuse = UnitOfWork.run(pool::borrow, () -> {
+            try {
+                UnitOfWork.currentConnection().commit();
+                return false;
+            } catch (SQLException e) {
+                return true;
+            }
+        });
+        System.out.println("Test contrôle de la transaction réservé :");
+        afficher(refuse ? fabrique.validations.get() : -1, 1);
+        pool.close();
+    }
+    /**
+     * @return a pool configuration of one connection
+     */
+    private static ConnectionPool.Config config() {
+        return new ConnectionPool.Config(1, 0, 1_000, 60_000, 600_000, 1, 0);
+    }
+    /**
+     * Prints the result of a test.
+     */
+    private static void afficher(int obtenu, int attendu) {
+        System.out.println(" - Obtenu : " + obtenu + " / attendu : " + attendu);
+        if (obtenu == attendu) {
+            System.out.println("    TEST OK");
+        } else {
+            System.out.println("    ECHEC DU TEST");
+        }
+        System.out.println();
+    }
+    /**
+     * Opens fake connections that count commits and rollbacks and keep their auto-commit mode.
+     */
+    private static final class FabriqueFactice implements ConnectionPool.ConnectionFactory {
+        private final AtomicInteger validations = new AtomicInteger();
+        private final AtomicInteger annulations = new AtomicInteger();
+
+        @Override
+        public Connection create() {
+            AtomicBoolean autoCommit = new AtomicBoolean(true);
+            AtomicBoolean fermee = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "isValid" -> !fermee.get();
+                        case "isClosed" -> fermee.get();
+                        case "close" -> {
+                            fermee.set(true);
+                            yield null;
+                        }
+                        case "getAutoCommit" -> autoCommit.get();
+                        case "setAutoCommit" -> {
+                            autoCommit.set((Boolean) args[0]);
+                            yield null;
+                        }
+                        case "commit" -> {
+                            validations.incrementAndGet();
+                            yield null;
+                        }
+                        case "rollback" -> {
+                            annulations.incrementAndGet();
+                            yield null;
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    });
+        }
+    }
+}